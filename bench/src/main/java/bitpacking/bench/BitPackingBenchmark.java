@@ -0,0 +1,161 @@
+package bitpacking.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks de chaque BitPackerFactory.Type.
+// Lancement : java -jar target/benchmarks.jar -rf json -rff resultats.json
+// Restreindre les paramètres : -p type=CROSS,PFOR -p n=100000 -bm thrpt
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xms6g", "-Xmx6g"})
+public class BitPackingBenchmark {
+    // nombre d'accès par invocation des benchmarks get / getRange
+    private static final int ACCES = 1000;
+    // graine fixe : les mêmes données pour chaque fork et chaque lancement
+    private static final long GRAINE = 0x5EED_B17L;
+
+    public enum Distribution {
+        // toutes les valeurs sur 12 bits
+        UNIFORME,
+        // largeur tirée uniformément entre 0 et 16 bits : beaucoup de petites valeurs, quelques grandes
+        ASYMETRIQUE,
+        // comme dans BitPacking.main : 1..50 avec une grande valeur toutes les 500
+        DEBORDEMENTS
+    }
+
+    @Param({"CROSS", "NOCROSS", "OVERFLOW", "VECTOR", "LARGE", "PFOR", "DELTA", "FOR", "ZIGZAG"})
+    public String type;
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int n;
+
+    @Param({"UNIFORME", "ASYMETRIQUE", "DEBORDEMENTS"})
+    public Distribution distribution;
+
+    private int[] donnees;
+    private int[] sortie;
+    private int[] indices;
+    private Object packer;
+    private int curseur;
+
+    // taille compressée, cumulée sur les appels de compress : bits/valeur = bitsCompresses / valeurs
+    // (les compteurs EVENTS sont sommés sur les itérations, seul leur rapport a un sens)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Taille {
+        public long bitsCompresses;
+        public long valeurs;
+    }
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        SplittableRandom rnd = new SplittableRandom(GRAINE);
+        donnees = generer(distribution, n, rnd);
+        sortie = new int[n];
+        indices = new int[ACCES];
+        for (int j = 0; j < ACCES; j++) {
+            indices[j] = rnd.nextInt(n);
+        }
+        packer = Packers.create(type);
+        Packers.compress(packer, donnees);
+        curseur = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void verifier() {
+        Packers.decompress(packer, sortie);
+        for (int i = 0; i < n; i++) {
+            if (sortie[i] != donnees[i]) throw new IllegalStateException(type + " : valeur différente à l'indice " + i);
+        }
+        System.out.printf("%n%s %s n=%d : %.3f bits/valeur%n", type, distribution, n,
+                Packers.compressedSizeBytes(packer) * 8.0 / n);
+    }
+
+    static int[] generer(Distribution d, int n, SplittableRandom rnd) {
+        int[] t = new int[n];
+        for (int i = 0; i < n; i++) {
+            switch (d) {
+                case UNIFORME:
+                    t[i] = rnd.nextInt(1 << 12);
+                    break;
+                case ASYMETRIQUE:
+                    t[i] = rnd.nextInt(1 << rnd.nextInt(17));
+                    break;
+                default:
+                    t[i] = i % 500 == 0 ? 1 << (10 + (i / 500) % 5) : rnd.nextInt(50) + 1;
+            }
+        }
+        return t;
+    }
+
+    @Benchmark
+    public Object compress(Taille taille) {
+        Packers.compress(packer, donnees);
+        taille.bitsCompresses += Packers.compressedSizeBytes(packer) * 8;
+        taille.valeurs += n;
+        return packer;
+    }
+
+    @Benchmark
+    public int[] decompress() {
+        Packers.decompress(packer, sortie);
+        return sortie;
+    }
+
+    // ACCES lectures consécutives, la fenêtre avance à chaque invocation
+    @Benchmark
+    @OperationsPerInvocation(ACCES)
+    public int getSequentiel() {
+        int debut = avancer();
+        int fin = Math.min(debut + ACCES, n);
+        int s = 0;
+        for (int i = debut; i < fin; i++) {
+            s += Packers.get(packer, i);
+        }
+        return s;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCES)
+    public int getAleatoire() {
+        int s = 0;
+        for (int j = 0; j < ACCES; j++) {
+            s += Packers.get(packer, indices[j]);
+        }
+        return s;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCES)
+    public int[] getRange() {
+        int debut = avancer();
+        Packers.getRange(packer, debut, Math.min(ACCES, n - debut), sortie);
+        return sortie;
+    }
+
+    private int avancer() {
+        int debut = curseur;
+        curseur = debut + ACCES >= n ? 0 : debut + ACCES;
+        return debut;
+    }
+}
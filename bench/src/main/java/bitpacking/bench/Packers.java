@@ -0,0 +1,109 @@
+package bitpacking.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Passerelle vers BitPacking : la bibliothèque est dans le paquetage par défaut,
+// qu'on ne peut pas importer depuis un paquetage nommé (et JMH refuse les benchmarks
+// du paquetage par défaut). Les méthodes sont donc résolues une fois par réflexion
+// puis appelées via des MethodHandle static final, que le JIT traite comme des appels directs.
+final class Packers {
+    private static final Class<?> BIT_PACKER = classe("BitPacking$BitPacker");
+    private static final Class<?> TYPE = classe("BitPacking$BitPackerFactory$Type");
+
+    private static final MethodHandle CREATE;
+    private static final MethodHandle COMPRESS;
+    private static final MethodHandle DECOMPRESS;
+    private static final MethodHandle GET;
+    private static final MethodHandle GET_RANGE;
+    private static final MethodHandle TAILLE;
+
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.publicLookup();
+            Class<?> usine = classe("BitPacking$BitPackerFactory");
+            CREATE = l.findStatic(usine, "create", MethodType.methodType(BIT_PACKER, TYPE))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            COMPRESS = virtuelle(l, "compress", void.class, int[].class);
+            DECOMPRESS = virtuelle(l, "decompress", void.class, int[].class);
+            GET = virtuelle(l, "get", int.class, int.class);
+            GET_RANGE = virtuelle(l, "getRange", void.class, int.class, int.class, int[].class);
+            TAILLE = virtuelle(l, "compressedSizeBytes", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Packers() {}
+
+    private static Class<?> classe(String nom) {
+        try {
+            return Class.forName(nom);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // receveur typé Object pour que les appelants n'aient pas besoin de la classe BitPacker
+    private static MethodHandle virtuelle(MethodHandles.Lookup l, String nom, Class<?> retour, Class<?>... params)
+            throws ReflectiveOperationException {
+        MethodHandle h = l.findVirtual(BIT_PACKER, nom, MethodType.methodType(retour, params));
+        return h.asType(h.type().changeParameterType(0, Object.class));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object create(String type) {
+        try {
+            return CREATE.invokeExact((Object) Enum.valueOf((Class) TYPE, type));
+        } catch (Throwable t) {
+            throw relancer(t);
+        }
+    }
+
+    static void compress(Object p, int[] input) {
+        try {
+            COMPRESS.invokeExact(p, input);
+        } catch (Throwable t) {
+            throw relancer(t);
+        }
+    }
+
+    static void decompress(Object p, int[] out) {
+        try {
+            DECOMPRESS.invokeExact(p, out);
+        } catch (Throwable t) {
+            throw relancer(t);
+        }
+    }
+
+    static int get(Object p, int i) {
+        try {
+            return (int) GET.invokeExact(p, i);
+        } catch (Throwable t) {
+            throw relancer(t);
+        }
+    }
+
+    static void getRange(Object p, int from, int len, int[] out) {
+        try {
+            GET_RANGE.invokeExact(p, from, len, out);
+        } catch (Throwable t) {
+            throw relancer(t);
+        }
+    }
+
+    static long compressedSizeBytes(Object p) {
+        try {
+            return (long) TAILLE.invokeExact(p);
+        } catch (Throwable t) {
+            throw relancer(t);
+        }
+    }
+
+    private static RuntimeException relancer(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
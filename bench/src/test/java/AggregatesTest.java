@@ -0,0 +1,211 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Agrégats dans le domaine compressé (sum / min / max / count / select) comparés à un parcours scalaire
+// du tableau d'origine : SWAR de NoCrossBitPacker pour chaque k, et OverflowBitPacker avec des
+// débordements dans et hors des plages.
+class AggregatesTest {
+    // assez de valeurs pour que sommeVoies vide son accumulateur plusieurs fois pour les petits k
+    private static final int[] LONGUEURS = { 1, 7, 97, 1000, 5003 };
+
+    private static int[] valeurs(Random r, int n, int k) {
+        int[] t = new int[n];
+        int masque = (int) ((1L << k) - 1);
+        for (int i = 0; i < n; i++) t[i] = r.nextInt() & masque;
+        // la largeur k est atteinte, et les extrêmes 0 et 2^k - 1 apparaissent
+        t[r.nextInt(n)] = masque;
+        if (n > 1) t[r.nextInt(n)] = 0;
+        return t;
+    }
+
+    // plages vides, plages qui commencent ou finissent au milieu d'un mot, plage complète
+    private static List<int[]> plages(Random r, int n) {
+        List<int[]> p = new ArrayList<>();
+        p.add(new int[] { 0, n });
+        p.add(new int[] { 0, 0 });
+        p.add(new int[] { n, n });
+        p.add(new int[] { n / 2, n / 2 });
+        p.add(new int[] { 0, 1 });
+        p.add(new int[] { n - 1, n });
+        for (int j = 0; j < 30; j++) {
+            int a = r.nextInt(n + 1);
+            int b = a + r.nextInt(n - a + 1);
+            p.add(new int[] { a, b });
+        }
+        // quelques plages courtes (dans un seul mot ou à cheval sur deux)
+        for (int j = 0; j < 10; j++) {
+            int a = r.nextInt(n);
+            p.add(new int[] { a, Math.min(n, a + 1 + r.nextInt(40)) });
+        }
+        return p;
+    }
+
+    // bornes de count / select : lo > hi, bornes négatives, autour de 2^k et des débordements
+    private static List<int[]> bornes(Random r, int[] t, int k) {
+        int masque = (int) ((1L << k) - 1);
+        List<int[]> b = new ArrayList<>();
+        b.add(new int[] { 5, 4 });
+        b.add(new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE });
+        b.add(new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE });
+        b.add(new int[] { Integer.MIN_VALUE, -1 });
+        b.add(new int[] { -10, 0 });
+        b.add(new int[] { 0, 0 });
+        b.add(new int[] { masque, masque });
+        b.add(new int[] { masque, Integer.MAX_VALUE });
+        b.add(new int[] { 0, masque });
+        b.add(new int[] { 1, masque - 1 });
+        b.add(new int[] { masque / 2, masque / 2 + 1 });
+        for (int j = 0; j < 20; j++) {
+            int a = t[r.nextInt(t.length)];
+            int c = t[r.nextInt(t.length)];
+            b.add(new int[] { Math.min(a, c), Math.max(a, c) });
+        }
+        return b;
+    }
+
+    private static void verifier(BitPacking.BitPacker p, int[] t, int k, Random r, String cas) {
+        int n = t.length;
+        for (int[] pl : plages(r, n)) {
+            int a = pl[0];
+            int b = pl[1];
+            long s = 0;
+            int mn = Integer.MAX_VALUE;
+            int mx = Integer.MIN_VALUE;
+            for (int i = a; i < b; i++) {
+                s += t[i];
+                mn = Math.min(mn, t[i]);
+                mx = Math.max(mx, t[i]);
+            }
+            String c = cas + " [" + a + ", " + b + ")";
+            assertEquals(s, p.sum(a, b), c + " sum");
+            if (a < b) {
+                assertEquals(mn, p.min(a, b), c + " min");
+                assertEquals(mx, p.max(a, b), c + " max");
+            } else {
+                assertThrows(IllegalArgumentException.class, () -> p.min(a, b), c + " min vide");
+                assertThrows(IllegalArgumentException.class, () -> p.max(a, b), c + " max vide");
+            }
+        }
+        for (int[] bo : bornes(r, t, k)) {
+            int lo = bo[0];
+            int hi = bo[1];
+            BitSet attendu = new BitSet(n);
+            for (int i = 0; i < n; i++) {
+                if (t[i] >= lo && t[i] <= hi) attendu.set(i);
+            }
+            String c = cas + " lo=" + lo + " hi=" + hi;
+            assertEquals(attendu.cardinality(), p.count(lo, hi), c + " count");
+            assertEquals(attendu, p.select(lo, hi), c + " select");
+        }
+    }
+
+    @Test
+    void plagesHorsLimites() {
+        BitPacking.NoCrossBitPacker p = new BitPacking.NoCrossBitPacker();
+        p.compress(new int[] { 1, 2, 3 });
+        assertThrows(IndexOutOfBoundsException.class, () -> p.sum(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> p.sum(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> p.sum(2, 1));
+    }
+
+    @Test
+    void noCrossPourChaqueK() {
+        Random r = new Random(13);
+        for (int k = 0; k <= 31; k++) {
+            for (int n : LONGUEURS) {
+                int[] t = valeurs(r, n, k);
+                BitPacking.NoCrossBitPacker p = new BitPacking.NoCrossBitPacker();
+                p.compress(t);
+                assertEquals(k, p.getK());
+                verifier(p, t, k, r, "NOCROSS k=" + k + " n=" + n);
+            }
+        }
+    }
+
+    // les agrégats par défaut de l'interface (parcours par getRange), sur CROSS
+    @Test
+    void crossParDefaut() {
+        Random r = new Random(14);
+        for (int k : new int[] { 0, 1, 7, 31 }) {
+            int[] t = valeurs(r, 3001, k);
+            BitPacking.CrossBitPacker p = new BitPacking.CrossBitPacker();
+            p.compress(t);
+            verifier(p, t, k, r, "CROSS k=" + k);
+        }
+    }
+
+    // valeurs de k bits et environ 1 % de grandes valeurs, placées au hasard et en début / fin de tableau
+    private static int[] avecDebordements(Random r, int n, int k) {
+        int[] t = valeurs(r, n, k);
+        for (int i = 0; i < n; i++) {
+            if (r.nextInt(100) == 0) t[i] = (int) ((1L << k) + r.nextInt(Integer.MAX_VALUE - (1 << k)));
+        }
+        t[0] = Integer.MAX_VALUE;
+        t[n - 1] = (1 << k) + 1;
+        return t;
+    }
+
+    @Test
+    void overflowPourChaqueK() {
+        Random r = new Random(15);
+        for (int k = 0; k <= 30; k++) {
+            for (int n : LONGUEURS) {
+                if (n < 2) continue;
+                int[] t = avecDebordements(r, n, k);
+                BitPacking.OverflowBitPacker p = new BitPacking.OverflowBitPacker();
+                p.compress(t);
+                verifier(p, t, k, r, "OVERFLOW k=" + k + " n=" + n + " petitK=" + p.getSmallK());
+            }
+        }
+    }
+
+    // champs de 32 bits (petitK = 31 plus le bit de flag) et plages sans aucun débordement
+    @Test
+    void overflowChampsDe32Bits() {
+        Random r = new Random(16);
+        int[] t = valeurs(r, 4099, 31);
+        BitPacking.OverflowBitPacker p = new BitPacking.OverflowBitPacker();
+        p.compress(t);
+        assertEquals(32, p.getFieldBits());
+        verifier(p, t, 31, r, "OVERFLOW 32 bits");
+
+        int[] zeros = new int[1000];
+        p.compress(zeros);
+        verifier(p, zeros, 0, r, "OVERFLOW zéros");
+    }
+
+    // plages qui ne contiennent que des débordements (le min est alors dans la zone de débordement)
+    @Test
+    void overflowPlagesDeDebordements() {
+        Random r = new Random(17);
+        int[] t = new int[2000];
+        for (int i = 0; i < t.length; i++) t[i] = r.nextInt(4);
+        for (int i = 500; i < 540; i++) t[i] = 1_000_000 + r.nextInt(1000);
+        BitPacking.OverflowBitPacker p = new BitPacking.OverflowBitPacker();
+        p.compress(t);
+        assertEquals(40, p.getOverflowCount());
+        for (int a = 495; a < 545; a += 3) {
+            for (int b = a + 1; b <= 545; b += 5) {
+                long s = 0;
+                int mn = Integer.MAX_VALUE;
+                int mx = 0;
+                for (int i = a; i < b; i++) {
+                    s += t[i];
+                    mn = Math.min(mn, t[i]);
+                    mx = Math.max(mx, t[i]);
+                }
+                assertEquals(s, p.sum(a, b));
+                assertEquals(mn, p.min(a, b), "min [" + a + ", " + b + ")");
+                assertEquals(mx, p.max(a, b), "max [" + a + ", " + b + ")");
+            }
+        }
+        verifier(p, t, 2, r, "OVERFLOW bloc de débordements");
+    }
+}
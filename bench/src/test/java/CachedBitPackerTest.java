@@ -0,0 +1,145 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// CachedBitPacker : suite de lectures dont chaque succès, défaut et éviction CLOCK est prévu à la main
+// (budget de trois blocs), compteurs, vidage par compress, et lectures concurrentes sous un petit budget.
+class CachedBitPackerTest {
+    private static final int B = BitPacking.CachedBitPacker.TAILLE_BLOC;
+
+    private static int[] valeurs(Random r, int n) {
+        int[] t = new int[n];
+        for (int i = 0; i < n; i++) t[i] = r.nextInt(1 << 20);
+        return t;
+    }
+
+    private static BitPacking.CachedBitPacker cache(int[] t, int nbBlocs) {
+        BitPacking.CachedBitPacker c = BitPacking.BitPackerFactory.cached(new BitPacking.CrossBitPacker(),
+                nbBlocs * BitPacking.CachedBitPacker.OCTETS_PAR_BLOC + 10);
+        c.compress(t);
+        return c;
+    }
+
+    // { bloc lu, 1 si défaut attendu, évictions cumulées après la lecture }
+    // l'aiguille saute les blocs relus depuis son dernier passage (bit de référence à 1) en remettant le bit à 0
+    private static final int[][] SUITE = {
+        { 0, 1, 0 }, { 1, 1, 0 }, { 2, 1, 0 }, // emplacements [0, 1, 2], bits à 0
+        { 0, 0, 0 },                           // bit de 0 à 1
+        { 3, 1, 1 },                           // 0 épargné (bit remis à 0), 1 évincé : [0, 3, 2]
+        { 0, 0, 1 },
+        { 1, 1, 2 },                           // 2 évincé : [0, 3, 1]
+        { 2, 1, 3 },                           // 0 épargné, 3 évincé : [0, 2, 1]
+        { 0, 0, 3 }, { 1, 0, 3 }, { 2, 0, 3 }, // trois bits à 1
+        { 4, 1, 4 },                           // un tour complet remet les bits à 0, puis 1 évincé : [0, 2, 4]
+        { 1, 1, 5 },                           // 0 évincé : [1, 2, 4]
+        { 0, 1, 6 },                           // 2 évincé : [1, 0, 4]
+        { 4, 0, 6 }, { 1, 0, 6 },
+    };
+
+    @Test
+    void evictionClock() {
+        int[] t = valeurs(new Random(16), 6 * B + 17);
+        BitPacking.CachedBitPacker c = cache(t, 3);
+        assertEquals(3, c.getCapacity());
+        long succes = 0;
+        long defauts = 0;
+        for (int j = 0; j < SUITE.length; j++) {
+            int bloc = SUITE[j][0];
+            int i = bloc * B + (j * 37) % B;
+            String cas = "lecture " + j + " (bloc " + bloc + ")";
+            assertEquals(t[i], c.get(i), cas);
+            if (SUITE[j][1] == 1) defauts++;
+            else succes++;
+            assertEquals(defauts, c.getMissCount(), cas + " défauts");
+            assertEquals(succes, c.getHitCount(), cas + " succès");
+            assertEquals(SUITE[j][2], c.getEvictionCount(), cas + " évictions");
+            assertEquals(Math.min(3, j + 1), c.getCachedBlockCount(), cas);
+        }
+        assertEquals((double) succes / (succes + defauts), c.getHitRate(), 1e-12);
+        assertEquals(3 * BitPacking.CachedBitPacker.OCTETS_PAR_BLOC, c.getCacheSizeBytes());
+
+        c.resetStatistics();
+        assertEquals(0, c.getHitCount());
+        assertEquals(0, c.getMissCount());
+        assertEquals(0, c.getEvictionCount());
+        assertEquals(0.0, c.getHitRate());
+        // les blocs restent chargés après la remise à zéro des compteurs
+        c.get(B + 5);
+        assertEquals(1, c.getHitCount());
+    }
+
+    // dernier bloc incomplet, lectures dans tous les blocs, et compress qui vide le cache
+    @Test
+    void valeursEtVidage() {
+        Random r = new Random(17);
+        int[] t = valeurs(r, 10 * B + 3);
+        BitPacking.CachedBitPacker c = cache(t, 4);
+        for (int j = 0; j < 20000; j++) {
+            int i = r.nextInt(t.length);
+            assertEquals(t[i], c.get(i), "get(" + i + ")");
+        }
+        assertEquals(t[t.length - 1], c.get(t.length - 1));
+        assertEquals(4, c.getCachedBlockCount());
+        assertEquals(20001, c.getHitCount() + c.getMissCount());
+        int[] indices = { 0, t.length - 1, B, B - 1, 5 * B + 7 };
+        int[] out = new int[indices.length];
+        c.get(indices, out);
+        for (int j = 0; j < indices.length; j++) assertEquals(t[indices[j]], out[j]);
+        assertThrows(IndexOutOfBoundsException.class, () -> c.get(t.length));
+        assertThrows(IndexOutOfBoundsException.class, () -> c.get(-1));
+
+        // nouvelles données : les anciens blocs ne doivent plus être servis
+        int[] u = valeurs(r, 3 * B);
+        c.compress(u);
+        assertEquals(0, c.getCachedBlockCount());
+        assertEquals(u.length, c.length());
+        for (int i = 0; i < u.length; i += 7) assertEquals(u[i], c.get(i), "après compress, get(" + i + ")");
+        assertThrows(IndexOutOfBoundsException.class, () -> c.get(3 * B));
+        int[] tout = new int[u.length];
+        c.decompress(tout);
+        assertArrayEquals(u, tout);
+    }
+
+    @Test
+    void budgetTropPetit() {
+        assertThrows(IllegalArgumentException.class, () -> BitPacking.BitPackerFactory.cached(
+                new BitPacking.CrossBitPacker(), BitPacking.CachedBitPacker.OCTETS_PAR_BLOC - 1));
+    }
+
+    // quatre lecteurs sur 64 blocs avec un budget de 5 : évictions continuelles, valeurs toujours justes
+    @Test
+    void lecturesConcurrentes() throws Exception {
+        int[] t = valeurs(new Random(18), 64 * B);
+        BitPacking.CachedBitPacker c = cache(t, 5);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> taches = new ArrayList<>();
+            for (int e = 0; e < 4; e++) {
+                Random r = new Random(e);
+                taches.add(pool.submit(() -> {
+                    for (int j = 0; j < 50000; j++) {
+                        // blocs chauds (les 3 premiers) mêlés à des lectures dispersées
+                        int i = j % 3 == 0 ? r.nextInt(t.length) : r.nextInt(3 * B);
+                        if (c.get(i) != t[i]) throw new AssertionError("get(" + i + ")");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : taches) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(4 * 50000L, c.getHitCount() + c.getMissCount());
+        assertEquals(5, c.getCachedBlockCount());
+    }
+}
@@ -0,0 +1,199 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+// CompressionService : plages (offset, longueur) des tableaux regroupés, contre-pression sur maxEnCours,
+// et échecs (RuntimeException ou Error) qui terminent toujours les futures du groupe.
+class CompressionServiceTest {
+    private static final BitPacking.BitPackerFactory.Type CROSS = BitPacking.BitPackerFactory.Type.CROSS;
+
+    private static int[] valeurs(Random r, int n, int k) {
+        int[] t = new int[n];
+        for (int i = 0; i < n; i++) t[i] = r.nextInt(1 << k);
+        return t;
+    }
+
+    private static void attendre(BooleanSupplier condition, String cas) throws InterruptedException {
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < fin, cas);
+            Thread.sleep(1);
+        }
+    }
+
+    // 10 tableaux de 10000 valeurs : les 6 premiers tiennent dans un groupe de TAILLE_GROUPE valeurs, le
+    // septième en ouvre un second ; les tableaux au-dessus du seuil restent seuls
+    @Test
+    void plagesDesTableauxRegroupes() {
+        Random r = new Random(19);
+        try (BitPacking.CompressionService s = BitPacking.BitPackerFactory.service(CROSS, 2, 8, 20000)) {
+            List<int[]> lot = new ArrayList<>();
+            for (int j = 0; j < 10; j++) lot.add(valeurs(r, 10000, 1 + j));
+            lot.add(4, valeurs(r, 30000, 9));
+            lot.add(new int[0]);
+            List<CompletableFuture<BitPacking.PackedResult>> f = s.submitAll(lot);
+            assertEquals(lot.size(), f.size());
+
+            int[] attendus = { 0, 10000, 20000, 30000, -1, 40000, 50000, 0, 10000, 20000, 30000, 40000 };
+            for (int j = 0; j < lot.size(); j++) {
+                BitPacking.PackedResult p = f.get(j).join();
+                int[] t = lot.get(j);
+                String cas = "tableau " + j;
+                assertEquals(t.length, p.length(), cas);
+                assertArrayEquals(t, p.toArray(), cas);
+                for (int i = 0; i < t.length; i += 997) assertEquals(t[i], p.get(i), cas + " get(" + i + ")");
+                if (t.length > 0) assertEquals(t[t.length - 1], p.get(t.length - 1), cas);
+                assertThrows(IndexOutOfBoundsException.class, () -> p.get(t.length), cas);
+                if (attendus[j] < 0) {
+                    // au-dessus du seuil : compressé seul
+                    assertEquals(0, p.getOffset(), cas);
+                    assertFalse(p.isCoalesced(), cas);
+                    assertEquals(t.length, p.open().longLength(), cas);
+                } else {
+                    assertEquals(attendus[j], p.getOffset(), cas);
+                    assertTrue(p.isCoalesced(), cas);
+                    for (int i = 0; i < t.length; i += 1013) assertEquals(t[i], p.open().get((long) p.getOffset() + i), cas);
+                }
+                if (j < 4 || j == 5 || j == 6) assertEquals(60000, p.open().longLength(), cas);
+            }
+            // un lecteur par groupe
+            assertSame(f.get(0).join().open(), f.get(6).join().open());
+            assertSame(f.get(7).join().open(), f.get(11).join().open());
+            assertEquals(40000, f.get(7).join().open().longLength());
+            assertEquals(lot.size(), s.getCompletedArrays());
+            assertEquals(0, s.getFailedArrays());
+        }
+    }
+
+    // seuil nul : aucun regroupement, chaque tableau est relisible seul avec PackedFile.read
+    @Test
+    void sansRegroupement() throws Exception {
+        Random r = new Random(20);
+        try (BitPacking.CompressionService s = BitPacking.BitPackerFactory.service(CROSS, 1, 3, 0)) {
+            List<int[]> lot = new ArrayList<>();
+            for (int j = 0; j < 6; j++) lot.add(valeurs(r, 100 + j, 7));
+            List<CompletableFuture<BitPacking.PackedResult>> f = s.submitAll(lot);
+            for (int j = 0; j < lot.size(); j++) {
+                BitPacking.PackedResult p = f.get(j).join();
+                assertFalse(p.isCoalesced());
+                int[] relu = new int[lot.get(j).length];
+                BitPacking.PackedFile.read(p.getBuffer()).decompress(relu);
+                assertArrayEquals(lot.get(j), relu);
+            }
+        }
+    }
+
+    // un seul thread occupé : maxEnCours = 2 tâches acceptées, le troisième appelant attend une place
+    @Test
+    void contrePression() throws Exception {
+        ExecutorService executeur = Executors.newSingleThreadExecutor();
+        CountDownLatch bouchon = new CountDownLatch(1);
+        executeur.execute(() -> {
+            try {
+                bouchon.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try (BitPacking.CompressionService s = new BitPacking.CompressionService(CROSS, executeur, false, 2, 0)) {
+            int[] t = valeurs(new Random(21), 1000, 5);
+            CompletableFuture<BitPacking.PackedResult> a = s.submit(t);
+            CompletableFuture<BitPacking.PackedResult> b = s.submit(t);
+            assertEquals(2, s.getInFlight());
+            assertEquals(2, s.getQueueDepth());
+            assertEquals(0, s.getActiveCount());
+
+            AtomicReference<CompletableFuture<BitPacking.PackedResult>> troisieme = new AtomicReference<>();
+            Thread appelant = new Thread(() -> troisieme.set(s.submit(t)));
+            appelant.start();
+            attendre(() -> s.getBlockedSubmitters() == 1, "le troisième appelant devrait être bloqué");
+            assertTrue(appelant.isAlive());
+            assertFalse(a.isDone());
+
+            bouchon.countDown();
+            appelant.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(appelant.isAlive());
+            assertArrayEquals(t, a.join().toArray());
+            assertArrayEquals(t, b.join().toArray());
+            assertArrayEquals(t, troisieme.get().join().toArray());
+            attendre(() -> s.getInFlight() == 0, "places non rendues");
+            assertEquals(0, s.getBlockedSubmitters());
+            assertEquals(3, s.getCompletedArrays());
+        }
+    }
+
+    // valeur négative : le groupe entier échoue, le service continue
+    @Test
+    void echecDuGroupe() throws Exception {
+        try (BitPacking.CompressionService s = BitPacking.BitPackerFactory.service(CROSS, 1, 4, 100)) {
+            List<CompletableFuture<BitPacking.PackedResult>> f = s.submitAll(
+                    List.of(new int[] { 1, 2 }, new int[] { 3, -4 }, new int[1000]));
+            for (int j = 0; j < 2; j++) {
+                CompletionException e = assertThrows(CompletionException.class, f.get(j)::join);
+                assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            }
+            assertEquals(1000, f.get(2).join().length());
+            attendre(() -> s.getInFlight() == 0, "places non rendues");
+            assertEquals(2, s.getFailedArrays());
+            assertEquals(1, s.getCompletedArrays());
+            assertArrayEquals(new int[] { 5, 6 }, s.submit(new int[] { 5, 6 }).join().toArray());
+        }
+    }
+
+    // une Error (ici à la création du compresseur) termine les futures puis remonte au thread de l'exécuteur
+    @Test
+    void erreurTermineLesFutures() throws Exception {
+        OutOfMemoryError erreur = new OutOfMemoryError("test");
+        AtomicReference<Throwable> remontee = new AtomicReference<>();
+        ExecutorService executeur = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            t.setUncaughtExceptionHandler((th, e) -> remontee.set(e));
+            return t;
+        });
+        try (BitPacking.CompressionService s = new BitPacking.CompressionService(CROSS, () -> {
+            throw erreur;
+        }, executeur, false, 2, 100)) {
+            List<CompletableFuture<BitPacking.PackedResult>> f = s.submitAll(
+                    List.of(new int[] { 1 }, new int[] { 2, 3 }, new int[] { 4 }));
+            // délai : avant la correction, ces futures ne se terminaient jamais
+            for (CompletableFuture<BitPacking.PackedResult> x : f) {
+                CompletionException e = assertThrows(CompletionException.class, x.orTimeout(10, TimeUnit.SECONDS)::join);
+                assertSame(erreur, e.getCause());
+            }
+            CompletableFuture<BitPacking.PackedResult> seul = s.submit(new int[200]);
+            assertSame(erreur, assertThrows(CompletionException.class, seul.orTimeout(10, TimeUnit.SECONDS)::join).getCause());
+            attendre(() -> s.getInFlight() == 0, "places non rendues");
+            attendre(() -> remontee.get() != null, "l'Error n'a pas été relancée");
+            assertSame(erreur, remontee.get());
+            assertEquals(0, s.getActiveCount());
+            assertEquals(4, s.getFailedArrays());
+            assertEquals(0, s.getCompletedArrays());
+        }
+    }
+
+    @Test
+    void typeNonPersistantRefuse() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BitPacking.BitPackerFactory.service(BitPacking.BitPackerFactory.Type.DELTA, 1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> BitPacking.BitPackerFactory.service(CROSS, 1, 0, 0));
+    }
+}
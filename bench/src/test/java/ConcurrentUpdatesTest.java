@@ -0,0 +1,190 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Mises à jour concurrentes de CrossBitPacker / NoCrossBitPacker (set, compareAndSet, getAndAdd) :
+// plusieurs écrivains sur des valeurs voisines (mêmes mots), un lecteur qui vérifie en même temps
+// qu'aucune lecture n'est déchirée.
+class ConcurrentUpdatesTest {
+    private static final int ECRIVAINS = 8;
+    private static final int INCREMENTS = 20_000;
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void creerPool() {
+        pool = Executors.newFixedThreadPool(ECRIVAINS + 1);
+    }
+
+    @AfterEach
+    void arreterPool() throws InterruptedException {
+        pool.shutdownNow();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    // compteurs de k bits mis à jour par getAndAdd
+    interface Compteurs {
+        int getAndAdd(int i, int delta);
+        int getVolatile(int i);
+    }
+
+    // valeur fixe des positions impaires (voisines des compteurs), 2^k - 1 en dernière position pour fixer k
+    private static int voisin(int i, int n, int k) {
+        int masque = (int) ((1L << k) - 1);
+        return i == n - 1 ? masque : (i * 0x9E3779B1 >>> 7) & masque;
+    }
+
+    // compteurs à 0 aux positions paires, voisins fixes aux positions impaires (n pair)
+    private static int[] compteurs(int n, int k) {
+        int[] t = new int[n];
+        for (int i = 1; i < n; i += 2) t[i] = voisin(i, n, k);
+        return t;
+    }
+
+    // chaque écrivain ajoute 1 aux compteurs pairs à tour de rôle, increments fois ; le lecteur vérifie
+    // pendant ce temps que chaque compteur ne fait que croître et que les voisins ne bougent pas
+    private void incrementsConcurrents(Compteurs c, int n, int k, int increments) throws Exception {
+        int nbCompteurs = n / 2;
+        CountDownLatch depart = new CountDownLatch(1);
+        // les écrivains attendent que le lecteur tourne (sur un seul CPU, ils pourraient sinon finir avant lui)
+        CountDownLatch lecteurPret = new CountDownLatch(1);
+        AtomicBoolean fini = new AtomicBoolean();
+        List<Future<?>> taches = new ArrayList<>();
+        for (int e = 0; e < ECRIVAINS; e++) {
+            int decalage = e;
+            taches.add(pool.submit((Callable<Void>) () -> {
+                depart.await();
+                lecteurPret.await();
+                for (int j = 0; j < increments; j++) c.getAndAdd(2 * ((j + decalage) % nbCompteurs), 1);
+                return null;
+            }));
+        }
+        Future<Integer> lecteur = pool.submit(() -> {
+            int[] vus = new int[n];
+            int lectures = 0;
+            depart.await();
+            lecteurPret.countDown();
+            do {
+                for (int i = 0; i < n; i++) {
+                    int v = c.getVolatile(i);
+                    if (i % 2 == 1) {
+                        if (v != voisin(i, n, k)) throw new AssertionError("voisin " + i + " modifié : " + v);
+                    } else {
+                        if (v < vus[i]) throw new AssertionError("compteur " + i + " : " + vus[i] + " puis " + v);
+                        vus[i] = v;
+                    }
+                    lectures++;
+                }
+            } while (!fini.get());
+            return lectures;
+        });
+        depart.countDown();
+        for (Future<?> f : taches) f.get(60, TimeUnit.SECONDS);
+        fini.set(true);
+        assertTrue(lecteur.get(60, TimeUnit.SECONDS) > 0);
+
+        long total = 0;
+        for (int i = 0; i < n; i += 2) total += c.getVolatile(i);
+        assertEquals((long) ECRIVAINS * increments, total);
+        for (int i = 1; i < n; i += 2) assertEquals(voisin(i, n, k), c.getVolatile(i), "voisin " + i);
+    }
+
+    @Test
+    void noCrossGetAndAddConcurrent() throws Exception {
+        BitPacking.NoCrossBitPacker p = new BitPacking.NoCrossBitPacker();
+        p.compress(compteurs(200, 16));
+        incrementsConcurrents(new Compteurs() {
+            public int getAndAdd(int i, int delta) { return p.getAndAdd(i, delta); }
+            public int getVolatile(int i) { return p.getVolatile(i); }
+        }, 200, 16, INCREMENTS);
+    }
+
+    private void crossGetAndAddConcurrent(int n, int k, int increments) throws Exception {
+        BitPacking.CrossBitPacker p = new BitPacking.CrossBitPacker();
+        p.compress(compteurs(n, k));
+        assertEquals(k, p.getK());
+        incrementsConcurrents(new Compteurs() {
+            public int getAndAdd(int i, int delta) { return p.getAndAdd(i, delta); }
+            public int getVolatile(int i) { return p.getVolatile(i); }
+        }, n, k, increments);
+    }
+
+    @Test
+    void crossGetAndAddConcurrent() throws Exception {
+        crossGetAndAddConcurrent(200, 16, INCREMENTS);
+    }
+
+    // k = 5 et k = 13 : des compteurs et des voisins sont à cheval sur deux mots
+    @Test
+    void crossGetAndAddConcurrentACheval() throws Exception {
+        // 8 écrivains x 2000 incréments sur 1000 compteurs : 16 par compteur, sous 2^5 - 1
+        crossGetAndAddConcurrent(2000, 5, 2_000);
+        crossGetAndAddConcurrent(202, 13, INCREMENTS);
+    }
+
+    // un seul compareAndSet(0 -> id) réussit parmi tous les écrivains
+    @Test
+    void compareAndSetUnSeulGagnant() throws Exception {
+        BitPacking.NoCrossBitPacker p = new BitPacking.NoCrossBitPacker();
+        p.compress(new int[] { 0, 0, 0, 15 });
+        CountDownLatch depart = new CountDownLatch(1);
+        AtomicInteger gagnants = new AtomicInteger();
+        List<Future<?>> taches = new ArrayList<>();
+        for (int e = 1; e <= ECRIVAINS; e++) {
+            int id = e;
+            taches.add(pool.submit((Callable<Void>) () -> {
+                depart.await();
+                if (p.compareAndSet(1, 0, id)) gagnants.incrementAndGet();
+                return null;
+            }));
+        }
+        depart.countDown();
+        for (Future<?> f : taches) f.get(60, TimeUnit.SECONDS);
+        assertEquals(1, gagnants.get());
+        assertTrue(p.get(1) >= 1 && p.get(1) <= ECRIVAINS);
+        assertEquals(0, p.get(0));
+        assertEquals(0, p.get(2));
+    }
+
+    // compareAndSet et set sur une valeur à cheval ne touchent pas ses voisines
+    @Test
+    void crossMiseAJourACheval() {
+        BitPacking.CrossBitPacker p = new BitPacking.CrossBitPacker();
+        p.compress(new int[] { 1, 2, 3, 4, 5, 6, 7, 31 });
+        assertEquals(5, p.getK());
+        // la valeur 6 occupe les bits 30..34
+        assertFalse(p.compareAndSet(6, 8, 9));
+        assertTrue(p.compareAndSet(6, 7, 29));
+        p.set(0, 3);
+        assertEquals(29, p.getAndAdd(6, 1));
+        int[] attendu = { 3, 2, 3, 4, 5, 6, 30, 31 };
+        for (int i = 0; i < attendu.length; i++) assertEquals(attendu[i], p.getVolatile(i));
+        for (int i = 0; i < attendu.length; i++) assertEquals(attendu[i], p.get(i));
+        assertThrows(BitPacking.ValueTooWideException.class, () -> p.getAndAdd(6, 2));
+    }
+
+    @Test
+    void valeurTropLarge() {
+        BitPacking.NoCrossBitPacker p = new BitPacking.NoCrossBitPacker();
+        p.compress(new int[] { 0, 15 });
+        BitPacking.ValueTooWideException e = assertThrows(BitPacking.ValueTooWideException.class, () -> p.getAndAdd(1, 1));
+        assertEquals(5, e.getRequiredBits());
+        assertEquals(15, p.get(1));
+    }
+}
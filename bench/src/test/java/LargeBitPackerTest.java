@@ -0,0 +1,127 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.function.LongToIntFunction;
+
+import org.junit.jupiter.api.Test;
+
+// LargeBitPacker : API à indices long comparée à la fonction source, valeurs autour des limites de morceau
+// (2^22 valeurs) et indices au-delà de Integer.MAX_VALUE. Les valeurs viennent d'une LongToIntFunction :
+// aucun int[] de référence, et 2^31 valeurs de 1 bit ne prennent que 256 Mo.
+class LargeBitPackerTest {
+    private static final long MORCEAU = BitPacking.LargeBitPacker.VALEURS_PAR_MORCEAU;
+
+    // valeurs pseudo-aléatoires de k bits, dont la dernière vaut 2^k - 1 pour fixer la largeur
+    private static LongToIntFunction source(long n, int k) {
+        long masque = (1L << k) - 1;
+        return i -> i == n - 1 ? (int) masque : (int) ((i * 0x9E3779B97F4A7C15L >>> 29) & masque);
+    }
+
+    // indices autour de chaque limite de morceau, et en fin de tableau
+    private static long[] indices(long n) {
+        long[] t = new long[(int) (6 * (n / MORCEAU + 1)) + 3];
+        int j = 0;
+        for (long m = MORCEAU; m < n; m += MORCEAU) {
+            for (long i = m - 3; i <= m + 2; i++) t[j++] = i;
+        }
+        t[j++] = 0;
+        t[j++] = n - 2;
+        t[j++] = n - 1;
+        return Arrays.copyOf(t, j);
+    }
+
+    private static void verifierPlage(BitPacking.LargeBitPacker p, LongToIntFunction f, long from, int len, String cas) {
+        int[] dst = new int[len + 5];
+        p.decompress(from, dst, 5, len);
+        long s = 0;
+        int mn = Integer.MAX_VALUE;
+        int mx = Integer.MIN_VALUE;
+        for (int j = 0; j < len; j++) {
+            int v = f.applyAsInt(from + j);
+            assertEquals(v, dst[5 + j], cas + " decompress(" + (from + j) + ")");
+            s += v;
+            mn = Math.min(mn, v);
+            mx = Math.max(mx, v);
+        }
+        assertEquals(s, p.sum(from, from + len), cas + " sum");
+        if (len > 0) {
+            assertEquals(mn, p.min(from, from + len), cas + " min");
+            assertEquals(mx, p.max(from, from + len), cas + " max");
+        }
+    }
+
+    @Test
+    void valeursAuxLimitesDeMorceau() {
+        for (int k : new int[] { 0, 1, 3, 7, 13, 31 }) {
+            long n = 2 * MORCEAU + 77;
+            LongToIntFunction f = source(n, k);
+            BitPacking.LargeBitPacker p = new BitPacking.LargeBitPacker();
+            p.compress(n, f);
+            String cas = "k=" + k;
+            assertEquals(n, p.longLength(), cas);
+            assertEquals(k, p.getK(), cas);
+            for (long i : indices(n)) assertEquals(f.applyAsInt(i), p.get(i), cas + " get(" + i + ")");
+            for (long i = 0; i < n; i += 4099) assertEquals(f.applyAsInt(i), p.get(i), cas + " get(" + i + ")");
+            // plages dans un morceau, à cheval sur une ou deux limites, vides
+            verifierPlage(p, f, MORCEAU - 100, 200, cas);
+            verifierPlage(p, f, MORCEAU - 1, 2, cas);
+            verifierPlage(p, f, MORCEAU - 5, (int) MORCEAU + 10, cas);
+            verifierPlage(p, f, 2 * MORCEAU - 64, 141, cas);
+            verifierPlage(p, f, 1234567, 3000, cas);
+            verifierPlage(p, f, MORCEAU, 0, cas);
+            verifierPlage(p, f, n - 1, 1, cas);
+            assertThrows(IndexOutOfBoundsException.class, () -> p.get(n), cas);
+            assertThrows(IndexOutOfBoundsException.class, () -> p.get(-1L), cas);
+            assertThrows(IndexOutOfBoundsException.class, () -> p.decompress(n - 3, new int[4], 0, 4), cas);
+            assertThrows(IndexOutOfBoundsException.class, () -> p.sum(5, n + 1), cas);
+        }
+    }
+
+    // compress(int[]) et l'API int de BitPacker donnent les mêmes valeurs que l'API long
+    @Test
+    void apiIntEtApiLong() {
+        int n = (int) MORCEAU + 1000;
+        LongToIntFunction f = source(n, 11);
+        int[] t = new int[n];
+        for (int i = 0; i < n; i++) t[i] = f.applyAsInt(i);
+        BitPacking.LargeBitPacker p = new BitPacking.LargeBitPacker();
+        p.compress(t);
+        assertEquals(n, p.length());
+        int[] tout = new int[n];
+        p.decompress(tout);
+        assertArrayEquals(t, tout);
+        int[] out = new int[500];
+        p.getRange((int) MORCEAU - 250, 500, out);
+        assertArrayEquals(Arrays.copyOfRange(t, (int) MORCEAU - 250, (int) MORCEAU + 250), out);
+        long c = 0;
+        for (int v : t) if (v >= 100 && v <= 900) c++;
+        assertEquals(c, p.countLong(100, 900));
+        assertEquals(c, p.count(100, 900));
+        assertEquals(Arrays.stream(t).asLongStream().sum(), p.sum(0, n));
+    }
+
+    // plus de 2^31 valeurs de 1 bit (environ 256 Mo) : get(long), decompress et sum autour de
+    // Integer.MAX_VALUE et sur le dernier morceau, qui commence au-delà
+    @Test
+    void indicesAuDelaDeIntMax() {
+        long n = (1L << 31) + MORCEAU + 100;
+        LongToIntFunction f = source(n, 1);
+        BitPacking.LargeBitPacker p = new BitPacking.LargeBitPacker();
+        p.compress(n, f);
+        assertEquals(n, p.longLength());
+        assertThrows(ArithmeticException.class, p::length);
+        long max = Integer.MAX_VALUE;
+        for (long i = max - 70; i <= max + 70; i++) assertEquals(f.applyAsInt(i), p.get(i), "get(" + i + ")");
+        for (long i : indices(n)) {
+            if (i > max - MORCEAU) assertEquals(f.applyAsInt(i), p.get(i), "get(" + i + ")");
+        }
+        verifierPlage(p, f, max - 1000, 2001, "autour de Integer.MAX_VALUE");
+        verifierPlage(p, f, n - 5000, 5000, "fin");
+        assertEquals(1, p.get(n - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> p.get(n));
+        // l'API int reste limitée aux indices positifs d'un int
+        assertThrows(IndexOutOfBoundsException.class, () -> p.get(Integer.MIN_VALUE));
+    }
+}
@@ -0,0 +1,216 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Format PackedFile : écriture puis relecture (fichier projeté ou tampon) pour chaque type persistant,
+// limites de segment, et refus des en-têtes corrompus ou des fichiers tronqués.
+class PackedFileTest {
+    private static final BitPacking.BitPackerFactory.Type[] PERSISTANTS = {
+        BitPacking.BitPackerFactory.Type.CROSS, BitPacking.BitPackerFactory.Type.NOCROSS,
+        BitPacking.BitPackerFactory.Type.OVERFLOW, BitPacking.BitPackerFactory.Type.VECTOR,
+        BitPacking.BitPackerFactory.Type.LARGE, BitPacking.BitPackerFactory.Type.PFOR
+    };
+
+    @TempDir
+    Path dossier;
+
+    private static int[] valeurs(Random r, int n, int k) {
+        int[] t = new int[n];
+        int masque = (int) ((1L << k) - 1);
+        for (int i = 0; i < n; i++) t[i] = r.nextInt() & masque;
+        // quelques grandes valeurs pour les débordements d'OVERFLOW
+        for (int i = 0; i < n; i += 97) t[i] = r.nextInt(Integer.MAX_VALUE);
+        return t;
+    }
+
+    private static byte[] octets(BitPacking.BitPacker p) throws IOException {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        BitPacking.PackedFile.write(p, Channels.newChannel(sortie));
+        return sortie.toByteArray();
+    }
+
+    private static void verifier(BitPacking.MappedBitPacker m, int[] t, BitPacking.BitPackerFactory.Type type, String cas) {
+        assertEquals(type, m.getType(), cas);
+        assertEquals(t.length, m.longLength(), cas);
+        for (int i = 0; i < t.length; i++) assertEquals(t[i], m.get(i), cas + " get(" + i + ")");
+        int[] tout = new int[t.length];
+        m.decompress(tout);
+        assertArrayEquals(t, tout, cas + " decompress");
+        if (t.length > 10) {
+            int[] out = new int[t.length - 7];
+            m.getRange(3, t.length - 7, out);
+            assertArrayEquals(Arrays.copyOfRange(t, 3, t.length - 4), out, cas + " getRange");
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> m.get(t.length), cas);
+    }
+
+    @Test
+    void allerRetourPourChaqueType() throws IOException {
+        Random r = new Random(5);
+        for (BitPacking.BitPackerFactory.Type type : PERSISTANTS) {
+            for (int k : new int[] { 0, 1, 5, 13, 31 }) {
+                for (int n : new int[] { 0, 1, 33, 1000 }) {
+                    int[] t = valeurs(r, n, k);
+                    boolean exceptions = type == BitPacking.BitPackerFactory.Type.OVERFLOW
+                            || type == BitPacking.BitPackerFactory.Type.PFOR;
+                    if (!exceptions && k < 31) {
+                        for (int i = 0; i < n; i += 97) t[i] &= (int) ((1L << k) - 1);
+                    }
+                    BitPacking.BitPacker p = BitPacking.BitPackerFactory.create(type);
+                    p.compress(t);
+                    String cas = type + " k=" + k + " n=" + n;
+                    byte[] b = octets(p);
+                    BitPacking.MappedBitPacker tampon = BitPacking.PackedFile.read(ByteBuffer.wrap(b));
+                    assertEquals(p.compressedSizeBytes(), tampon.compressedSizeBytes(), cas);
+                    verifier(tampon, t, type, cas + " (tampon)");
+
+                    Path f = dossier.resolve(type + "-" + k + "-" + n + ".bipk");
+                    BitPacking.PackedFile.write(p, f);
+                    assertArrayEquals(b, Files.readAllBytes(f), cas);
+                    verifier(BitPacking.PackedFile.open(f), t, type, cas + " (fichier)");
+                    // segments de 64 et 128 octets : les valeurs et la zone de débordement franchissent
+                    // des limites de segment
+                    verifier(BitPacking.PackedFile.open(f, 6), t, type, cas + " (segments de 64 octets)");
+                    verifier(BitPacking.PackedFile.open(f, 7), t, type, cas + " (segments de 128 octets)");
+                }
+            }
+        }
+    }
+
+    // LARGE sur deux morceaux de 2^22 valeurs (k = 3 : environ 3 Mo)
+    @Test
+    void largeSurPlusieursMorceaux() throws IOException {
+        long n = BitPacking.LargeBitPacker.VALEURS_PAR_MORCEAU + 1000L;
+        BitPacking.LargeBitPacker p = new BitPacking.LargeBitPacker();
+        p.compress(n, i -> (int) (i * 2654435761L >>> 7) & 7);
+        Path f = dossier.resolve("large.bipk");
+        BitPacking.PackedFile.write(p, f);
+        for (int log : new int[] { 12, 30 }) {
+            BitPacking.MappedBitPacker m = BitPacking.PackedFile.open(f, log);
+            assertEquals(n, m.longLength());
+            for (long i = BitPacking.LargeBitPacker.VALEURS_PAR_MORCEAU - 300; i < n; i++) {
+                assertEquals(p.get(i), m.get(i), "i=" + i);
+            }
+        }
+    }
+
+    // PFOR avec des blocs nuls, de 31 bits, avec et sans exceptions
+    @Test
+    void pforBlocsVaries() throws IOException {
+        Random r = new Random(8);
+        int[] t = new int[10 * BitPacking.PforBitPacker.TAILLE_BLOC + 17];
+        for (int i = 0; i < t.length; i++) {
+            int bloc = i / BitPacking.PforBitPacker.TAILLE_BLOC;
+            t[i] = switch (bloc % 4) {
+                case 0 -> 0;
+                case 1 -> r.nextInt(16) + (r.nextInt(20) == 0 ? 1 << 20 : 0);
+                case 2 -> r.nextInt(Integer.MAX_VALUE);
+                default -> r.nextInt(1 << 9);
+            };
+        }
+        BitPacking.PforBitPacker p = new BitPacking.PforBitPacker();
+        p.compress(t);
+        Path f = dossier.resolve("pfor.bipk");
+        BitPacking.PackedFile.write(p, f);
+        verifier(BitPacking.PackedFile.open(f), t, BitPacking.BitPackerFactory.Type.PFOR, "PFOR");
+        verifier(BitPacking.PackedFile.open(f, 6), t, BitPacking.BitPackerFactory.Type.PFOR, "PFOR segments de 64 octets");
+    }
+
+    @Test
+    void typesNonPersistants() {
+        for (BitPacking.TransformBitPacker.Mode mode : BitPacking.TransformBitPacker.Mode.values()) {
+            BitPacking.TransformBitPacker p = new BitPacking.TransformBitPacker(mode);
+            p.compress(new int[] { 1, 2, 3 });
+            assertThrows(IllegalArgumentException.class, () -> octets(p), mode.toString());
+        }
+    }
+
+    // répertoire PFOR corrompu : début de bloc, largeur ou indice de la première exception
+    @Test
+    void repertoirePforRefuse() throws IOException {
+        int[] t = new int[3 * BitPacking.PforBitPacker.TAILLE_BLOC];
+        for (int i = 0; i < t.length; i++) t[i] = i % 50 == 0 ? 1 << 25 : i & 7;
+        BitPacking.PforBitPacker p = new BitPacking.PforBitPacker();
+        p.compress(t);
+        byte[] b = octets(p);
+        BitPacking.PackedFile.read(ByteBuffer.wrap(b));
+        int repertoire = BitPacking.PackedFile.TAILLE_ENTETE;
+        // bloc 1 : début, largeur, première exception
+        refuser(modifier(b, repertoire + 12, 1), "début de bloc");
+        refuser(modifier(b, repertoire + 16, 40), "largeur");
+        refuser(modifier(b, repertoire + 20, 0), "première exception");
+        refuser(modifier(b, 20, 3), "k non nul");
+    }
+
+    // ---- en-têtes corrompus ----
+
+    private static byte[] exemple() throws IOException {
+        BitPacking.OverflowBitPacker p = new BitPacking.OverflowBitPacker();
+        p.compress(valeurs(new Random(6), 500, 6));
+        return octets(p);
+    }
+
+    private static void refuser(byte[] b, String cas) {
+        assertThrows(IOException.class, () -> BitPacking.PackedFile.read(ByteBuffer.wrap(b)), cas);
+    }
+
+    private static byte[] modifier(byte[] b, int position, int valeur) {
+        byte[] c = b.clone();
+        ByteBuffer.wrap(c).order(ByteOrder.LITTLE_ENDIAN).putInt(position, valeur);
+        return c;
+    }
+
+    private static byte[] modifierLong(byte[] b, int position, long valeur) {
+        byte[] c = b.clone();
+        ByteBuffer.wrap(c).order(ByteOrder.LITTLE_ENDIAN).putLong(position, valeur);
+        return c;
+    }
+
+    @Test
+    void enTetesRefuses() throws IOException {
+        byte[] b = exemple();
+        // l'exemple lui-même est accepté
+        BitPacking.PackedFile.read(ByteBuffer.wrap(b));
+
+        refuser(new byte[0], "vide");
+        refuser(Arrays.copyOf(b, BitPacking.PackedFile.TAILLE_ENTETE - 1), "en-tête incomplet");
+        refuser(modifier(b, 0, 0x12345678), "magic");
+        refuser(modifier(b, 4, BitPacking.PackedFile.VERSION + 1), "version");
+        refuser(modifier(b, 8, 0), "type 0");
+        refuser(modifier(b, 8, 99), "type inconnu");
+        refuser(modifierLong(b, 12, -1), "n négatif");
+        refuser(modifierLong(b, 12, Long.MAX_VALUE), "n énorme");
+        refuser(modifier(b, 20, 40), "k trop grand");
+        refuser(modifier(b, 20, -1), "k négatif");
+        refuser(modifier(b, 24, 33), "bitsChamp trop grand");
+        refuser(modifier(b, 28, -1), "débordements négatifs");
+        refuser(modifier(b, 28, 501), "plus de débordements que de valeurs");
+        refuser(modifierLong(b, 32, 1), "nombre de mots incohérent");
+        refuser(Arrays.copyOf(b, b.length - 1), "tronqué d'un octet");
+        refuser(Arrays.copyOf(b, b.length - 4), "zone de débordement tronquée");
+    }
+
+    @Test
+    void fichierTronqueRefuse() throws IOException {
+        byte[] b = exemple();
+        Path f = dossier.resolve("tronque.bipk");
+        Files.write(f, Arrays.copyOf(b, b.length - 8));
+        assertThrows(IOException.class, () -> BitPacking.PackedFile.open(f));
+        Path vide = dossier.resolve("vide.bipk");
+        Files.write(vide, new byte[0]);
+        assertThrows(IOException.class, () -> BitPacking.PackedFile.open(vide));
+    }
+}
@@ -0,0 +1,125 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// PackedListArena : des milliers de listes de largeurs mêlées (k = 0 à 31, listes vides comprises) dans la
+// même arène ; get(id, i), decompress(id, dst, off) et toArray comparés aux listes d'origine, avant et après
+// trimToSize et les agrandissements de l'arène.
+class PackedListArenaTest {
+    private static int[] liste(Random r, int n, int k) {
+        int[] t = new int[n];
+        int masque = (int) ((1L << k) - 1);
+        for (int i = 0; i < n; i++) t[i] = r.nextInt() & masque;
+        // la largeur k est atteinte
+        if (n > 0) t[r.nextInt(n)] = masque;
+        return t;
+    }
+
+    private static void verifier(BitPacking.PackedListArena a, List<int[]> listes, List<Integer> largeurs, String cas) {
+        assertEquals(listes.size(), a.size(), cas);
+        int[] dst = new int[3 + 2000];
+        for (int id = 0; id < listes.size(); id++) {
+            int[] t = listes.get(id);
+            String c = cas + " liste " + id + " (n=" + t.length + ", k=" + largeurs.get(id) + ")";
+            assertEquals(t.length, a.length(id), c);
+            assertEquals((int) largeurs.get(id), a.getK(id), c);
+            for (int i = 0; i < t.length; i++) assertEquals(t[i], a.get(id, i), c + " get(" + i + ")");
+            assertArrayEquals(t, a.toArray(id), c);
+            // decompress avec décalage : les cases voisines ne sont pas touchées
+            Arrays.fill(dst, -7);
+            assertEquals(t.length, a.decompress(id, dst, 3), c);
+            assertArrayEquals(t, Arrays.copyOfRange(dst, 3, 3 + t.length), c + " decompress");
+            assertEquals(-7, dst[2], c);
+            assertEquals(-7, dst[3 + t.length], c);
+            int i0 = id;
+            assertThrows(IndexOutOfBoundsException.class, () -> a.get(i0, t.length), c);
+            assertThrows(IndexOutOfBoundsException.class, () -> a.get(i0, -1), c);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> a.get(listes.size(), 0), cas);
+        assertThrows(IndexOutOfBoundsException.class, () -> a.length(-1), cas);
+    }
+
+    @Test
+    void listesDeLargeursMelees() {
+        Random r = new Random(17);
+        BitPacking.PackedListArena a = new BitPacking.PackedListArena();
+        List<int[]> listes = new ArrayList<>();
+        List<Integer> largeurs = new ArrayList<>();
+        long bits = 0;
+        for (int j = 0; j < 3000; j++) {
+            // beaucoup de listes courtes, quelques longues ; k = 0 et listes vides régulièrement
+            int n = switch (j % 10) {
+                case 0 -> 0;
+                case 1 -> 1;
+                case 9 -> 500 + r.nextInt(1500);
+                default -> r.nextInt(70);
+            };
+            int k = j % 7 == 0 ? 0 : r.nextInt(32);
+            int[] t = liste(r, n, k);
+            assertEquals(j, a.add(t));
+            listes.add(t);
+            largeurs.add(n == 0 ? 0 : k);
+            bits += ((long) n * (n == 0 ? 0 : k) + 31) / 32 * 32;
+        }
+        assertEquals(bits / 8, a.compressedSizeBytes());
+        assertEquals(8L * listes.size(), a.directorySizeBytes());
+        verifier(a, listes, largeurs, "avant trimToSize");
+        a.trimToSize();
+        verifier(a, listes, largeurs, "après trimToSize");
+
+        // ajouts après trimToSize : l'arène doit se ré-agrandir ; une liste vide en dernier
+        int[] t = liste(r, 1000, 31);
+        assertEquals(listes.size(), a.add(t));
+        listes.add(t);
+        largeurs.add(31);
+        assertEquals(listes.size(), a.add(new int[0]));
+        listes.add(new int[0]);
+        largeurs.add(0);
+        a.trimToSize();
+        verifier(a, listes, largeurs, "fin");
+    }
+
+    // add(valeurs, off, len) ne lit que la plage donnée ; listes de zéros (k = 0, aucun mot)
+    @Test
+    void plagesEtZeros() {
+        BitPacking.PackedListArena a = new BitPacking.PackedListArena();
+        int[] t = { 9, 1, 2, 3, 1 << 30 };
+        int id = a.add(t, 1, 3);
+        assertEquals(2, a.getK(id));
+        assertArrayEquals(new int[] { 1, 2, 3 }, a.toArray(id));
+
+        long avant = a.compressedSizeBytes();
+        int zeros = a.add(new int[5000]);
+        assertEquals(avant, a.compressedSizeBytes());
+        assertEquals(0, a.getK(zeros));
+        assertEquals(0, a.get(zeros, 4999));
+        int[] dst = new int[5000];
+        Arrays.fill(dst, 1);
+        a.decompress(zeros, dst);
+        assertArrayEquals(new int[5000], dst);
+        // la liste suivante commence au même mot que la liste de zéros
+        int apres = a.add(new int[] { 7, 7 });
+        assertArrayEquals(new int[] { 7, 7 }, a.toArray(apres));
+        assertArrayEquals(new int[] { 1, 2, 3 }, a.toArray(id));
+    }
+
+    @Test
+    void entreesRefusees() {
+        BitPacking.PackedListArena a = new BitPacking.PackedListArena();
+        assertThrows(IllegalArgumentException.class, () -> a.add(new int[] { 1, -1 }));
+        assertThrows(IndexOutOfBoundsException.class, () -> a.add(new int[3], 2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> a.add(new int[3], -1, 1));
+        assertEquals(0, a.size());
+        int id = a.add(new int[] { 1, 2, 3 });
+        assertThrows(IllegalArgumentException.class, () -> a.decompress(id, new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> a.decompress(id, new int[4], 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> a.toArray(1));
+    }
+}
@@ -0,0 +1,147 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+// PackedSpliterator : découpages récursifs (coupures à un multiple de splitAlignment(), tailles estimées
+// exactes, valeurs de chaque morceau dans l'ordre), découpage après une lecture partielle, et
+// stream().parallel().sum() égal à la somme séquentielle pour chaque format.
+class PackedSpliteratorTest {
+    private static final int N = 5 * BitPacking.PackedSpliterator.SPLIT_MIN + 1234;
+
+    private static int[] valeurs(Random r, int n, int k) {
+        int[] t = new int[n];
+        int masque = (int) ((1L << k) - 1);
+        for (int i = 0; i < n; i++) t[i] = r.nextInt() & masque;
+        // quelques grandes valeurs : débordements pour OVERFLOW, exceptions pour PFOR
+        for (int i = 0; i < n; i += 997) t[i] = r.nextInt(Integer.MAX_VALUE);
+        return t;
+    }
+
+    // découpe s (qui commence à debut) jusqu'au bout, vérifie chaque coupure et range les valeurs lues
+    // dans vus ; renvoie le nombre de morceaux
+    private static int decouper(Spliterator.OfInt s, long debut, int alignement, int[] vus, String cas) {
+        long taille = s.estimateSize();
+        Spliterator.OfInt prefixe = s.trySplit();
+        if (prefixe == null) {
+            assertTrue(taille < 2 * BitPacking.PackedSpliterator.SPLIT_MIN + alignement, cas + " découpage refusé à " + taille);
+            int[] pos = { (int) debut };
+            s.forEachRemaining((int v) -> vus[pos[0]++] = v);
+            assertEquals(debut + taille, pos[0], cas);
+            return 1;
+        }
+        long coupure = debut + prefixe.estimateSize();
+        assertEquals(0, coupure % alignement, cas + " coupure " + coupure);
+        assertEquals(taille, prefixe.estimateSize() + s.estimateSize(), cas);
+        assertTrue(prefixe.hasCharacteristics(Spliterator.SUBSIZED), cas);
+        return decouper(prefixe, debut, alignement, vus, cas) + decouper(s, coupure, alignement, vus, cas);
+    }
+
+    private static void verifier(BitPacking.BitPacker p, int[] t, String cas) {
+        Spliterator.OfInt s = p.spliterator();
+        assertEquals(t.length, s.estimateSize(), cas);
+        assertEquals(t.length, s.getExactSizeIfKnown(), cas);
+        assertTrue(s.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED), cas);
+        int[] vus = new int[t.length];
+        int morceaux = decouper(s, 0, p.splitAlignment(), vus, cas);
+        assertTrue(morceaux >= 4, cas + " : " + morceaux + " morceaux");
+        assertArrayEquals(t, vus, cas);
+
+        long attendu = 0;
+        for (int v : t) attendu += v;
+        assertEquals(attendu, p.stream().asLongStream().sum(), cas + " séquentiel");
+        // pool de 4 threads même sur une machine à un seul CPU
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long parallele = pool.submit(() -> p.stream().parallel().asLongStream().sum()).join();
+            assertEquals(attendu, parallele, cas + " parallèle");
+            assertArrayEquals(t, pool.submit(() -> p.stream().parallel().toArray()).join(), cas + " parallèle ordonné");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void chaqueFormat() {
+        Random r = new Random(18);
+        for (BitPacking.BitPackerFactory.Type type : BitPacking.BitPackerFactory.Type.values()) {
+            if (type == BitPacking.BitPackerFactory.Type.DELTA || type == BitPacking.BitPackerFactory.Type.ZIGZAG
+                    || type == BitPacking.BitPackerFactory.Type.FOR) {
+                continue;
+            }
+            for (int k : new int[] { 0, 3, 13 }) {
+                int[] t = valeurs(r, N, k);
+                boolean exceptions = type == BitPacking.BitPackerFactory.Type.OVERFLOW
+                        || type == BitPacking.BitPackerFactory.Type.PFOR;
+                if (!exceptions) {
+                    for (int i = 0; i < N; i += 997) t[i] &= (int) ((1L << k) - 1);
+                }
+                BitPacking.BitPacker p = BitPacking.BitPackerFactory.create(type);
+                p.compress(t);
+                verifier(p, t, type + " k=" + k);
+            }
+        }
+    }
+
+    // les transformations (DELTA, FOR, ZIGZAG) acceptent des valeurs triées ou signées
+    @Test
+    void transformations() {
+        Random r = new Random(19);
+        int[] t = new int[N];
+        for (int i = 1; i < N; i++) t[i] = t[i - 1] + r.nextInt(50);
+        for (BitPacking.TransformBitPacker.Mode mode : BitPacking.TransformBitPacker.Mode.values()) {
+            BitPacking.TransformBitPacker p = new BitPacking.TransformBitPacker(mode);
+            p.compress(t);
+            verifier(p, t, mode.toString());
+        }
+    }
+
+    // découpage après quelques tryAdvance : le tampon déjà rempli ne doit pas resservir pour la suite
+    @Test
+    void decoupageApresLecturePartielle() {
+        int[] t = valeurs(new Random(20), N, 9);
+        for (int i = 0; i < N; i += 997) t[i] &= 511;
+        BitPacking.CrossBitPacker p = new BitPacking.CrossBitPacker();
+        p.compress(t);
+        Spliterator.OfInt s = p.spliterator();
+        int[] vus = new int[N];
+        int[] pos = { 0 };
+        for (int j = 0; j < 1500; j++) assertTrue(s.tryAdvance((int v) -> vus[pos[0]++] = v));
+        Spliterator.OfInt prefixe = s.trySplit();
+        long coupure = 1500 + prefixe.estimateSize();
+        assertEquals(0, coupure % p.splitAlignment());
+        assertEquals(N - 1500, prefixe.estimateSize() + s.estimateSize());
+        prefixe.forEachRemaining((int v) -> vus[pos[0]++] = v);
+        assertEquals(coupure, pos[0]);
+        // un tryAdvance puis le reste : les deux chemins de lecture
+        assertTrue(s.tryAdvance((int v) -> vus[pos[0]++] = v));
+        s.forEachRemaining((int v) -> vus[pos[0]++] = v);
+        assertEquals(N, pos[0]);
+        assertArrayEquals(t, vus);
+        assertEquals(0, s.estimateSize());
+        assertTrue(!s.tryAdvance((int v) -> { }));
+        assertNull(s.trySplit());
+    }
+
+    // trop peu de valeurs pour deux morceaux de SPLIT_MIN : pas de découpage
+    @Test
+    void petitParcoursNonDecoupe() {
+        int[] t = new int[2 * BitPacking.PackedSpliterator.SPLIT_MIN - 1];
+        Arrays.setAll(t, i -> i & 1023);
+        BitPacking.NoCrossBitPacker p = new BitPacking.NoCrossBitPacker();
+        p.compress(t);
+        assertNull(p.spliterator().trySplit());
+        assertEquals(Arrays.stream(t).asLongStream().sum(), p.stream().parallel().asLongStream().sum());
+        BitPacking.CrossBitPacker vide = new BitPacking.CrossBitPacker();
+        vide.compress(new int[0]);
+        assertEquals(0, vide.spliterator().estimateSize());
+        assertEquals(0, vide.stream().parallel().count());
+    }
+}
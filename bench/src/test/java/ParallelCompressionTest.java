@@ -0,0 +1,124 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+// compressParallel doit produire exactement les mêmes mots (et la même taille) que compress,
+// pour des longueurs autour du seuil parallèle et des limites de tranche, avec des débordements
+// placés de part et d'autre de ces limites pour OverflowBitPacker.
+class ParallelCompressionTest {
+    private static final int[] PARALLELISMES = { 1, 3, 4, 7 };
+    private static ForkJoinPool[] pools;
+
+    @BeforeAll
+    static void creerPools() {
+        pools = new ForkJoinPool[PARALLELISMES.length];
+        for (int j = 0; j < pools.length; j++) pools[j] = new ForkJoinPool(PARALLELISMES[j]);
+    }
+
+    @AfterAll
+    static void arreterPools() {
+        for (ForkJoinPool p : pools) p.shutdownNow();
+    }
+
+    // longueurs autour du seuil, et autour d'un multiple de la taille de tranche pour chaque pool
+    private static int[] longueurs(ForkJoinPool pool, int alignement) {
+        int s = BitPacking.SEUIL_PARALLELE;
+        int t = BitPacking.tailleTranche(pool, 3 * s, alignement);
+        int m = t * BitPacking.nbTranches(3 * s, t);
+        return new int[] { 1000, s - 1, s, s + 1, s + 31, m - 1, m, m + 1, 3 * s + 17 };
+    }
+
+    private static int[] valeurs(Random r, int n, int k) {
+        int[] t = new int[n];
+        int masque = (int) ((1L << k) - 1);
+        for (int i = 0; i < n; i++) t[i] = r.nextInt() & masque;
+        if (n > 0) t[n - 1] = masque;
+        return t;
+    }
+
+    private static int[] mots(int[] tableau, int nbMots) {
+        return Arrays.copyOf(tableau, nbMots);
+    }
+
+    @Test
+    void crossEtNoCross() {
+        Random r = new Random(6);
+        for (ForkJoinPool pool : pools) {
+            for (int k : new int[] { 0, 1, 5, 13, 16, 31 }) {
+                for (int n : longueurs(pool, 32)) {
+                    int[] t = valeurs(r, n, k);
+                    String cas = "k=" + k + " n=" + n + " threads=" + pool.getParallelism();
+
+                    BitPacking.CrossBitPacker seq = new BitPacking.CrossBitPacker();
+                    seq.compress(t);
+                    BitPacking.CrossBitPacker par = new BitPacking.CrossBitPacker();
+                    par.compressParallel(t, pool);
+                    assertEquals(seq.getK(), par.getK(), "CROSS " + cas);
+                    assertEquals(seq.compressedSizeBytes(), par.compressedSizeBytes(), "CROSS " + cas);
+                    assertArrayEquals(mots(seq.getPacked(), seq.getPackedWordCount()),
+                            mots(par.getPacked(), par.getPackedWordCount()), "CROSS " + cas);
+
+                    BitPacking.NoCrossBitPacker seqN = new BitPacking.NoCrossBitPacker();
+                    seqN.compress(t);
+                    BitPacking.NoCrossBitPacker parN = new BitPacking.NoCrossBitPacker();
+                    parN.compressParallel(t, pool);
+                    assertEquals(seqN.getK(), parN.getK(), "NOCROSS " + cas);
+                    assertEquals(seqN.compressedSizeBytes(), parN.compressedSizeBytes(), "NOCROSS " + cas);
+                    assertArrayEquals(mots(seqN.getPacked(), seqN.getPackedWordCount()),
+                            mots(parN.getPacked(), parN.getPackedWordCount()), "NOCROSS " + cas);
+                }
+            }
+        }
+    }
+
+    // débordements juste avant, sur et juste après chaque limite de tranche, plus quelques-uns au hasard
+    @Test
+    void overflowDebordementsAuxLimites() {
+        Random r = new Random(7);
+        for (ForkJoinPool pool : pools) {
+            for (int n : longueurs(pool, 32)) {
+                int[] t = valeurs(r, n, 4);
+                int tranche = BitPacking.tailleTranche(pool, n, 32);
+                for (int debut = 0; debut < n; debut += tranche) {
+                    for (int i = Math.max(0, debut - 1); i <= Math.min(n - 1, debut + 1); i++) {
+                        t[i] = 1 << 20 | r.nextInt(1 << 20);
+                    }
+                }
+                for (int j = 0; j < n / 500; j++) t[r.nextInt(n)] = r.nextInt(Integer.MAX_VALUE);
+                t[n - 1] = Integer.MAX_VALUE;
+                String cas = "n=" + n + " tranche=" + tranche + " threads=" + pool.getParallelism();
+
+                BitPacking.OverflowBitPacker seq = new BitPacking.OverflowBitPacker();
+                seq.compress(t);
+                BitPacking.OverflowBitPacker par = new BitPacking.OverflowBitPacker();
+                par.compressParallel(t, pool);
+                assertEquals(seq.getSmallK(), par.getSmallK(), cas);
+                assertEquals(seq.getFieldBits(), par.getFieldBits(), cas);
+                assertEquals(seq.getOverflowCount(), par.getOverflowCount(), cas);
+                assertEquals(seq.compressedSizeBytes(), par.compressedSizeBytes(), cas);
+                assertArrayEquals(mots(seq.getPackedFields(), seq.getPackedWordCount()),
+                        mots(par.getPackedFields(), par.getPackedWordCount()), cas + " champs");
+                assertArrayEquals(mots(seq.getOverflowValues(), seq.getOverflowCount()),
+                        mots(par.getOverflowValues(), par.getOverflowCount()), cas + " débordements");
+                for (int i = 0; i < n; i += 97) assertEquals(t[i], par.get(i), cas);
+                assertEquals(t[n - 1], par.get(n - 1), cas);
+            }
+        }
+    }
+
+    @Test
+    void valeurNegativeRefusee() {
+        int[] t = new int[3 * BitPacking.SEUIL_PARALLELE];
+        t[t.length - 5] = -1;
+        assertThrows(IllegalArgumentException.class, () -> new BitPacking.CrossBitPacker().compressParallel(t, pools[2]));
+        assertThrows(IllegalArgumentException.class, () -> new BitPacking.NoCrossBitPacker().compressParallel(t, pools[2]));
+    }
+}
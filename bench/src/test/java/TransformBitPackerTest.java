@@ -0,0 +1,157 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// TransformBitPacker (DELTA, FOR, ZIGZAG) : valeurs négatives, écarts qui débordent d'un int autour de
+// Integer.MIN_VALUE / MAX_VALUE, get(i) sur et autour de chaque repère DELTA (toutes les PAS_DELTA positions),
+// plages qui commencent ou finissent près des repères et des blocs FOR, longueurs non multiples de TAILLE_BLOC.
+class TransformBitPackerTest {
+    private static final int PAS = BitPacking.TransformBitPacker.PAS_DELTA;
+    private static final int BLOC = BitPacking.TransformBitPacker.TAILLE_BLOC;
+    private static final int[] LONGUEURS = { 0, 1, PAS - 1, PAS, PAS + 1, BLOC - 1, BLOC + 1, 3 * BLOC + PAS + 5, 1000 };
+
+    private static void verifier(int[] t, String cas) {
+        for (BitPacking.TransformBitPacker.Mode mode : BitPacking.TransformBitPacker.Mode.values()) {
+            BitPacking.TransformBitPacker p = new BitPacking.TransformBitPacker(mode);
+            p.compress(t);
+            String c = mode + " " + cas + " n=" + t.length;
+            assertEquals(t.length, p.length(), c);
+            for (int i = 0; i < t.length; i++) assertEquals(t[i], p.get(i), c + " get(" + i + ")");
+            int[] tout = new int[t.length];
+            p.decompress(tout);
+            assertArrayEquals(t, tout, c + " decompress");
+            for (int[] pl : plages(t.length)) {
+                int[] out = new int[pl[1] + 3];
+                p.getRange(pl[0], pl[1], out);
+                assertArrayEquals(Arrays.copyOfRange(t, pl[0], pl[0] + pl[1]), Arrays.copyOf(out, pl[1]),
+                        c + " getRange(" + pl[0] + ", " + pl[1] + ")");
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> p.get(t.length), c);
+            assertThrows(IndexOutOfBoundsException.class, () -> p.get(-1), c);
+        }
+    }
+
+    // plages qui commencent sur, juste avant et juste après un repère ou un début de bloc, courtes ou longues
+    private static List<int[]> plages(int n) {
+        List<int[]> p = new ArrayList<>();
+        for (int r = 0; r <= n; r += PAS) {
+            for (int debut = Math.max(0, r - 1); debut <= Math.min(n, r + 1); debut++) {
+                for (int len : new int[] { 0, 1, 2, PAS - 1, PAS, PAS + 2, BLOC + 3 }) {
+                    if (debut + len <= n) p.add(new int[] { debut, len });
+                }
+                p.add(new int[] { debut, n - debut });
+            }
+        }
+        return p;
+    }
+
+    @Test
+    void valeursNegatives() {
+        Random r = new Random(9);
+        for (int n : LONGUEURS) {
+            int[] petits = new int[n];
+            for (int i = 0; i < n; i++) petits[i] = r.nextInt(201) - 100;
+            verifier(petits, "petits négatifs");
+
+            int[] negatifs = new int[n];
+            for (int i = 0; i < n; i++) negatifs[i] = -1 - r.nextInt(1 << 20);
+            verifier(negatifs, "tous négatifs");
+
+            // suite décroissante : écarts tous négatifs (DELTA en zigzag)
+            int[] decroissante = new int[n];
+            for (int i = 0; i < n; i++) decroissante[i] = 5000 - 7 * i - r.nextInt(3);
+            verifier(decroissante, "décroissante");
+
+            int[] quelconques = new int[n];
+            for (int i = 0; i < n; i++) quelconques[i] = r.nextInt();
+            verifier(quelconques, "quelconques");
+        }
+    }
+
+    // écarts de MIN à MAX et de MAX à MIN : la différence déborde, seule l'arithmétique modulo 2^32 la rend
+    @Test
+    void ecartsQuiDebordent() {
+        Random r = new Random(10);
+        int[] extremes = { Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0, 1, Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1 };
+        for (int n : LONGUEURS) {
+            int[] alternes = new int[n];
+            for (int i = 0; i < n; i++) alternes[i] = i % 2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            verifier(alternes, "MIN / MAX alternés");
+
+            int[] melanges = new int[n];
+            for (int i = 0; i < n; i++) melanges[i] = extremes[r.nextInt(extremes.length)];
+            verifier(melanges, "extrêmes mélangés");
+
+            // croissante (écarts positifs, sans zigzag) avec un seul saut de MIN à MAX
+            int[] saut = new int[n];
+            for (int i = 0; i < n; i++) saut[i] = i < n / 2 ? Integer.MIN_VALUE + i : Integer.MAX_VALUE - n + i;
+            verifier(saut, "saut MIN vers MAX");
+
+            // croissante puis un seul écart négatif qui déborde (MAX puis MIN)
+            int[] retour = new int[n];
+            for (int i = 0; i < n; i++) retour[i] = i < n / 2 ? Integer.MAX_VALUE - n / 2 + i + 1 : Integer.MIN_VALUE + i;
+            verifier(retour, "saut MAX vers MIN");
+        }
+    }
+
+    // valeurs triées : largeur réduite aux écarts, repère juste avant / sur / après chaque multiple de PAS_DELTA
+    @Test
+    void autourDesReperesDelta() {
+        Random r = new Random(11);
+        int n = 20 * PAS + 13;
+        int[] t = new int[n];
+        t[0] = -1_000_000;
+        for (int i = 1; i < n; i++) t[i] = t[i - 1] + r.nextInt(16);
+        BitPacking.TransformBitPacker p = new BitPacking.TransformBitPacker(BitPacking.TransformBitPacker.Mode.DELTA);
+        p.compress(t);
+        assertEquals(4, p.getK());
+        for (int m = 0; m <= n; m += PAS) {
+            for (int i = m - 2; i <= m + 2; i++) {
+                if (i >= 0 && i < n) assertEquals(t[i], p.get(i), "get(" + i + ")");
+            }
+        }
+        verifier(t, "triées");
+
+        // écart maximal juste avant un repère, et premier écart après un repère
+        for (int m = PAS; m < n; m += PAS) t[m - 1] += 1 << 20;
+        for (int i = 1; i < n; i++) if (t[i] < t[i - 1]) t[i] = t[i - 1];
+        verifier(t, "grands écarts avant les repères");
+    }
+
+    // FOR : base par bloc de TAILLE_BLOC, dont un dernier bloc incomplet avec un minimum négatif
+    @Test
+    void blocsFor() {
+        Random r = new Random(12);
+        int n = 3 * BLOC + 17;
+        int[] t = new int[n];
+        for (int i = 0; i < n; i++) t[i] = 1_000_000 * (i / BLOC) + r.nextInt(64);
+        t[n - 1] = -5;
+        BitPacking.TransformBitPacker p = new BitPacking.TransformBitPacker(BitPacking.TransformBitPacker.Mode.FOR);
+        p.compress(t);
+        // les trois blocs complets tiennent sur 6 bits, le dernier (de -5 à 3 000 063) en impose 22
+        assertEquals(22, p.getK());
+        verifier(t, "FOR par bloc");
+    }
+
+    @Test
+    void zeros() {
+        for (int n : LONGUEURS) {
+            int[] t = new int[n];
+            for (BitPacking.TransformBitPacker.Mode mode : BitPacking.TransformBitPacker.Mode.values()) {
+                BitPacking.TransformBitPacker p = new BitPacking.TransformBitPacker(mode);
+                p.compress(t);
+                assertEquals(0, p.getK(), mode + " n=" + n);
+            }
+            verifier(t, "zéros");
+            Arrays.fill(t, -42);
+            verifier(t, "constante négative");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Noyaux déroulés de Unpack32 (générés par bench/tools/GenUnpack32.java) et décompression en bloc de
+// CrossBitPacker / NoCrossBitPacker, comparés à une extraction bit à bit pour chaque largeur k.
+class Unpack32Test {
+    // longueurs autour des groupes de 32 valeurs, débuts et décalages de destination non nuls
+    private static final int[] LONGUEURS = { 0, 1, 31, 32, 33, 63, 65, 100, 1031 };
+    private static final int[] DEBUTS = { 0, 1, 5, 31, 32, 33, 70 };
+    private static final int[] DECALAGES = { 0, 3 };
+
+    private static int[] valeurs(Random r, int n, int k) {
+        int[] t = new int[n];
+        int masque = (int) ((1L << k) - 1);
+        for (int i = 0; i < n; i++) t[i] = r.nextInt() & masque;
+        return t;
+    }
+
+    // référence : valeurs de k bits collées les unes aux autres, à partir du bit 0 du mot motDebut
+    private static int[] emballer(int[] v, int k, int motDebut) {
+        int[] mots = new int[motDebut + (int) (((long) v.length * k + 31) / 32) + 1];
+        for (int i = 0; i < v.length; i++) {
+            for (int b = 0; b < k; b++) {
+                if ((v[i] >>> b & 1) != 0) {
+                    long bit = 32L * motDebut + (long) i * k + b;
+                    mots[(int) (bit >>> 5)] |= 1 << (bit & 31);
+                }
+            }
+        }
+        return mots;
+    }
+
+    @Test
+    void groupesPourChaqueK() {
+        Random r = new Random(1);
+        for (int k = 1; k <= 32; k++) {
+            for (int motDebut : new int[] { 0, 7 }) {
+                int[] v = valeurs(r, 32 * 5, k);
+                int[] mots = emballer(v, k, motDebut);
+                int[] dst = new int[v.length + 4];
+                Unpack32.groupes(mots, motDebut, k, dst, 4, 5);
+                for (int i = 0; i < v.length; i++) assertEquals(v[i], dst[4 + i], "k=" + k + " i=" + i);
+            }
+        }
+    }
+
+    @Test
+    void unpackPourChaqueK() {
+        Random r = new Random(2);
+        for (int k = 0; k <= 32; k++) {
+            int[] v = valeurs(r, 1200, k);
+            for (int motDebut : new int[] { 0, 3 }) {
+                int[] mots = emballer(v, k, motDebut);
+                for (int debut : DEBUTS) {
+                    for (int len : LONGUEURS) {
+                        if (debut + len > v.length) continue;
+                        for (int off : DECALAGES) {
+                            int[] dst = new int[off + len];
+                            BitPacking.unpack(mots, motDebut, k, debut, dst, off, len);
+                            for (int j = 0; j < len; j++) {
+                                assertEquals(v[debut + j], dst[off + j],
+                                        "k=" + k + " mot=" + motDebut + " debut=" + debut + " len=" + len + " j=" + j);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // decompress et getRange rendent les mêmes valeurs que get(i)
+    private static void verifierPacker(BitPacking.BitPacker p, int[] v, String cas) {
+        for (int i = 0; i < v.length; i++) assertEquals(v[i], p.get(i), cas + " get(" + i + ")");
+        int[] tout = new int[v.length];
+        p.decompress(tout);
+        assertArrayEquals(v, tout, cas + " decompress");
+        for (int debut : DEBUTS) {
+            for (int len : LONGUEURS) {
+                if (debut + len > v.length) continue;
+                int[] out = new int[len + 2];
+                p.getRange(debut, len, out);
+                for (int j = 0; j < len; j++) assertEquals(p.get(debut + j), out[j], cas + " getRange(" + debut + ", " + len + ")");
+            }
+        }
+    }
+
+    @Test
+    void crossEtNoCrossPourChaqueK() {
+        Random r = new Random(3);
+        for (int k = 0; k <= 31; k++) {
+            for (int n : LONGUEURS) {
+                if (n == 0) continue;
+                int[] v = valeurs(r, n, k);
+                // la dernière valeur fixe la largeur
+                v[n - 1] = (int) ((1L << k) - 1);
+                BitPacking.CrossBitPacker cross = new BitPacking.CrossBitPacker();
+                cross.compress(v);
+                assertEquals(k, cross.getK());
+                verifierPacker(cross, v, "CROSS k=" + k + " n=" + n);
+                BitPacking.NoCrossBitPacker noCross = new BitPacking.NoCrossBitPacker();
+                noCross.compress(v);
+                verifierPacker(noCross, v, "NOCROSS k=" + k + " n=" + n);
+            }
+        }
+    }
+}
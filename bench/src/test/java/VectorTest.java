@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Type VECTOR : noyaux SIMD (VectorBitPacker) comparés mot pour mot au code scalaire d'InterleavedBitPacker,
+// et choix de choose(..., FASTEST_DECODE). Lancé deux fois par surefire : avec --add-modules jdk.incubator.vector
+// (noyaux SIMD si le processeur a des vecteurs de 256 bits) et sans le module (-Dbitpacking.sansVector=true),
+// où BitPackerFactory doit revenir au code scalaire.
+class VectorTest {
+    private static final int BLOC = BitPacking.InterleavedBitPacker.BLOC;
+    private static final int[] LONGUEURS = { 0, 1, 7, BLOC - 1, BLOC, BLOC + 1, 3 * BLOC + 17, 5000 };
+
+    private static boolean moduleVector() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    private static boolean simd() {
+        return BitPacking.BitPackerFactory.createVector().getClass() != BitPacking.InterleavedBitPacker.class;
+    }
+
+    private static int[] valeurs(Random r, int n, int k) {
+        int[] t = new int[n];
+        int masque = (int) ((1L << k) - 1);
+        for (int i = 0; i < n; i++) t[i] = r.nextInt() & masque;
+        if (n > 0) t[r.nextInt(n)] = masque;
+        return t;
+    }
+
+    @Test
+    void moduleSelonLExecution() {
+        if (Boolean.getBoolean("bitpacking.sansVector")) {
+            assertFalse(moduleVector(), "l'exécution sans module a chargé jdk.incubator.vector");
+            assertFalse(simd(), "sans le module, VECTOR doit revenir au code scalaire");
+        } else {
+            assertTrue(moduleVector(), "argLine de surefire sans --add-modules jdk.incubator.vector");
+        }
+        if (!moduleVector()) assertSame(BitPacking.InterleavedBitPacker.class,
+                BitPacking.BitPackerFactory.create(BitPacking.BitPackerFactory.Type.VECTOR).getClass());
+    }
+
+    // mêmes mots, mêmes valeurs, que l'un ou l'autre soit SIMD
+    @Test
+    void scalaireEtVecteurIdentiques() {
+        Random r = new Random(2);
+        for (int k = 0; k <= 31; k++) {
+            for (int n : LONGUEURS) {
+                int[] t = valeurs(r, n, k);
+                String cas = "k=" + k + " n=" + n + (simd() ? " (SIMD)" : " (scalaire)");
+                BitPacking.InterleavedBitPacker scalaire = new BitPacking.InterleavedBitPacker();
+                scalaire.compress(t);
+                BitPacking.InterleavedBitPacker vecteur = BitPacking.BitPackerFactory.createVector();
+                vecteur.compress(t);
+                assertEquals(n == 0 ? 0 : k, vecteur.getK(), cas);
+                assertEquals(scalaire.getPackedWordCount(), vecteur.getPackedWordCount(), cas);
+                assertArrayEquals(Arrays.copyOf(scalaire.getPacked(), scalaire.getPackedWordCount()),
+                        Arrays.copyOf(vecteur.getPacked(), vecteur.getPackedWordCount()), cas + " mots");
+
+                int[] tout = new int[n];
+                vecteur.decompress(tout);
+                assertArrayEquals(t, tout, cas + " decompress");
+                scalaire.decompress(tout);
+                assertArrayEquals(t, tout, cas + " decompress scalaire");
+                for (int i = 0; i < n; i += 13) assertEquals(t[i], vecteur.get(i), cas + " get(" + i + ")");
+                // plages qui commencent et finissent au milieu d'un bloc
+                if (n > BLOC + 10) {
+                    int[] out = new int[n - 10];
+                    vecteur.getRange(5, n - 10, out);
+                    assertArrayEquals(Arrays.copyOfRange(t, 5, n - 5), out, cas + " getRange");
+                }
+            }
+        }
+    }
+
+    // FASTEST_DECODE : VECTOR dès qu'il y a assez de blocs pleins si les noyaux SIMD sont chargés, jamais sinon
+    @Test
+    void choixPourDecompression() {
+        Random r = new Random(3);
+        for (int k : new int[] { 1, 5, 13, 20, 31 }) {
+            for (int n : new int[] { 10_000, 100_000 }) {
+                int[] t = valeurs(r, n, k);
+                String cas = "k=" + k + " n=" + n;
+                BitPacking.BitPackerFactory.Decision d = BitPacking.BitPackerFactory.choose(t,
+                        BitPacking.BitPackerFactory.Goal.FASTEST_DECODE);
+                if (simd()) {
+                    assertEquals(BitPacking.BitPackerFactory.Type.VECTOR, d.getType(), cas + " : " + d);
+                } else {
+                    assertNotEquals(BitPacking.BitPackerFactory.Type.VECTOR, d.getType(), cas + " : " + d);
+                }
+                // get(i) : la disposition entrelacée n'est jamais la plus rapide
+                assertNotEquals(BitPacking.BitPackerFactory.Type.VECTOR, BitPacking.BitPackerFactory.choose(t,
+                        BitPacking.BitPackerFactory.Goal.FASTEST_GET).getType(), cas);
+            }
+        }
+    }
+}
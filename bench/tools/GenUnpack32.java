@@ -0,0 +1,80 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Génère "version 1/Unpack32.java" (noyaux de décompression déroulés, une méthode par largeur k).
+// Depuis la racine du dépôt :
+//     java -Dfile.encoding=UTF-8 bench/tools/GenUnpack32.java "version 1/Unpack32.java"
+// Le fichier généré ne se modifie pas à la main : on change ce générateur puis on relance la commande.
+// Les noyaux sont vérifiés par bench/src/test/java/Unpack32Test.java (mvn -B test dans bench).
+public class GenUnpack32 {
+    private static final StringBuilder out = new StringBuilder();
+
+    private static void p(String ligne) {
+        out.append(ligne).append('\n');
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage : java GenUnpack32.java <fichier de sortie>");
+            System.exit(2);
+        }
+        p("// Fichier généré par bench/tools/GenUnpack32.java : ne pas modifier à la main.");
+        p("// Noyaux de décompression déroulés pour BitPacking.unpack : une méthode par largeur k (1..31),");
+        p("// chaque groupe de 32 valeurs alignées occupe exactement k mots, lus une seule fois,");
+        p("// avec des décalages et des masques constants (pas de test de débordement par valeur).");
+        p("// k = 32 est une simple copie, k = 0 est traité par l'appelant.");
+        p("final class Unpack32 {");
+        p("    private Unpack32() {}");
+        p("");
+        p("    // décode nbGroupes groupes de 32 valeurs : src[mot..] vers dst[off..]");
+        p("    static void groupes(int[] src, int mot, int k, int[] dst, int off, int nbGroupes) {");
+        p("        switch (k) {");
+        for (int k = 1; k < 32; k++) {
+            p("            case " + k + " -> k" + k + "(src, mot, dst, off, nbGroupes);");
+        }
+        p("            case 32 -> System.arraycopy(src, mot, dst, off, 32 * nbGroupes);");
+        p("            default -> throw new IllegalArgumentException(\"k doit être entre 1 et 32 : \" + k);");
+        p("        }");
+        p("    }");
+        for (int k = 1; k < 32; k++) noyau(k);
+        p("}");
+        Files.writeString(Path.of(args[0]), out, StandardCharsets.UTF_8);
+    }
+
+    // corps déroulé pour la largeur k : chaque mot du groupe est lu une fois dans une variable locale
+    private static void noyau(int k) {
+        String masque = String.format("0x%X", (1L << k) - 1);
+        boolean[] lu = new boolean[k + 1];
+        p("");
+        p("    private static void k" + k + "(int[] s, int m, int[] d, int o, int nb) {");
+        p("        for (int g = 0; g < nb; g++, m += " + k + ", o += 32) {");
+        for (int j = 0; j < 32; j++) {
+            int b = j * k;
+            int x = b >>> 5;
+            int sh = b & 31;
+            String a = mot(lu, x);
+            String e;
+            if (sh + k <= 32) {
+                e = sh == 0 ? a : a + " >>> " + sh;
+                if (sh + k < 32) e = sh != 0 ? "(" + e + ") & " + masque : e + " & " + masque;
+            } else {
+                String c = mot(lu, x + 1);
+                e = "(" + a + " >>> " + sh + " | " + c + " << " + (32 - sh) + ") & " + masque;
+            }
+            p(j == 0 ? "            d[o] = " + e + ";" : "            d[o + " + j + "] = " + e + ";");
+        }
+        p("        }");
+        p("    }");
+    }
+
+    // nom de la variable du mot x, déclarée à sa première utilisation
+    private static String mot(boolean[] lu, int x) {
+        if (!lu[x]) {
+            lu[x] = true;
+            p(x == 0 ? "            int w0 = s[m];" : "            int w" + x + " = s[m + " + x + "];");
+        }
+        return "w" + x;
+    }
+}
@@ -0,0 +1,4505 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongToIntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+public class BitPacking {
+
+    public interface BitPacker {
+        void compress(int[] input);
+        void decompress(int[] out);
+        int get(int i);
+        int length();
+        // taille des données compressées en octets (mots packés et zones annexes, hors champs de l'objet)
+        long compressedSizeBytes();
+
+        // lecture groupée : out[j] = get(indices[j])
+        default void get(int[] indices, int[] out) {
+            if (out.length < indices.length) throw new IllegalArgumentException("tableau de sortie trop petit");
+            for (int j = 0; j < indices.length; j++) {
+                out[j] = get(indices[j]);
+            }
+        }
+
+        // lecture d'une plage : out[j] = get(from + j) pour 0 <= j < len
+        default void getRange(int from, int len, int[] out) {
+            if (from < 0 || len < 0 || from > length() - len) throw new IndexOutOfBoundsException();
+            if (out.length < len) throw new IllegalArgumentException("tableau de sortie trop petit");
+            for (int j = 0; j < len; j++) {
+                out[j] = get(from + j);
+            }
+        }
+
+        // compression sur plusieurs threads, résultat identique bit à bit à compress(input)
+        default void compressParallel(int[] input, ForkJoinPool pool) {
+            compress(input);
+        }
+
+        default void compressParallel(int[] input) {
+            compressParallel(input, ForkJoinPool.commonPool());
+        }
+
+        // ---- agrégats sans décompression complète ----
+        // les versions par défaut lisent des paquets de TAILLE_PARCOURS valeurs avec getRange (pas de tableau de n int),
+        // NoCross et Overflow les remplacent par des parcours directs des mots packés
+
+        // somme des valeurs from..to-1
+        default long sum(int from, int to) {
+            verifierPlage(from, to, length());
+            int[] tampon = new int[TAILLE_PARCOURS];
+            long s = 0;
+            for (int i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, to - i);
+                getRange(i, len, tampon);
+                for (int j = 0; j < len; j++) s += tampon[j];
+            }
+            return s;
+        }
+
+        // plus petite valeur de from..to-1 (plage non vide)
+        default int min(int from, int to) {
+            verifierPlageNonVide(from, to, length());
+            int[] tampon = new int[TAILLE_PARCOURS];
+            int m = Integer.MAX_VALUE;
+            for (int i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, to - i);
+                getRange(i, len, tampon);
+                for (int j = 0; j < len; j++) m = Math.min(m, tampon[j]);
+            }
+            return m;
+        }
+
+        // plus grande valeur de from..to-1 (plage non vide)
+        default int max(int from, int to) {
+            verifierPlageNonVide(from, to, length());
+            int[] tampon = new int[TAILLE_PARCOURS];
+            int m = Integer.MIN_VALUE;
+            for (int i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, to - i);
+                getRange(i, len, tampon);
+                for (int j = 0; j < len; j++) m = Math.max(m, tampon[j]);
+            }
+            return m;
+        }
+
+        // nombre de valeurs v avec lo <= v <= hi
+        default int count(int lo, int hi) {
+            if (lo > hi) return 0;
+            // lo <= v <= hi  <=>  v - lo <= hi - lo en non signé : une seule comparaison
+            int ecart = hi - lo;
+            int n = length();
+            int[] tampon = new int[TAILLE_PARCOURS];
+            int c = 0;
+            for (int i = 0; i < n; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, n - i);
+                getRange(i, len, tampon);
+                for (int j = 0; j < len; j++) {
+                    if (Integer.compareUnsigned(tampon[j] - lo, ecart) <= 0) c++;
+                }
+            }
+            return c;
+        }
+
+        // positions des valeurs v avec lo <= v <= hi
+        default BitSet select(int lo, int hi) {
+            int n = length();
+            BitSet positions = new BitSet(n);
+            if (lo > hi) return positions;
+            int ecart = hi - lo;
+            int[] tampon = new int[TAILLE_PARCOURS];
+            for (int i = 0; i < n; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, n - i);
+                getRange(i, len, tampon);
+                for (int j = 0; j < len; j++) {
+                    if (Integer.compareUnsigned(tampon[j] - lo, ecart) <= 0) positions.set(i + j);
+                }
+            }
+            return positions;
+        }
+
+        // ---- parcours séquentiel ou parallèle ----
+        // un découpage à un multiple de splitAlignment() tombe au début d'un mot (ou d'un bloc) du format
+        default int splitAlignment() {
+            return TAILLE_PARCOURS;
+        }
+
+        default Spliterator.OfInt spliterator() {
+            return new PackedSpliterator((f, len, out) -> getRange((int) f, len, out), splitAlignment(), 0, length());
+        }
+
+        // flux des valeurs dans l'ordre ; stream().parallel() répartit des plages alignées sur les threads
+        default IntStream stream() {
+            return StreamSupport.intStream(spliterator(), false);
+        }
+    }
+    // fonctions utilitaires pour le bit-packing elles sont statiques car indépendantes des instances ce qui permet de factoriser le code   
+    // nombre de bits nécessaires pour représenter v (v >= 0)
+    static int bitsNeeded(int v) {
+        if (v < 0) throw new IllegalArgumentException("Seulement les entiers positifs ou nuls sont supportés");
+        return 32 - Integer.numberOfLeadingZeros(v);
+    }
+    // masque avec les k bits de poids faible à 1
+    static int maskLow(int k) {
+        if (k >= 32) return ~0;
+        return (1 << k) - 1;
+    }
+
+    // tampon de nbMots mots remis à zéro, ou un nouveau tableau si tampon est absent ou trop petit
+    static int[] reutiliser(int[] tampon, int nbMots) {
+        if (tampon == null || tampon.length < nbMots) return new int[nbMots];
+        Arrays.fill(tampon, 0, nbMots, 0);
+        return tampon;
+    }
+
+    // ---------- Agrégats ----------
+    // taille des paquets lus par les parcours (sum, min, max, count, select)
+    static final int TAILLE_PARCOURS = 256;
+
+    // plage from..to-1 de 0..n-1
+    static void verifierPlage(int from, int to, int n) {
+        if (from < 0 || to > n || from > to) throw new IndexOutOfBoundsException();
+    }
+
+    static void verifierPlageNonVide(int from, int to, int n) {
+        verifierPlage(from, to, n);
+        if (from == to) throw new IllegalArgumentException("plage vide");
+    }
+
+    // ---------- Parcours ----------
+    // Spliterator des valeurs from..fin-1 d'un compresseur : les valeurs sont décodées par paquets de
+    // TAILLE_PAQUET avec getRange (le noyau de chaque format avance son curseur de bits d'une valeur à la
+    // suivante, sans recalcul d'adresse ni contrôle par valeur), puis servies depuis le tampon.
+    // trySplit coupe à un multiple de splitAlignment() : chaque moitié commence sur un mot et se décode
+    // seule (pour OVERFLOW, chaque champ débordant porte son indice dans la zone de débordement).
+    // Les positions sont des long pour LargeBitPacker, qui dépasse 2^31 valeurs.
+    static final class PackedSpliterator implements Spliterator.OfInt {
+        static final int TAILLE_PAQUET = 1024;
+        // en dessous, découper coûte plus que ce que le parallélisme rapporte
+        static final int SPLIT_MIN = 1 << 14;
+
+        // lecture des valeurs from..from+len-1 dans out (getRange, ou decompress pour LargeBitPacker)
+        interface LecteurPlage {
+            void lire(long from, int len, int[] out);
+        }
+
+        private final LecteurPlage lecteur;
+        private final int alignement;
+        private long position;
+        private final long fin;
+        private int[] tampon;
+        private long debutTampon;
+        private long finTampon; // le tampon contient les valeurs debutTampon..finTampon-1
+
+        PackedSpliterator(LecteurPlage lecteur, int alignement, long from, long fin) {
+            this.lecteur = lecteur;
+            this.alignement = alignement;
+            this.position = from;
+            this.fin = fin;
+        }
+
+        private void remplir() {
+            if (tampon == null) tampon = new int[TAILLE_PAQUET];
+            int len = (int) Math.min(TAILLE_PAQUET, fin - position);
+            lecteur.lire(position, len, tampon);
+            debutTampon = position;
+            finTampon = position + len;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (position >= fin) return false;
+            if (position >= finTampon) remplir();
+            action.accept(tampon[(int) (position - debutTampon)]);
+            position++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (position < fin) {
+                if (position >= finTampon) remplir();
+                int[] t = tampon;
+                int f = (int) (finTampon - debutTampon);
+                for (int i = (int) (position - debutTampon); i < f; i++) {
+                    action.accept(t[i]);
+                }
+                position = finTampon;
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long reste = fin - position;
+            if (reste < 2 * SPLIT_MIN) return null;
+            long milieu = position + reste / 2;
+            milieu -= milieu % alignement;
+            if (milieu <= position || milieu >= fin) return null;
+            PackedSpliterator prefixe = new PackedSpliterator(lecteur, alignement, position, milieu);
+            // le tampon ne couvre plus la partie restante
+            position = milieu;
+            finTampon = 0;
+            return prefixe;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    // accès atomiques (volatile / CAS) aux mots d'un int[] pour les mises à jour concurrentes
+    static final VarHandle MOTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    // levée par set / compareAndSet / getAndAdd quand la nouvelle valeur ne tient pas sur k bits :
+    // il faut recompresser avec un k plus grand (getRequiredBits)
+    public static class ValueTooWideException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+        private final long valeur;
+        private final int k;
+
+        public ValueTooWideException(long valeur, int k) {
+            super("la valeur " + valeur + " ne tient pas sur k=" + k + " bits, recompresser avec un k plus grand");
+            this.valeur = valeur;
+            this.k = k;
+        }
+
+        public long getValue() {
+            return valeur;
+        }
+
+        public int getK() {
+            return k;
+        }
+
+        public int getRequiredBits() {
+            return valeur < 0 ? 33 : 64 - Long.numberOfLeadingZeros(valeur);
+        }
+    }
+
+    // contrôle d'une nouvelle valeur pour une mise à jour sur place
+    static void verifierLargeur(long v, int k) {
+        if (v < 0 || v > (maskLow(k) & 0xFFFFFFFFL)) throw new ValueTooWideException(v, k);
+    }
+
+    // décompression en bloc d'une zone "cross" (valeurs de k bits collées les unes aux autres)
+    // on lit chaque mot de src une seule fois grâce à un tampon de 64 bits : pas de division,
+    // pas de modulo et pas de test de chevauchement par valeur
+    // from est l'indice (dans le tableau d'origine) de la première valeur à extraire
+    static void unpack(int[] src, int k, long from, int[] dst, int off, int len) {
+        unpack(src, 0, k, from, dst, off, len);
+    }
+
+    // même chose pour une zone qui commence au mot motDebut de src
+    static void unpack(int[] src, int motDebut, int k, long from, int[] dst, int off, int len) {
+        if (len <= 0) return;
+        if (k == 0) {
+            Arrays.fill(dst, off, off + len, 0);
+            return;
+        }
+        int mask = maskLow(k);
+        long bitpos = 32L * motDebut + from * k;
+        int mot = (int) (bitpos >>> 5);
+        int decalage = (int) (bitpos & 31);
+        long tampon = 0;
+        int dispo = 0;
+        int i = off;
+        int fin = off + len;
+        if (decalage != 0) {
+            tampon = (src[mot++] & 0xFFFFFFFFL) >>> decalage;
+            dispo = 32 - decalage;
+        }
+        // début non aligné : on avance jusqu'à un indice multiple de 32
+        int tete = (int) Math.min(len, (32 - (from & 31)) & 31);
+        for (int fTete = off + tete; i < fTete; i++) {
+            if (dispo < k) {
+                tampon |= (src[mot++] & 0xFFFFFFFFL) << dispo;
+                dispo += 32;
+            }
+            dst[i] = (int) tampon & mask;
+            tampon >>>= k;
+            dispo -= k;
+        }
+        // groupes de 32 valeurs : ils commencent sur un mot et occupent exactement k mots,
+        // décodés par le noyau déroulé propre à k (voir Unpack32)
+        int nbGroupes = (fin - i) >>> 5;
+        Unpack32.groupes(src, mot, k, dst, i, nbGroupes);
+        i += nbGroupes << 5;
+        mot += nbGroupes * k;
+        // fin du tableau (moins de 32 valeurs)
+        tampon = 0;
+        dispo = 0;
+        for (; i < fin; i++) {
+            if (dispo < k) {
+                tampon |= (src[mot++] & 0xFFFFFFFFL) << dispo;
+                dispo += 32;
+            }
+            dst[i] = (int) tampon & mask;
+            tampon >>>= k;
+            dispo -= k;
+        }
+    }
+
+    // lecture groupée dans une zone "cross" : out[j] = valeur d'indice indices[j]
+    // on garde la paire de mots chargée en dernier : des indices triés (ou proches) relisent rarement le tableau
+    static void gather(int[] src, int k, int n, int[] indices, int[] out) {
+        if (out.length < indices.length) throw new IllegalArgumentException("tableau de sortie trop petit");
+        int mask = maskLow(k);
+        int motCharge = -2;
+        long paire = 0;
+        for (int j = 0; j < indices.length; j++) {
+            int i = indices[j];
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) {
+                out[j] = 0;
+                continue;
+            }
+            long bitpos = (long) i * k;
+            int mot = (int) (bitpos >>> 5);
+            if (mot != motCharge) {
+                // mot suivant : la moitié haute de la paire devient la moitié basse
+                long bas = (mot == motCharge + 1) ? paire >>> 32 : src[mot] & 0xFFFFFFFFL;
+                long haut = (mot + 1 < src.length) ? (long) src[mot + 1] << 32 : 0;
+                paire = haut | bas;
+                motCharge = mot;
+            }
+            out[j] = (int) (paire >>> (bitpos & 31)) & mask;
+        }
+    }
+
+    // ---------- Compression parallèle ----------
+    // en dessous de ce nombre de valeurs compressParallel reste séquentiel
+    static final int SEUIL_PARALLELE = 1 << 16;
+
+    // exécute corps(t) pour chaque tranche t de [0, nbTranches) sur le pool
+    static void pourChaqueTranche(ForkJoinPool pool, int nbTranches, IntConsumer corps) {
+        pool.invoke(new TacheTranches(0, nbTranches, corps));
+    }
+
+    // découpage récursif fork/join des tranches debut..fin-1
+    static final class TacheTranches extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int debut;
+        private final int fin;
+        private final IntConsumer corps;
+
+        TacheTranches(int debut, int fin, IntConsumer corps) {
+            this.debut = debut;
+            this.fin = fin;
+            this.corps = corps;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut == 1) {
+                corps.accept(debut);
+            } else {
+                int milieu = (debut + fin) >>> 1;
+                invokeAll(new TacheTranches(debut, milieu, corps), new TacheTranches(milieu, fin, corps));
+            }
+        }
+    }
+
+    // taille d'une tranche : multiple de alignement (les tranches ne partagent donc aucun mot compressé)
+    // et environ 4 tranches par thread du pool pour équilibrer la charge
+    static int tailleTranche(ForkJoinPool pool, int n, int alignement) {
+        int nbVoulues = pool.getParallelism() * 4;
+        long t = ((long) n + nbVoulues - 1) / nbVoulues;
+        t = (t + alignement - 1) / alignement * alignement;
+        return (int) Math.max(alignement, t);
+    }
+
+    // nombre de tranches de taille valeurs pour n valeurs (calculé sur 64 bits : n + taille dépasse un int près de 2^31)
+    static int nbTranches(int n, int taille) {
+        return (int) (((long) n + taille - 1) / taille);
+    }
+
+    // max parallèle (avec contrôle des valeurs négatives)
+    static int maxParallele(int[] input, ForkJoinPool pool) {
+        int taille = tailleTranche(pool, input.length, 1);
+        int nbTranches = nbTranches(input.length, taille);
+        int[] maxParTranche = new int[nbTranches];
+        pourChaqueTranche(pool, nbTranches, t -> {
+            int fin = (int) Math.min(input.length, (long) (t + 1) * taille);
+            int max = 0;
+            for (int i = t * taille; i < fin; i++) {
+                int v = input[i];
+                if (v < 0) throw new IllegalArgumentException("seulement les entiers positifs ou nuls sont supportés");
+                if (v > max) max = v;
+            }
+            maxParTranche[t] = max;
+        });
+        int max = 0;
+        for (int m : maxParTranche) max = Math.max(max, m);
+        return max;
+    }
+
+    
+    public static class CrossBitPacker implements BitPacker {
+        private int n;              // nombre d'entiers
+        private int k;               // bits par valeur
+        private int[] compresse;        // stockage compressé 
+
+        @Override
+        public void compress(int[] tab) {
+            compress(tab, tab.length, null);
+        }
+
+        // compresse tab[0..len) dans tampon s'il est assez grand (sinon un nouveau tableau est alloué) :
+        // avec un tampon réutilisé cet appel n'alloue rien, getPacked() peut alors être plus long que
+        // nécessaire (seuls getPackedWordCount() mots sont valides)
+        public void compress(int[] tab, int len, int[] tampon) {
+            if (len < 0 || len > tab.length) throw new IndexOutOfBoundsException();
+            this.n = len;      // nombre d'entiers a compresser
+            int max = 0;                 // valeur maximale
+            for (int i = 0; i < len; i++) {
+                int v = tab[i];
+                if (v < 0) throw new IllegalArgumentException("seulement les entiers positifs ou nuls sont supportés");
+                if (v > max) {
+                    max = v;
+                }
+            }
+            this.k = bitsNeeded(max);
+            if (k > 32) {
+                k = 32; 
+            }
+            // positions en bits sur 64 bits : n * k dépasse 2^31 bien avant la limite de taille d'un int[]
+            long totalbits = (long) n * k;
+            int taillesortie = (int) ((totalbits + 31) / 32);
+            compresse = reutiliser(tampon, taillesortie);
+            // k = 0 : toutes les valeurs sont nulles, aucun mot à écrire
+            if (k == 0) return;
+            packTranche(tab, 0, n);
+        }
+
+        @Override
+        public void compressParallel(int[] tab, ForkJoinPool pool) {
+            if (tab.length < SEUIL_PARALLELE) {
+                compress(tab);
+                return;
+            }
+            this.n = tab.length;
+            this.k = bitsNeeded(maxParallele(tab, pool));
+            compresse = new int[(int) (((long) n * k + 31) / 32)];
+            if (k == 0) return;
+            // 32 valeurs occupent exactement k mots : des tranches multiples de 32 n'écrivent jamais le même mot
+            int taille = tailleTranche(pool, n, 32);
+            int nbTranches = nbTranches(n, taille);
+            pourChaqueTranche(pool, nbTranches, t -> packTranche(tab, t * taille, (int) Math.min(n, (long) (t + 1) * taille)));
+        }
+
+        // compresse les valeurs debut..fin-1 (compresse est alloué et k choisi)
+        private void packTranche(int[] tab, int debut, int fin) {
+            for (int i = debut; i < fin; i++) {
+                int val = tab[i] & maskLow(k);
+                long bitpos = (long) i * k;
+                int word = (int) (bitpos >>> 5);
+                int offset = (int) (bitpos & 31);
+                if (offset + k <= 32) {
+                    // rentre entièrement dans un seul int
+                    compresse[word] |= (val << offset);
+                } else {
+                    // divisé sur deux ints
+                    int nbrbitsfaible = 32 - offset;
+                    int lowMask = maskLow(nbrbitsfaible);
+                    int poidsFaible = val & lowMask;
+                    int poidsFort = val >>> nbrbitsfaible;
+                    compresse[word] |= (poidsFaible << offset);
+                    compresse[word + 1] |= poidsFort;
+                }
+            }
+        }
+
+        @Override
+        public void decompress(int[] tab) {
+            if (tab.length != n) throw new IllegalArgumentException("Taille du tableau non valide");
+            unpack(compresse, k, 0, tab, 0, n);
+        }
+
+        // décompresse les valeurs from..from+len-1 dans dst à partir de dstOff
+        public void decompress(int from, int len, int[] dst, int dstOff) {
+            if (from < 0 || len < 0 || from > n - len) throw new IndexOutOfBoundsException();
+            if (dstOff < 0 || dstOff > dst.length - len) throw new IndexOutOfBoundsException();
+            unpack(compresse, k, from, dst, dstOff, len);
+        }
+
+        @Override
+        public void get(int[] indices, int[] out) {
+            gather(compresse, k, n, indices, out);
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            decompress(from, len, out, 0);
+        }
+
+        @Override
+        public int get(int i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) return 0;
+            long bitpos = (long) i * k;
+            int word = (int) (bitpos >>> 5);
+            int offset = (int) (bitpos & 31);
+
+            if (offset + k <= 32) {
+                // rentre entièrement dans un seul int
+                int w = compresse[word];
+                return (w >>> offset) & maskLow(k);
+            } else {
+                // divisé sur deux ints
+                int nbrbitsfaible = 32 - offset;
+                int poidsFaible = (compresse[word] >>> offset) & maskLow(nbrbitsfaible);
+                int poidsFort = compresse[word + 1] & maskLow(k - nbrbitsfaible);
+                return (poidsFort << nbrbitsfaible) | poidsFaible;
+            }
+        }
+
+        @Override
+        public int length() { 
+            return n; 
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            return 4L * getPackedWordCount();
+        }
+
+        public int getK() { 
+            return k; 
+        }
+        public int[] getPacked() { 
+            return compresse; 
+        }
+        public int getPackedWordCount() {
+            return (int) (((long) n * k + 31) / 32);
+        }
+
+        // ---- mises à jour concurrentes (CAS, sans verrou pour les valeurs d'un seul mot) ----
+        // Une valeur qui tient dans un seul mot est modifiée par CAS sur ce mot : les écrivains ne se bloquent
+        // jamais entre eux. Quand 32 % k != 0, la dernière valeur d'un mot peut déborder sur le suivant : elle
+        // est écrite par un CAS sur chacun des deux mots (les voisins restent modifiables pendant ce temps),
+        // encadré par un numéro de version pair/impair choisi d'après le premier mot. Un écrivain passe la version
+        // de pair à impair par CAS, fait ses deux CAS, puis la remet à pair ; un lecteur relit les deux mots tant
+        // que la version est impaire ou a changé pendant sa lecture. Seuls les écrivains de valeurs à cheval qui
+        // tombent sur la même version s'attendent (le temps de deux CAS), les lecteurs ne bloquent personne.
+        private static final int NB_VERSIONS = 256;
+        private volatile int[] versions;
+
+        // versions des valeurs à cheval, allouées à la première utilisation
+        private int[] versions() {
+            int[] v = versions;
+            if (v == null) {
+                synchronized (this) {
+                    v = versions;
+                    if (v == null) versions = v = new int[NB_VERSIONS];
+                }
+            }
+            return v;
+        }
+
+        // lecture volatile de la valeur i
+        public int getVolatile(int i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) return 0;
+            long bitpos = (long) i * k;
+            int mot = (int) (bitpos >>> 5);
+            int decalage = (int) (bitpos & 31);
+            if (decalage + k <= 32) {
+                return ((int) MOTS.getVolatile(compresse, mot) >>> decalage) & maskLow(k);
+            }
+            int[] ver = versions();
+            int s = mot & (NB_VERSIONS - 1);
+            while (true) {
+                int avant = (int) MOTS.getVolatile(ver, s);
+                if ((avant & 1) == 0) {
+                    int v = lireACheval(mot, decalage);
+                    if ((int) MOTS.getVolatile(ver, s) == avant) return v;
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        // valeur à cheval sur les mots mot et mot + 1 (lecture brute, sans contrôle de version)
+        private int lireACheval(int mot, int decalage) {
+            int nbrbitsfaible = 32 - decalage;
+            int poidsFaible = ((int) MOTS.getVolatile(compresse, mot) >>> decalage) & maskLow(nbrbitsfaible);
+            int poidsFort = (int) MOTS.getVolatile(compresse, mot + 1) & maskLow(k - nbrbitsfaible);
+            return (poidsFort << nbrbitsfaible) | poidsFaible;
+        }
+
+        public void set(int i, int v) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            verifierLargeur(v, k);
+            while (!casChamp(i, getVolatile(i), v)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        public boolean compareAndSet(int i, int attendu, int v) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            verifierLargeur(v, k);
+            return casChamp(i, attendu, v);
+        }
+
+        // ajoute delta et renvoie l'ancienne valeur ; ValueTooWideException si le résultat sort de [0, 2^k - 1]
+        public int getAndAdd(int i, int delta) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            while (true) {
+                int courant = getVolatile(i);
+                long nouveau = (long) courant + delta;
+                verifierLargeur(nouveau, k);
+                if (casChamp(i, courant, (int) nouveau)) return courant;
+                Thread.onSpinWait();
+            }
+        }
+
+        // remplace la valeur i par v si elle vaut attendu
+        private boolean casChamp(int i, int attendu, int v) {
+            if (k == 0) return attendu == 0;
+            long bitpos = (long) i * k;
+            int mot = (int) (bitpos >>> 5);
+            int decalage = (int) (bitpos & 31);
+            if (decalage + k <= 32) {
+                int masque = maskLow(k) << decalage;
+                // on recommence si un voisin du même mot a changé entre-temps
+                while (true) {
+                    int ancien = (int) MOTS.getVolatile(compresse, mot);
+                    if (((ancien & masque) >>> decalage) != attendu) return false;
+                    if (MOTS.compareAndSet(compresse, mot, ancien, (ancien & ~masque) | (v << decalage))) return true;
+                }
+            }
+            // valeur à cheval : version impaire le temps des deux CAS
+            int[] ver = versions();
+            int s = mot & (NB_VERSIONS - 1);
+            int avant;
+            while (true) {
+                avant = (int) MOTS.getVolatile(ver, s);
+                if ((avant & 1) == 0 && MOTS.compareAndSet(ver, s, avant, avant + 1)) break;
+                Thread.onSpinWait();
+            }
+            try {
+                if (lireACheval(mot, decalage) != attendu) return false;
+                int nbrbitsfaible = 32 - decalage;
+                remplacerBits(mot, maskLow(nbrbitsfaible) << decalage, v << decalage);
+                remplacerBits(mot + 1, maskLow(k - nbrbitsfaible), v >>> nbrbitsfaible);
+                return true;
+            } finally {
+                MOTS.setVolatile(ver, s, avant + 2);
+            }
+        }
+
+        // remplace les bits masque du mot par bits, sans toucher aux autres valeurs du mot
+        private void remplacerBits(int mot, int masque, int bits) {
+            while (true) {
+                int ancien = (int) MOTS.getVolatile(compresse, mot);
+                if (MOTS.compareAndSet(compresse, mot, ancien, (ancien & ~masque) | (bits & masque))) return;
+            }
+        }
+    }
+
+    public static class NoCrossBitPacker implements BitPacker {
+        private int n;
+        private int k;
+        private int[] compresse;
+        private int taillecompressée;
+
+
+        @Override
+        public void compress(int[] tab) {
+            compress(tab, tab.length, null);
+        }
+
+        // compresse tab[0..len) dans tampon s'il est assez grand (sinon un nouveau tableau est alloué) :
+        // avec un tampon réutilisé cet appel n'alloue rien, getPacked() peut alors être plus long que
+        // nécessaire (seuls getPackedWordCount() mots sont valides)
+        public void compress(int[] tab, int len, int[] tampon) {
+            if (len < 0 || len > tab.length) throw new IndexOutOfBoundsException();
+            // déterminer n et k
+            this.n = len;
+            int max = 0;
+            // trouver la valeur maximale
+            for (int i = 0; i < len; i++) {
+                int v = tab[i];
+                if (v < 0) throw new IllegalArgumentException("Nombre négatif non supporté");
+                if (v > max) max = v;
+            }
+            // déterminer k en fonction de la valeur maximale
+            this.k = bitsNeeded(max);
+            if (k > 32) k = 32;
+
+            // calculer taillecompressée afin de ne pas traverser les mots
+            // (k = 0 : toutes les valeurs sont nulles, aucun mot n'est stocké)
+            taillecompressée = k == 0 ? 32 : 32 / k;
+
+            compresse = reutiliser(tampon, getPackedWordCount());
+            if (k == 0) return;
+            packTranche(tab, 0, n);
+        }
+
+        @Override
+        public void compressParallel(int[] tab, ForkJoinPool pool) {
+            if (tab.length < SEUIL_PARALLELE) {
+                compress(tab);
+                return;
+            }
+            this.n = tab.length;
+            this.k = bitsNeeded(maxParallele(tab, pool));
+            if (k == 0) {
+                taillecompressée = 32;
+                compresse = new int[0];
+                return;
+            }
+            taillecompressée = 32 / k;
+            compresse = new int[(int) (((long) n + taillecompressée - 1) / taillecompressée)];
+            // tranches multiples de taillecompressée : chaque mot appartient à une seule tranche
+            int taille = tailleTranche(pool, n, taillecompressée);
+            int nbTranches = nbTranches(n, taille);
+            pourChaqueTranche(pool, nbTranches, t -> packTranche(tab, t * taille, (int) Math.min(n, (long) (t + 1) * taille)));
+        }
+
+        // compresse les valeurs debut..fin-1
+        private void packTranche(int[] tab, int debut, int fin) {
+            // compresser chaque valeur
+            for (int i = debut; i < fin; i++) {
+                int word = i / taillecompressée;
+                int slot = i % taillecompressée;
+                int offset = slot * k;
+                int val = tab[i] & maskLow(k);
+                compresse[word] |= (val << offset);
+            }
+        }
+
+        @Override
+        public void decompress(int[] tab) {
+            // vérifier la longueur du tableau de destination
+            if (tab.length != n) throw new IllegalArgumentException("Longueur de destination non valide");
+            // décompresser mot par mot
+            unpackMots(0, tab, 0, n);
+        }
+
+        // décompresse les valeurs from..from+len-1 dans dst à partir de dstOff
+        public void decompress(int from, int len, int[] dst, int dstOff) {
+            if (from < 0 || len < 0 || from > n - len) throw new IndexOutOfBoundsException();
+            if (dstOff < 0 || dstOff > dst.length - len) throw new IndexOutOfBoundsException();
+            unpackMots(from, dst, dstOff, len);
+        }
+
+        @Override
+        public void get(int[] indices, int[] out) {
+            if (out.length < indices.length) throw new IllegalArgumentException("tableau de sortie trop petit");
+            int mask = maskLow(k);
+            int parMot = taillecompressée;
+            // on ne recharge le mot que si l'indice change de mot (cas fréquent avec des indices triés)
+            int motCharge = -1;
+            int w = 0;
+            for (int j = 0; j < indices.length; j++) {
+                int i = indices[j];
+                if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+                int mot = i / parMot;
+                if (mot != motCharge) {
+                    w = k == 0 ? 0 : compresse[mot];
+                    motCharge = mot;
+                }
+                out[j] = (w >>> ((i - mot * parMot) * k)) & mask;
+            }
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            decompress(from, len, out, 0);
+        }
+
+        // chaque mot contient taillecompressée valeurs à des décalages fixes :
+        // on charge le mot une fois puis on décale de k à chaque valeur
+        private void unpackMots(int from, int[] dst, int off, int len) {
+            if (k == 0) {
+                Arrays.fill(dst, off, off + len, 0);
+                return;
+            }
+            int mask = maskLow(k);
+            int parMot = taillecompressée;
+            int mot = from / parMot;
+            int slot = from % parMot;
+            int i = off;
+            int fin = off + len;
+            // premier mot partiel
+            if (slot != 0 && i < fin) {
+                int w = compresse[mot++] >>> (slot * k);
+                for (; slot < parMot && i < fin; slot++) {
+                    dst[i++] = w & mask;
+                    w >>>= k;
+                }
+            }
+            // mots complets
+            for (; fin - i >= parMot; mot++) {
+                int w = compresse[mot];
+                for (int s = 0; s < parMot; s++) {
+                    dst[i++] = w & mask;
+                    w >>>= k;
+                }
+            }
+            // dernier mot partiel
+            if (i < fin) {
+                int w = compresse[mot];
+                while (i < fin) {
+                    dst[i++] = w & mask;
+                    w >>>= k;
+                }
+            }
+        }
+
+        @Override
+        public int get(int i) {
+            // accéder à la ième valeur décompressée
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) return 0;
+            int word = i / taillecompressée;
+            int slot = i % taillecompressée;
+            int offset = slot * k;
+            int w = compresse[word];
+            return (w >>> offset) & maskLow(k);
+        }
+
+        @Override
+        public int length() { 
+            return n; 
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            return 4L * getPackedWordCount();
+        }
+
+        public int getK() { 
+            return k; 
+        }
+
+        public int[] getPacked() { 
+            return compresse; 
+        }
+
+        public int getPackedWordCount() {
+            return k == 0 ? 0 : (int) (((long) n + taillecompressée - 1) / taillecompressée);
+        }
+
+        // 32 mots complets : les découpages tombent toujours au début d'un mot
+        @Override
+        public int splitAlignment() {
+            return taillecompressée * 32;
+        }
+
+        // ---- agrégats mot par mot (SWAR) ----
+        // les voies d'un mot sont à des décalages fixes s*k : on traite ensemble les voies paires du mot,
+        // puis les voies impaires (mot >>> k). Dans un long, chacune a alors k bits libres au-dessus d'elle,
+        // qui servent de bits de garde pour les comparaisons et de réserve pour les additions.
+
+        // 1 au début des voies 0, pas, 2*pas, ... inférieures à nbVoies
+        private long unites(int nbVoies, int pas) {
+            long u = 0;
+            for (int s = 0; s < nbVoies; s += pas) u |= 1L << (s * k);
+            return u;
+        }
+
+        @Override
+        public long sum(int from, int to) {
+            verifierPlage(from, to, n);
+            if (k == 0) return 0;
+            int parMot = taillecompressée;
+            int motDebut = from / parMot + (from % parMot == 0 ? 0 : 1);
+            int motFin = to / parMot;
+            long s = 0;
+            if (motDebut >= motFin) {
+                for (int i = from; i < to; i++) s += get(i);
+                return s;
+            }
+            // début et fin partiels valeur par valeur, mots complets entre les deux
+            for (int i = from; i < motDebut * parMot; i++) s += get(i);
+            s += k <= 4 ? sommePlans(motDebut, motFin) : sommeVoies(motDebut, motFin);
+            for (int i = motFin * parMot; i < to; i++) s += get(i);
+            return s;
+        }
+
+        // k <= 4 : somme = somme sur j de 2^j * (nombre de voies dont le bit j vaut 1),
+        // soit k bitCount pour deux mots (plus de valeurs par mot que de plans de bits)
+        private long sommePlans(int motDebut, int motFin) {
+            long u = unites(taillecompressée, 1);
+            u |= u << 32;
+            long s = 0;
+            int mot = motDebut;
+            for (; mot + 1 < motFin; mot += 2) {
+                long x = (compresse[mot] & 0xFFFFFFFFL) | ((long) compresse[mot + 1] << 32);
+                for (int j = 0; j < k; j++) s += (long) Long.bitCount(x & (u << j)) << j;
+            }
+            if (mot < motFin) {
+                long x = compresse[mot] & 0xFFFFFFFFL;
+                for (int j = 0; j < k; j++) s += (long) Long.bitCount(x & (u << j)) << j;
+            }
+            return s;
+        }
+
+        // k > 4 : voies paires et impaires additionnées voie par voie dans un accumulateur ; une voie paire
+        // dispose de 2k bits et reçoit moins de 2^(k+1) par mot, on la vide donc au plus tous les 2^(k-1) mots
+        private long sommeVoies(int motDebut, int motFin) {
+            int parMot = taillecompressée;
+            long pairs = unites(parMot, 2) * ((1L << k) - 1);
+            long masque2k = 2 * k >= 64 ? -1L : (1L << (2 * k)) - 1;
+            int lot = 1 << Math.min(k - 1, 20);
+            long s = 0;
+            for (int debut = motDebut; debut < motFin; debut += lot) {
+                int fin = (int) Math.min(motFin, (long) debut + lot);
+                long acc = 0;
+                for (int mot = debut; mot < fin; mot++) {
+                    long x = compresse[mot] & 0xFFFFFFFFL;
+                    acc += (x & pairs) + ((x >>> k) & pairs);
+                }
+                for (int v = 0; v < parMot; v += 2) s += (acc >>> (v * k)) & masque2k;
+            }
+            return s;
+        }
+
+        @Override
+        public int min(int from, int to) {
+            verifierPlageNonVide(from, to, n);
+            return extremum(from, to, false);
+        }
+
+        @Override
+        public int max(int from, int to) {
+            verifierPlageNonVide(from, to, n);
+            return extremum(from, to, true);
+        }
+
+        // chaque mot est lu une fois puis décalé de k par valeur ; arrêt dès que 0 (min) ou 2^k - 1 (max) est atteint
+        private int extremum(int from, int to, boolean max) {
+            if (k == 0) return 0;
+            int mask = maskLow(k);
+            int parMot = taillecompressée;
+            int borne = max ? mask : 0;
+            int m = max ? 0 : mask;
+            int mot = from / parMot;
+            int slot = from % parMot;
+            int i = from;
+            while (i < to && m != borne) {
+                int w = compresse[mot++] >>> (slot * k);
+                int fin = (int) Math.min(to, (long) i + parMot - slot);
+                for (; i < fin; i++) {
+                    int v = w & mask;
+                    m = max ? Math.max(m, v) : Math.min(m, v);
+                    w >>>= k;
+                }
+                slot = 0;
+            }
+            return m;
+        }
+
+        // comparaison de toutes les voies d'un mot à la fois : pour une voie x de k bits,
+        // x + (2^k - lo) atteint le bit de garde si x >= lo, x + (2^k - 1 - hi) l'atteint si x > hi
+        @Override
+        public int count(int lo, int hi) {
+            long bas = Math.max(lo, 0);
+            long haut = Math.min(hi, (1L << k) - 1);
+            if (bas > haut) return 0;
+            if (k == 0) return n;
+            int parMot = taillecompressée;
+            long unitesP = unites(parMot, 2);
+            long pairs = unitesP * ((1L << k) - 1);
+            long ajoutBas = unitesP * ((1L << k) - bas);
+            long ajoutHaut = unitesP * ((1L << k) - 1 - haut);
+            long gardesP = unitesP << k;
+            // voies impaires ramenées sur les positions paires (sans la voie fictive au-delà de parMot)
+            long gardesI = unites(parMot - 1, 2) << k;
+            int motsPleins = n / parMot;
+            int c = 0;
+            for (int mot = 0; mot < motsPleins; mot++) {
+                long x = compresse[mot] & 0xFFFFFFFFL;
+                long p = x & pairs;
+                long q = (x >>> k) & pairs;
+                c += Long.bitCount((p + ajoutBas) & ~(p + ajoutHaut) & gardesP)
+                        + Long.bitCount((q + ajoutBas) & ~(q + ajoutHaut) & gardesI);
+            }
+            // dernier mot incomplet : ses voies libres valent 0 et ne doivent pas être comptées
+            for (int i = motsPleins * parMot; i < n; i++) {
+                int v = get(i);
+                if (v >= bas && v <= haut) c++;
+            }
+            return c;
+        }
+
+        @Override
+        public BitSet select(int lo, int hi) {
+            BitSet positions = new BitSet(n);
+            long bas = Math.max(lo, 0);
+            long haut = Math.min(hi, (1L << k) - 1);
+            if (bas > haut) return positions;
+            if (k == 0) {
+                positions.set(0, n);
+                return positions;
+            }
+            int parMot = taillecompressée;
+            long unitesP = unites(parMot, 2);
+            long pairs = unitesP * ((1L << k) - 1);
+            long ajoutBas = unitesP * ((1L << k) - bas);
+            long ajoutHaut = unitesP * ((1L << k) - 1 - haut);
+            long gardesP = unitesP << k;
+            long gardesI = unites(parMot - 1, 2) << k;
+            int motsPleins = n / parMot;
+            for (int mot = 0; mot < motsPleins; mot++) {
+                long x = compresse[mot] & 0xFFFFFFFFL;
+                long p = x & pairs;
+                long q = (x >>> k) & pairs;
+                // garde de la voie s au bit (s + 1) * k
+                long m = ((p + ajoutBas) & ~(p + ajoutHaut) & gardesP)
+                        | (((q + ajoutBas) & ~(q + ajoutHaut) & gardesI) << k);
+                while (m != 0) {
+                    positions.set(mot * parMot + Long.numberOfTrailingZeros(m) / k - 1);
+                    m &= m - 1;
+                }
+            }
+            for (int i = motsPleins * parMot; i < n; i++) {
+                int v = get(i);
+                if (v >= bas && v <= haut) positions.set(i);
+            }
+            return positions;
+        }
+
+        // ---- mises à jour concurrentes (sans verrou) ----
+        // une valeur ne traverse jamais deux mots : chaque mise à jour est un CAS sur son mot
+        // et les lectures restent sans attente
+        public int getVolatile(int i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) return 0;
+            int mot = i / taillecompressée;
+            int offset = (i % taillecompressée) * k;
+            return ((int) MOTS.getVolatile(compresse, mot) >>> offset) & maskLow(k);
+        }
+
+        public void set(int i, int v) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            verifierLargeur(v, k);
+            if (k == 0) return;
+            int mot = i / taillecompressée;
+            int offset = (i % taillecompressée) * k;
+            int masque = maskLow(k) << offset;
+            while (true) {
+                int ancien = (int) MOTS.getVolatile(compresse, mot);
+                if (MOTS.compareAndSet(compresse, mot, ancien, (ancien & ~masque) | (v << offset))) return;
+            }
+        }
+
+        public boolean compareAndSet(int i, int attendu, int v) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            verifierLargeur(v, k);
+            if (k == 0) return attendu == 0;
+            int mot = i / taillecompressée;
+            int offset = (i % taillecompressée) * k;
+            int masque = maskLow(k) << offset;
+            while (true) {
+                int ancien = (int) MOTS.getVolatile(compresse, mot);
+                if (((ancien & masque) >>> offset) != attendu) return false;
+                if (MOTS.compareAndSet(compresse, mot, ancien, (ancien & ~masque) | (v << offset))) return true;
+            }
+        }
+
+        // ajoute delta et renvoie l'ancienne valeur ; ValueTooWideException si le résultat sort de [0, 2^k - 1]
+        public int getAndAdd(int i, int delta) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) {
+                verifierLargeur(delta, 0);
+                return 0;
+            }
+            int mot = i / taillecompressée;
+            int offset = (i % taillecompressée) * k;
+            int masque = maskLow(k) << offset;
+            while (true) {
+                int ancien = (int) MOTS.getVolatile(compresse, mot);
+                int courant = (ancien & masque) >>> offset;
+                long nouveau = (long) courant + delta;
+                verifierLargeur(nouveau, k);
+                if (MOTS.compareAndSet(compresse, mot, ancien, (ancien & ~masque) | ((int) nouveau << offset))) return courant;
+            }
+        }
+    }
+
+    // ---------- Overflow packer ----------
+    // On cherche une petite taille petitK (0..32) qui minimise : totalBits = n * bitsChamp + nbDebordement * 32
+    // où bitsChamp = 1 + max(petitK, bitsNeeded(nbDebordement-1))
+    // totalBits est la taille totale en bits du stockage compressé donc doit etre minimisé afin d'avoir une bonne compression
+    // On stocke un en-tête (n, petitK, bitsChamp, nbDebordement), puis les champs compressés (n champs de bitsChamp),
+    // puis la zone overflow (nbDebordement int réels).
+    public static class OverflowBitPacker implements BitPacker {
+        private int taille; // nombre d'entiers à compresser
+        private int petitK; // petitK choisi par la fonction de compression
+        private int bitsChamp; // bits par champ (1 bit de flag + reste)
+        private int nbDebordement; // nombre de débordements (valeurs qui ne rentrent pas pour petitK donné)
+        private int[] valeursDebordement; // au moins nbDebordement cases
+        private int[] champsPackes;   // champsPackés contient les flags et les contenus
+        // compress(int[]) alloue des tableaux neufs de la taille exacte ; seuls les tampons passés à
+        // compress(input, tamponChamps, tamponDebordement) peuvent être plus longs que nécessaire
+        // (seuls nbMots / nbDebordement éléments sont alors valides)
+        private int nbMots;
+        private final int[] histo = new int[33]; // histogramme des bits nécessaires, réutilisé
+
+        @Override
+        public void compress(int[] input) {
+            compress(input, null, null);
+        }
+
+        // compresse dans les tableaux fournis s'ils sont assez grands (sinon de nouveaux tableaux sont alloués) :
+        // avec des tampons réutilisés (ceux de l'appel précédent ou ceux d'un pool) cet appel n'alloue rien.
+        // Les tableaux déjà rendus par getPackedFields / getOverflowValues ne doivent être repassés ici
+        // que si plus personne ne les lit : ils sont écrasés.
+        public void compress(int[] input, int[] tamponChamps, int[] tamponDebordement) {
+            compress(input, input.length, tamponChamps, tamponDebordement);
+        }
+
+        // même chose pour input[0..len)
+        public void compress(int[] input, int len, int[] tamponChamps, int[] tamponDebordement) {
+            if (len < 0 || len > input.length) throw new IndexOutOfBoundsException();
+            this.taille = len;
+            // une seule passe sur l'entrée : le nombre de débordements pour chaque candidatK se lit dans l'histogramme
+            Arrays.fill(histo, 0);
+            for (int i = 0; i < len; i++) {
+                histo[bitsNeeded(input[i])]++;
+            }
+            choisirPetitK(histo);
+
+            nbMots = (int) (((long) taille * bitsChamp + 31) / 32);
+            champsPackes = reutiliser(tamponChamps, nbMots);
+            valeursDebordement = (tamponDebordement != null && tamponDebordement.length >= nbDebordement)
+                    ? tamponDebordement : new int[nbDebordement];
+            // les débordements reçoivent les indices 0, 1, 2, ... dans l'ordre de l'entrée
+            packTranche(input, 0, taille, 0);
+        }
+
+        @Override
+        public void compressParallel(int[] input, ForkJoinPool pool) {
+            if (input.length < SEUIL_PARALLELE) {
+                compress(input);
+                return;
+            }
+            this.taille = input.length;
+            // tranches multiples de 32 : 32 champs occupent exactement bitsChamp mots
+            int tailleT = tailleTranche(pool, taille, 32);
+            int nbTranches = nbTranches(taille, tailleT);
+
+            // 1) histogramme parallèle des bits nécessaires (33 cases par tranche)
+            int[][] histos = new int[nbTranches][33];
+            pourChaqueTranche(pool, nbTranches, t -> {
+                int[] h = histos[t];
+                int fin = (int) Math.min(taille, (long) (t + 1) * tailleT);
+                for (int i = t * tailleT; i < fin; i++) {
+                    h[bitsNeeded(input[i])]++;
+                }
+            });
+            int[] histo = new int[33];
+            for (int[] h : histos) {
+                for (int b = 0; b < 33; b++) histo[b] += h[b];
+            }
+            choisirPetitK(histo);
+
+            // 2) nombre de débordements par tranche puis somme préfixe : premier indice de débordement de chaque tranche
+            int[] premierDebordement = new int[nbTranches + 1];
+            pourChaqueTranche(pool, nbTranches, t -> {
+                int fin = (int) Math.min(taille, (long) (t + 1) * tailleT);
+                int nb = 0;
+                for (int i = t * tailleT; i < fin; i++) {
+                    if (bitsNeeded(input[i]) > petitK) nb++;
+                }
+                premierDebordement[t + 1] = nb;
+            });
+            for (int t = 0; t < nbTranches; t++) premierDebordement[t + 1] += premierDebordement[t];
+
+            // 3) compression des tranches, chacune écrit ses propres mots et sa partie de la zone de débordement
+            nbMots = (int) (((long) taille * bitsChamp + 31) / 32);
+            champsPackes = new int[nbMots];
+            valeursDebordement = new int[nbDebordement];
+            pourChaqueTranche(pool, nbTranches, t -> packTranche(input, t * tailleT,
+                    (int) Math.min(taille, (long) (t + 1) * tailleT), premierDebordement[t]));
+        }
+
+        // On cherche petitK parmi 0..bitsMax : nbOverflow(candidatK) = nombre de valeurs de plus de candidatK bits,
+        // bitsChamp = 1 bit de flag + max(candidatK, bits pour indexer la zone overflow), on garde le total minimal
+        private void choisirPetitK(int[] histo) {
+            int bitsMax = 0;
+            for (int b = 0; b < histo.length; b++) {
+                if (histo[b] > 0) bitsMax = b;
+            }
+            long meilleurTotal = Long.MAX_VALUE;
+            for (int candidatK = 0; candidatK <= Math.max(1, bitsMax); candidatK++) {
+                int nbOverflow = 0;
+                for (int b = candidatK + 1; b < histo.length; b++) nbOverflow += histo[b];
+                int bitsIndice = (nbOverflow > 0) ? bitsNeeded(nbOverflow - 1) : 0;
+                int bitsChampCand = 1 + Math.max(candidatK, bitsIndice);
+                long totalBitsCand = (long) taille * bitsChampCand + (long) nbOverflow * 32;
+                if (totalBitsCand < meilleurTotal) {
+                    meilleurTotal = totalBitsCand;
+                    petitK = candidatK;
+                    bitsChamp = bitsChampCand;
+                    nbDebordement = nbOverflow;
+                }
+            }
+        }
+
+        // compresse les champs debut..fin-1, le premier débordement de la tranche prend l'indice indiceDebordement
+        private void packTranche(int[] input, int debut, int fin, int indiceDebordement) {
+            for (int i = debut; i < fin; i++) {
+                int flag;
+                int contenu;
+                if (bitsNeeded(input[i]) > petitK) {
+                    flag = 1;
+                    contenu = indiceDebordement;
+                    valeursDebordement[indiceDebordement++] = input[i];
+                } else {
+                    flag = 0;
+                    contenu = input[i] & maskLow(bitsChamp - 1);
+                }
+                int valeurChamp = (contenu << 1) | flag;
+                long posBits = (long) i * bitsChamp;
+                int mot = (int) (posBits >>> 5);
+                int decalage = (int) (posBits & 31);
+                if (decalage + bitsChamp <= 32) {
+                    champsPackes[mot] |= (valeurChamp << decalage);
+                } else {
+                    int lowBits = 32 - decalage;
+                    champsPackes[mot] |= ((valeurChamp & maskLow(lowBits)) << decalage);
+                    champsPackes[mot + 1] |= valeurChamp >>> lowBits;
+                }
+            }
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            if (out.length != taille) throw new IllegalArgumentException("longueur de destination non valide");
+            getRange(0, taille, out);
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            if (from < 0 || len < 0 || from > taille - len) throw new IndexOutOfBoundsException();
+            if (out.length < len) throw new IllegalArgumentException("tableau de sortie trop petit");
+            // extraire les champs en bloc puis résoudre les flags
+            unpack(champsPackes, bitsChamp, from, out, 0, len);
+            resoudreChamps(out, len);
+        }
+
+        @Override
+        public void get(int[] indices, int[] out) {
+            // d'abord tous les champs, ensuite les accès à la zone de débordement regroupés
+            gather(champsPackes, bitsChamp, taille, indices, out);
+            resoudreChamps(out, indices.length);
+        }
+
+        // remplace chaque champ (contenu << 1 | flag) par la valeur réelle
+        private void resoudreChamps(int[] out, int len) {
+            for (int j = 0; j < len; j++) {
+                int valeurChamp = out[j];
+                if ((valeurChamp & 1) == 0) {
+                    // cas normal
+                    out[j] = valeurChamp >>> 1;
+                } else {
+                    // cas de débordement
+                    out[j] = valeursDebordement[valeurChamp >>> 1];
+                }
+            }
+        }
+
+        @Override
+        public int get(int i) {
+            // accéder à la ième valeur décompressée
+            if (i < 0 || i >= taille) throw new IndexOutOfBoundsException();
+            long posBits = (long) i * bitsChamp;
+            int mot = (int) (posBits >>> 5);
+            int decalage = (int) (posBits & 31);
+            int valeurChamp;
+            if (decalage + bitsChamp <= 32) {
+                // cas ou le champ rentre dans un seul mot
+                valeurChamp = (champsPackes[mot] >>> decalage) & maskLow(bitsChamp);
+            } else {
+                // divisé sur deux mots
+                int lowBits = 32 - decalage;
+                int poidsFaible = (champsPackes[mot] >>> decalage) & maskLow(lowBits);
+                int poidsFort = champsPackes[mot + 1] & maskLow(bitsChamp - lowBits);
+                valeurChamp = (poidsFort << lowBits) | poidsFaible;
+            }
+            int flag = valeurChamp & 1;
+            int contenu = valeurChamp >>> 1;
+            // constante à false sans -Dbitpacking.metrics=true : le JIT supprime l'appel
+            if (Metrics.ENABLED) Metrics.getOverflow(flag);
+            if (flag == 0) {
+                // cas normal
+                return contenu;
+            } else {
+                // cas de débordement
+                return valeursDebordement[contenu];
+            }
+        }
+
+        @Override
+        public int length() { return taille; }
+
+        @Override
+        public long compressedSizeBytes() {
+            return 4L * (nbMots + nbDebordement);
+        }
+
+        // ---- agrégats ----
+        // les champs sont lus par paquets avec le noyau unpack puis parcourus sans branchement sur le flag.
+        // Les débordements d'une plage occupent des indices consécutifs de la zone de débordement
+        // (attribués dans l'ordre de l'entrée) : il suffit de les compter et de repérer le premier,
+        // puis de parcourir cette tranche de la zone. Toute valeur débordante est plus grande que
+        // toute valeur normale (plus de petitK bits).
+
+        @Override
+        public long sum(int from, int to) {
+            verifierPlage(from, to, taille);
+            int[] champs = new int[TAILLE_PARCOURS];
+            long s = 0;
+            int nbDeb = 0;
+            int premier = 0;
+            for (int i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, to - i);
+                unpack(champsPackes, bitsChamp, i, champs, 0, len);
+                int avant = nbDeb;
+                for (int j = 0; j < len; j++) {
+                    int f = champs[j];
+                    // (f & 1) - 1 vaut -1 pour un champ normal et 0 pour un débordement
+                    s += (f >>> 1) & ((f & 1) - 1);
+                    nbDeb += f & 1;
+                }
+                if (avant == 0 && nbDeb > 0) premier = premierDebordement(champs, len);
+            }
+            for (int d = premier; d < premier + nbDeb; d++) s += valeursDebordement[d];
+            return s;
+        }
+
+        @Override
+        public int min(int from, int to) {
+            verifierPlageNonVide(from, to, taille);
+            return extremum(from, to, false);
+        }
+
+        @Override
+        public int max(int from, int to) {
+            verifierPlageNonVide(from, to, taille);
+            return extremum(from, to, true);
+        }
+
+        // le max est dans la zone de débordement dès que la plage en contient un,
+        // le min n'y est que si la plage ne contient que des débordements
+        private int extremum(int from, int to, boolean max) {
+            int[] champs = new int[TAILLE_PARCOURS];
+            int minNormal = Integer.MAX_VALUE;
+            int maxNormal = 0;
+            int nbDeb = 0;
+            int premier = 0;
+            for (int i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, to - i);
+                unpack(champsPackes, bitsChamp, i, champs, 0, len);
+                int avant = nbDeb;
+                for (int j = 0; j < len; j++) {
+                    int f = champs[j];
+                    int normal = (f & 1) - 1;
+                    maxNormal = Math.max(maxNormal, (f >>> 1) & normal);
+                    minNormal = Math.min(minNormal, (f >>> 1) | (~normal & Integer.MAX_VALUE));
+                    nbDeb += f & 1;
+                }
+                if (avant == 0 && nbDeb > 0) premier = premierDebordement(champs, len);
+            }
+            boolean dansLaZone = max ? nbDeb > 0 : nbDeb == to - from;
+            if (!dansLaZone) return max ? maxNormal : minNormal;
+            int m = valeursDebordement[premier];
+            for (int d = premier + 1; d < premier + nbDeb; d++) {
+                m = max ? Math.max(m, valeursDebordement[d]) : Math.min(m, valeursDebordement[d]);
+            }
+            return m;
+        }
+
+        // indice dans la zone de débordement du premier champ débordant du paquet
+        private static int premierDebordement(int[] champs, int len) {
+            for (int j = 0; j < len; j++) {
+                if ((champs[j] & 1) != 0) return champs[j] >>> 1;
+            }
+            throw new IllegalStateException("aucun débordement dans le paquet");
+        }
+
+        // valeurs normales : champs pairs entre 2 * lo et 2 * hi (comparaison non signée, un champ peut
+        // occuper 32 bits) ; valeurs débordantes : lues directement dans la zone, sans passer par les champs
+        @Override
+        public int count(int lo, int hi) {
+            if (lo > hi) return 0;
+            int maxNormal = maskLow(petitK);
+            int c = 0;
+            if (hi >= 0 && lo <= maxNormal) {
+                int a = Math.max(lo, 0) << 1;
+                int ecart = (Math.min(hi, maxNormal) << 1) - a;
+                int[] champs = new int[TAILLE_PARCOURS];
+                for (int i = 0; i < taille; i += TAILLE_PARCOURS) {
+                    int len = Math.min(TAILLE_PARCOURS, taille - i);
+                    unpack(champsPackes, bitsChamp, i, champs, 0, len);
+                    for (int j = 0; j < len; j++) {
+                        int f = champs[j];
+                        if ((f & 1) == 0 && Integer.compareUnsigned(f - a, ecart) <= 0) c++;
+                    }
+                }
+            }
+            if (hi > maxNormal) {
+                for (int d = 0; d < nbDebordement; d++) {
+                    int v = valeursDebordement[d];
+                    if (v >= lo && v <= hi) c++;
+                }
+            }
+            return c;
+        }
+
+        @Override
+        public BitSet select(int lo, int hi) {
+            BitSet positions = new BitSet(taille);
+            if (lo > hi) return positions;
+            int maxNormal = maskLow(petitK);
+            boolean normaux = hi >= 0 && lo <= maxNormal;
+            boolean debordements = hi > maxNormal && nbDebordement > 0;
+            if (!normaux && !debordements) return positions;
+            int a = Math.max(lo, 0) << 1;
+            int ecart = (Math.min(hi, maxNormal) << 1) - a;
+            int[] champs = new int[TAILLE_PARCOURS];
+            for (int i = 0; i < taille; i += TAILLE_PARCOURS) {
+                int len = Math.min(TAILLE_PARCOURS, taille - i);
+                unpack(champsPackes, bitsChamp, i, champs, 0, len);
+                for (int j = 0; j < len; j++) {
+                    int f = champs[j];
+                    if ((f & 1) == 0) {
+                        if (normaux && Integer.compareUnsigned(f - a, ecart) <= 0) positions.set(i + j);
+                    } else if (debordements) {
+                        int v = valeursDebordement[f >>> 1];
+                        if (v >= lo && v <= hi) positions.set(i + j);
+                    }
+                }
+            }
+            return positions;
+        }
+
+        public int getSmallK() { return petitK; }
+        public int getFieldBits() { return bitsChamp; }
+        public int getOverflowCount() { return nbDebordement; }
+        // tableaux internes : de la taille exacte, sauf après compress(input, tamponChamps, tamponDebordement)
+        // avec des tampons plus grands (voir getOverflowCount / getPackedWordCount)
+        public int[] getOverflowValues() { return valeursDebordement; }
+        public int[] getPackedFields() { return champsPackes; }
+        public int getPackedWordCount() { return nbMots; }
+    }
+
+    // ---------- PFOR packer ----------
+    // Patched frame of reference par blocs : l'entrée est découpée en blocs de TAILLE_BLOC valeurs,
+    // chaque bloc a sa propre largeur b et sa propre liste d'exceptions (valeurs de plus de b bits).
+    // Une exception garde ses b bits de poids faible dans le champ, ses bits de poids fort (v >>> b)
+    // vont dans la zone exceptions. Une région avec des grandes valeurs n'élargit donc que ses propres blocs.
+    // Répertoire : 3 int par bloc (mot de début dans donnees, b | AVEC_EXCEPTIONS, indice de la première exception).
+    // Un bloc avec exceptions commence par un bitmap de MOTS_BITMAP mots (1 bit par valeur) : le rang d'une
+    // exception se calcule avec au plus MOTS_BITMAP bitCount, get(i) reste en O(1).
+    public static class PforBitPacker implements BitPacker {
+        public static final int TAILLE_BLOC = 128;
+        static final int MOTS_BITMAP = TAILLE_BLOC / 32;
+        static final int AVEC_EXCEPTIONS = 1 << 8;
+
+        private int n;
+        private int[] repertoire;
+        private int[] donnees;
+        private int[] exceptions;
+
+        @Override
+        public void compress(int[] input) {
+            this.n = input.length;
+            int nbBlocs = (n + TAILLE_BLOC - 1) / TAILLE_BLOC;
+            repertoire = new int[3 * nbBlocs];
+            int[] histo = new int[33];
+            long nbMots = 0;
+            int nbExceptions = 0;
+            // 1) choix de la largeur de chaque bloc à partir de l'histogramme des bits nécessaires
+            for (int bloc = 0; bloc < nbBlocs; bloc++) {
+                int debut = bloc * TAILLE_BLOC;
+                int fin = Math.min(n, debut + TAILLE_BLOC);
+                Arrays.fill(histo, 0);
+                for (int i = debut; i < fin; i++) histo[bitsNeeded(input[i])]++;
+                // coût de la largeur b : les champs, plus le bitmap et 32 bits par exception s'il y en a
+                int meilleurB = 0;
+                int meilleurNbExc = 0;
+                long meilleurCout = Long.MAX_VALUE;
+                int nbExc = fin - debut;
+                for (int b = 0; b <= 32; b++) {
+                    nbExc -= histo[b];
+                    long cout = (long) TAILLE_BLOC * b + (nbExc > 0 ? 32L * (MOTS_BITMAP + nbExc) : 0);
+                    if (cout < meilleurCout) {
+                        meilleurCout = cout;
+                        meilleurB = b;
+                        meilleurNbExc = nbExc;
+                    }
+                }
+                repertoire[3 * bloc] = Math.toIntExact(nbMots);
+                repertoire[3 * bloc + 1] = meilleurB | (meilleurNbExc > 0 ? AVEC_EXCEPTIONS : 0);
+                repertoire[3 * bloc + 2] = nbExceptions;
+                // TAILLE_BLOC champs de b bits = MOTS_BITMAP * b mots
+                nbMots += (meilleurNbExc > 0 ? MOTS_BITMAP : 0) + (long) MOTS_BITMAP * meilleurB;
+                nbExceptions += meilleurNbExc;
+            }
+            donnees = new int[Math.toIntExact(nbMots)];
+            exceptions = new int[nbExceptions];
+
+            // 2) compression bloc par bloc
+            for (int bloc = 0; bloc < nbBlocs; bloc++) {
+                int debut = bloc * TAILLE_BLOC;
+                int fin = Math.min(n, debut + TAILLE_BLOC);
+                int base = repertoire[3 * bloc];
+                int meta = repertoire[3 * bloc + 1];
+                int b = meta & 0xFF;
+                int champs = (meta & AVEC_EXCEPTIONS) != 0 ? base + MOTS_BITMAP : base;
+                int e = repertoire[3 * bloc + 2];
+                for (int i = debut; i < fin; i++) {
+                    int v = input[i];
+                    int pos = i - debut;
+                    if (bitsNeeded(v) > b) {
+                        // exception : bit dans le bitmap et bits de poids fort dans la zone exceptions
+                        donnees[base + (pos >>> 5)] |= 1 << (pos & 31);
+                        exceptions[e++] = v >>> b;
+                    }
+                    if (b > 0) {
+                        int val = v & maskLow(b);
+                        int bitpos = pos * b;
+                        int mot = champs + (bitpos >>> 5);
+                        int decalage = bitpos & 31;
+                        donnees[mot] |= val << decalage;
+                        if (decalage + b > 32) {
+                            donnees[mot + 1] |= val >>> (32 - decalage);
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            if (out.length != n) throw new IllegalArgumentException("longueur de destination non valide");
+            getRange(0, n, out);
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            if (from < 0 || len < 0 || from > n - len) throw new IndexOutOfBoundsException();
+            if (out.length < len) throw new IllegalArgumentException("tableau de sortie trop petit");
+            int i = from;
+            int fin = from + len;
+            while (i < fin) {
+                int bloc = i / TAILLE_BLOC;
+                int debut = bloc * TAILLE_BLOC;
+                int finBloc = Math.min(fin, debut + TAILLE_BLOC);
+                int base = repertoire[3 * bloc];
+                int meta = repertoire[3 * bloc + 1];
+                int b = meta & 0xFF;
+                boolean avecExceptions = (meta & AVEC_EXCEPTIONS) != 0;
+                // les champs du bloc en une fois avec le noyau de décompression
+                unpack(donnees, avecExceptions ? base + MOTS_BITMAP : base, b, i - debut, out, i - from, finBloc - i);
+                if (avecExceptions) {
+                    // on parcourt les bits du bitmap, le rang donne l'indice dans la zone exceptions
+                    int e = repertoire[3 * bloc + 2];
+                    for (int m = 0; m < MOTS_BITMAP; m++) {
+                        int w = donnees[base + m];
+                        while (w != 0) {
+                            int pos = m * 32 + Integer.numberOfTrailingZeros(w);
+                            int j = debut + pos;
+                            if (j >= i && j < finBloc) out[j - from] |= exceptions[e] << b;
+                            e++;
+                            w &= w - 1;
+                        }
+                    }
+                }
+                i = finBloc;
+            }
+        }
+
+        @Override
+        public int get(int i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            int bloc = i / TAILLE_BLOC;
+            int pos = i % TAILLE_BLOC;
+            int base = repertoire[3 * bloc];
+            int meta = repertoire[3 * bloc + 1];
+            int b = meta & 0xFF;
+            boolean avecExceptions = (meta & AVEC_EXCEPTIONS) != 0;
+            int v = 0;
+            if (b > 0) {
+                int bitpos = pos * b;
+                int mot = (avecExceptions ? base + MOTS_BITMAP : base) + (bitpos >>> 5);
+                int decalage = bitpos & 31;
+                v = donnees[mot] >>> decalage;
+                if (decalage + b > 32) {
+                    v |= donnees[mot + 1] << (32 - decalage);
+                }
+                v &= maskLow(b);
+            }
+            if (avecExceptions) {
+                int m = pos >>> 5;
+                int w = donnees[base + m];
+                if (((w >>> (pos & 31)) & 1) != 0) {
+                    // rang de l'exception dans le bloc
+                    int rang = Integer.bitCount(w & maskLow(pos & 31));
+                    for (int j = 0; j < m; j++) rang += Integer.bitCount(donnees[base + j]);
+                    v |= exceptions[repertoire[3 * bloc + 2] + rang] << b;
+                }
+            }
+            return v;
+        }
+
+        @Override
+        public int length() {
+            return n;
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            return 4L * (repertoire.length + donnees.length + exceptions.length);
+        }
+
+        public int getBlockCount() {
+            return repertoire.length / 3;
+        }
+
+        public int getBlockBits(int bloc) {
+            return repertoire[3 * bloc + 1] & 0xFF;
+        }
+
+        public int getExceptionCount() {
+            return exceptions.length;
+        }
+
+        // tableaux internes (format PackedFile) : répertoire de 3 int par bloc, mots des blocs, bits de poids fort des exceptions
+        public int[] getDirectory() {
+            return repertoire;
+        }
+
+        public int[] getPackedData() {
+            return donnees;
+        }
+
+        public int[] getExceptionValues() {
+            return exceptions;
+        }
+    }
+
+    // ---------- Transformations ----------
+    // Compresse une transformation des valeurs au lieu des valeurs elles-mêmes (entiers négatifs acceptés) :
+    //   ZIGZAG : v -> (v << 1) ^ (v >> 31), les petits négatifs deviennent de petits positifs ;
+    //   FOR    : frame of reference, v - min du bloc (différence lue comme non signée) ;
+    //   DELTA  : écart avec la valeur précédente du bloc (zigzag seulement si un écart est négatif),
+    //            idéal pour des identifiants ou des dates triés.
+    // Les valeurs transformées sont rangées comme dans CrossBitPacker. FOR garde une valeur de base par bloc de
+    // TAILLE_BLOC valeurs, DELTA une valeur de repère toutes les PAS_DELTA positions : get(i) est en O(1) pour
+    // FOR et ZIGZAG, et additionne au plus PAS_DELTA - 1 écarts lus à la suite pour DELTA.
+    public static class TransformBitPacker implements BitPacker {
+        public enum Mode { DELTA, FOR, ZIGZAG }
+        public static final int TAILLE_BLOC = 128;
+        // 1 bit par valeur de plus que des bases par bloc, mais get(i) lit 4 fois moins d'écarts
+        public static final int PAS_DELTA = 32;
+
+        private final Mode mode;
+        private int n;
+        private int k;
+        private int[] compresse;
+        private int[] bases;        // DELTA : valeur toutes les PAS_DELTA positions, FOR : min du bloc, ZIGZAG : inutilisé
+        private boolean ecartsZigzag; // DELTA : au moins un écart négatif
+
+        public TransformBitPacker(Mode mode) {
+            this.mode = mode;
+        }
+
+        static int zigzag(int v) {
+            return (v << 1) ^ (v >> 31);
+        }
+
+        static int unzigzag(int z) {
+            return (z >>> 1) ^ -(z & 1);
+        }
+
+        // valeur transformée de la position i (bases déjà calculées)
+        private int transforme(int[] input, int i) {
+            switch (mode) {
+                case ZIGZAG:
+                    return zigzag(input[i]);
+                case FOR:
+                    return input[i] - bases[i / TAILLE_BLOC];
+                default:
+                    if (i % PAS_DELTA == 0) return 0;
+                    int ecart = input[i] - input[i - 1];
+                    return ecartsZigzag ? zigzag(ecart) : ecart;
+            }
+        }
+
+        @Override
+        public void compress(int[] input) {
+            this.n = input.length;
+            int nbBlocs = (n + TAILLE_BLOC - 1) / TAILLE_BLOC;
+            bases = null;
+            ecartsZigzag = false;
+            if (mode == Mode.FOR) {
+                bases = new int[nbBlocs];
+                for (int b = 0; b < nbBlocs; b++) {
+                    int min = Integer.MAX_VALUE;
+                    for (int i = b * TAILLE_BLOC, fin = Math.min(n, i + TAILLE_BLOC); i < fin; i++) {
+                        min = Math.min(min, input[i]);
+                    }
+                    bases[b] = min;
+                }
+            } else if (mode == Mode.DELTA) {
+                bases = new int[(n + PAS_DELTA - 1) / PAS_DELTA];
+                for (int i = 0; i < n; i++) {
+                    if (i % PAS_DELTA == 0) {
+                        bases[i / PAS_DELTA] = input[i];
+                    } else if (input[i] < input[i - 1]) {
+                        ecartsZigzag = true;
+                    }
+                }
+            }
+            // nombre de bits : le OU des valeurs transformées, lues comme non signées
+            int ou = 0;
+            for (int i = 0; i < n; i++) ou |= transforme(input, i);
+            this.k = 32 - Integer.numberOfLeadingZeros(ou);
+            compresse = new int[(int) (((long) n * k + 31) / 32)];
+            if (k == 0) return;
+            for (int i = 0; i < n; i++) {
+                int val = transforme(input, i);
+                long bitpos = (long) i * k;
+                int mot = (int) (bitpos >>> 5);
+                int decalage = (int) (bitpos & 31);
+                compresse[mot] |= val << decalage;
+                if (decalage + k > 32) {
+                    compresse[mot + 1] |= val >>> (32 - decalage);
+                }
+            }
+        }
+
+        // valeur transformée stockée à la position i
+        private int champ(int i) {
+            if (k == 0) return 0;
+            long bitpos = (long) i * k;
+            int mot = (int) (bitpos >>> 5);
+            int decalage = (int) (bitpos & 31);
+            int v = compresse[mot] >>> decalage;
+            if (decalage + k > 32) {
+                v |= compresse[mot + 1] << (32 - decalage);
+            }
+            return v & maskLow(k);
+        }
+
+        @Override
+        public int get(int i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            switch (mode) {
+                case ZIGZAG:
+                    return unzigzag(champ(i));
+                case FOR:
+                    return bases[i / TAILLE_BLOC] + champ(i);
+                default:
+                    // on repart du repère précédent et on ajoute les écarts
+                    return bases[i / PAS_DELTA] + sommeEcarts(i - i % PAS_DELTA + 1, i + 1);
+            }
+        }
+
+        // somme des écarts from..to-1 : même tampon de 64 bits que unpack, chaque mot n'est lu qu'une fois
+        private int sommeEcarts(int from, int to) {
+            if (k == 0 || from >= to) return 0;
+            int mask = maskLow(k);
+            long bitpos = (long) from * k;
+            int mot = (int) (bitpos >>> 5);
+            int decalage = (int) (bitpos & 31);
+            long tampon = (compresse[mot++] & 0xFFFFFFFFL) >>> decalage;
+            int dispo = 32 - decalage;
+            int s = 0;
+            for (int j = from; j < to; j++) {
+                if (dispo < k) {
+                    tampon |= (compresse[mot++] & 0xFFFFFFFFL) << dispo;
+                    dispo += 32;
+                }
+                int ecart = (int) tampon & mask;
+                s += ecartsZigzag ? unzigzag(ecart) : ecart;
+                tampon >>>= k;
+                dispo -= k;
+            }
+            return s;
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            if (out.length != n) throw new IllegalArgumentException("longueur de destination non valide");
+            getRange(0, n, out);
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            if (from < 0 || len < 0 || from > n - len) throw new IndexOutOfBoundsException();
+            if (out.length < len) throw new IllegalArgumentException("tableau de sortie trop petit");
+            // champs en bloc avec le noyau, puis transformation inverse sur place
+            unpack(compresse, k, from, out, 0, len);
+            switch (mode) {
+                case ZIGZAG:
+                    for (int j = 0; j < len; j++) out[j] = unzigzag(out[j]);
+                    break;
+                case FOR:
+                    for (int j = 0; j < len; j++) out[j] += bases[(from + j) / TAILLE_BLOC];
+                    break;
+                default: {
+                    int v = 0;
+                    for (int j = 0; j < len; j++) {
+                        int i = from + j;
+                        if (j == 0) {
+                            v = get(i);
+                        } else if (i % PAS_DELTA == 0) {
+                            v = bases[i / PAS_DELTA];
+                        } else {
+                            v += ecartsZigzag ? unzigzag(out[j]) : out[j];
+                        }
+                        out[j] = v;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int length() {
+            return n;
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            return 4L * (compresse.length + (bases == null ? 0 : bases.length));
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public int getK() {
+            return k;
+        }
+    }
+
+    // ---------- Interleaved packer ----------
+    // Disposition entrelacée sur LANES voies, pensée pour les instructions SIMD :
+    // les valeurs sont regroupées par blocs de LANES * 32 = 256, la valeur r d'un bloc va dans la voie r % LANES
+    // (ligne r / LANES) et chaque voie est un flux "cross" de 32 valeurs de k bits, soit k mots.
+    // Le mot j de la voie l est rangé à l'indice base + j * LANES + l : une ligne de LANES valeurs
+    // se lit / s'écrit donc avec un seul vecteur. Le dernier bloc est complété par des zéros.
+    // Cette classe contient le code scalaire, VectorBitPacker (fichier séparé) surcharge les noyaux
+    // avec jdk.incubator.vector quand le module est disponible.
+    public static class InterleavedBitPacker implements BitPacker {
+        public static final int LANES = 8;
+        public static final int BLOC = LANES * 32;
+
+        private int n;
+        private int k;
+        private int[] compresse;
+
+        @Override
+        public void compress(int[] input) {
+            compress(input, input.length, null);
+        }
+
+        // compresse input[0..len) dans tampon s'il est assez grand (sinon un nouveau tableau est alloué) :
+        // avec un tampon réutilisé cet appel n'alloue rien, getPacked() peut alors être plus long que
+        // nécessaire (seuls getPackedWordCount() mots sont valides)
+        public void compress(int[] input, int len, int[] tampon) {
+            if (len < 0 || len > input.length) throw new IndexOutOfBoundsException();
+            this.n = len;
+            // le OU de toutes les valeurs a le même nombre de bits que le max (et le bit de signe si une valeur est négative)
+            int ou = scanOu(input, n);
+            if (ou < 0) throw new IllegalArgumentException("seulement les entiers positifs ou nuls sont supportés");
+            this.k = bitsNeeded(ou);
+            compresse = reutiliser(tampon, getPackedWordCount());
+            if (k == 0) return;
+            int nbBlocs = (n + BLOC - 1) / BLOC;
+            int blocsComplets = n / BLOC;
+            for (int b = 0; b < blocsComplets; b++) {
+                packBloc(input, b * BLOC, compresse, b * LANES * k, k);
+            }
+            if (blocsComplets < nbBlocs) {
+                packScalaire(input, blocsComplets * BLOC, n - blocsComplets * BLOC, compresse, blocsComplets * LANES * k, k);
+            }
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            if (out.length != n) throw new IllegalArgumentException("longueur de destination non valide");
+            if (k == 0) {
+                Arrays.fill(out, 0);
+                return;
+            }
+            int blocsComplets = n / BLOC;
+            for (int b = 0; b < blocsComplets; b++) {
+                unpackBloc(compresse, b * LANES * k, k, out, b * BLOC);
+            }
+            if (blocsComplets * BLOC < n) {
+                unpackScalaire(compresse, blocsComplets * LANES * k, k, out, blocsComplets * BLOC, n - blocsComplets * BLOC);
+            }
+        }
+
+        @Override
+        public int get(int i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) return 0;
+            int base = (i / BLOC) * LANES * k;
+            int r = i % BLOC;
+            int voie = r % LANES;
+            int bitpos = (r / LANES) * k;
+            int mot = bitpos / 32;
+            int decalage = bitpos % 32;
+            int v = compresse[base + mot * LANES + voie] >>> decalage;
+            if (decalage + k > 32) {
+                // divisé sur deux mots de la même voie
+                v |= compresse[base + (mot + 1) * LANES + voie] << (32 - decalage);
+            }
+            return v & maskLow(k);
+        }
+
+        @Override
+        public int length() {
+            return n;
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            return 4L * getPackedWordCount();
+        }
+
+        public int getK() {
+            return k;
+        }
+
+        public int[] getPacked() {
+            return compresse;
+        }
+
+        public int getPackedWordCount() {
+            return Math.multiplyExact((n + BLOC - 1) / BLOC, LANES * k);
+        }
+
+        // les blocs entièrement compris dans la plage sont décodés par le noyau, le reste valeur par valeur
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            if (from < 0 || len < 0 || from > n - len) throw new IndexOutOfBoundsException();
+            if (out.length < len) throw new IllegalArgumentException("tableau de sortie trop petit");
+            int fin = from + len;
+            int premierBloc = (from + BLOC - 1) / BLOC;
+            int finBlocs = Math.min(fin / BLOC, n / BLOC);
+            if (k == 0 || premierBloc >= finBlocs) {
+                for (int i = from; i < fin; i++) out[i - from] = get(i);
+                return;
+            }
+            for (int i = from; i < premierBloc * BLOC; i++) out[i - from] = get(i);
+            for (int b = premierBloc; b < finBlocs; b++) {
+                unpackBloc(compresse, b * LANES * k, k, out, b * BLOC - from);
+            }
+            for (int i = finBlocs * BLOC; i < fin; i++) out[i - from] = get(i);
+        }
+
+        @Override
+        public int splitAlignment() {
+            return BLOC;
+        }
+
+        // ---- noyaux (versions scalaires) ----
+
+        // OU binaire des len premières valeurs
+        protected int scanOu(int[] input, int len) {
+            int ou = 0;
+            for (int i = 0; i < len; i++) ou |= input[i];
+            return ou;
+        }
+
+        // compresse un bloc complet de BLOC valeurs input[debut..] dans dst à partir de base
+        protected void packBloc(int[] input, int debut, int[] dst, int base, int k) {
+            packScalaire(input, debut, BLOC, dst, base, k);
+        }
+
+        // décompresse un bloc complet de BLOC valeurs dans out à partir de debut
+        protected void unpackBloc(int[] src, int base, int k, int[] out, int debut) {
+            unpackScalaire(src, base, k, out, debut, BLOC);
+        }
+
+        static void packScalaire(int[] input, int debut, int len, int[] dst, int base, int k) {
+            for (int r = 0; r < len; r++) {
+                int val = input[debut + r];
+                int voie = r % LANES;
+                int bitpos = (r / LANES) * k;
+                int mot = bitpos / 32;
+                int decalage = bitpos % 32;
+                dst[base + mot * LANES + voie] |= val << decalage;
+                if (decalage + k > 32) {
+                    dst[base + (mot + 1) * LANES + voie] |= val >>> (32 - decalage);
+                }
+            }
+        }
+
+        static void unpackScalaire(int[] src, int base, int k, int[] out, int debut, int len) {
+            int mask = maskLow(k);
+            for (int r = 0; r < len; r++) {
+                int voie = r % LANES;
+                int bitpos = (r / LANES) * k;
+                int mot = bitpos / 32;
+                int decalage = bitpos % 32;
+                int v = src[base + mot * LANES + voie] >>> decalage;
+                if (decalage + k > 32) {
+                    v |= src[base + (mot + 1) * LANES + voie] << (32 - decalage);
+                }
+                out[debut + r] = v & mask;
+            }
+        }
+    }
+
+    // ---------- Large packer ----------
+    // Même principe que CrossBitPacker mais pour plus de 2^31 valeurs : indices et positions en bits sur 64 bits,
+    // stockage en mots de 64 bits découpé en morceaux de 2^LOG_VALEURS_PAR_MORCEAU valeurs.
+    // Un morceau fait exactement VALEURS_PAR_MORCEAU * k bits (multiple de 64) : une valeur ne traverse jamais deux morceaux.
+    // Les valeurs sont fournies par une fonction indice -> valeur (fichier, plusieurs tableaux, ...) car un int[]
+    // ne peut pas en contenir plus de 2^31.
+    public static class LargeBitPacker implements BitPacker {
+        public static final int LOG_VALEURS_PAR_MORCEAU = 22;
+        public static final int VALEURS_PAR_MORCEAU = 1 << LOG_VALEURS_PAR_MORCEAU;
+
+        private long n;
+        private int k;
+        private long[][] morceaux;
+
+        @Override
+        public void compress(int[] input) {
+            compress(input.length, i -> input[(int) i]);
+        }
+
+        // deux passes sur la source : recherche du max puis compression
+        public void compress(long taille, LongToIntFunction source) {
+            if (taille < 0) throw new IllegalArgumentException("taille négative");
+            this.n = taille;
+            int max = 0;
+            for (long i = 0; i < taille; i++) {
+                int v = source.applyAsInt(i);
+                if (v < 0) throw new IllegalArgumentException("seulement les entiers positifs ou nuls sont supportés");
+                if (v > max) max = v;
+            }
+            this.k = bitsNeeded(max);
+            int nbMorceaux = Math.toIntExact((taille + VALEURS_PAR_MORCEAU - 1) >>> LOG_VALEURS_PAR_MORCEAU);
+            morceaux = new long[nbMorceaux][];
+            for (int m = 0; m < nbMorceaux; m++) {
+                long nbValeurs = Math.min(VALEURS_PAR_MORCEAU, taille - ((long) m << LOG_VALEURS_PAR_MORCEAU));
+                morceaux[m] = new long[(int) ((nbValeurs * k + 63) / 64)];
+            }
+            if (k == 0) return;
+            for (long i = 0; i < taille; i++) {
+                long val = source.applyAsInt(i) & 0xFFFFFFFFL;
+                long[] morceau = morceaux[(int) (i >>> LOG_VALEURS_PAR_MORCEAU)];
+                int bitpos = (int) (i & (VALEURS_PAR_MORCEAU - 1)) * k;
+                int mot = bitpos >>> 6;
+                int decalage = bitpos & 63;
+                morceau[mot] |= val << decalage;
+                if (decalage + k > 64) {
+                    // divisé sur deux longs
+                    morceau[mot + 1] |= val >>> (64 - decalage);
+                }
+            }
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            if (out.length != n) throw new IllegalArgumentException("longueur de destination non valide");
+            decompress(0, out, 0, out.length);
+        }
+
+        // décompresse les valeurs from..from+len-1 dans dst à partir de off, morceau par morceau
+        public void decompress(long from, int[] dst, int off, int len) {
+            if (from < 0 || len < 0 || from > n - len) throw new IndexOutOfBoundsException();
+            if (off < 0 || off > dst.length - len) throw new IndexOutOfBoundsException();
+            while (len > 0) {
+                int dansMorceau = (int) (from & (VALEURS_PAR_MORCEAU - 1));
+                int l = Math.min(len, VALEURS_PAR_MORCEAU - dansMorceau);
+                unpack(morceaux[(int) (from >>> LOG_VALEURS_PAR_MORCEAU)], k, dansMorceau, dst, off, l);
+                from += l;
+                off += l;
+                len -= l;
+            }
+        }
+
+        // noyau de décompression sur des mots de 64 bits : le mot courant est gardé d'une valeur à la suivante,
+        // chaque mot n'est lu qu'une fois et la position avance sans division
+        static void unpack(long[] src, int k, int from, int[] dst, int off, int len) {
+            if (len <= 0) return;
+            if (k == 0) {
+                Arrays.fill(dst, off, off + len, 0);
+                return;
+            }
+            long mask = (1L << k) - 1;
+            long bitpos = (long) from * k;
+            int mot = (int) (bitpos >>> 6);
+            int decalage = (int) (bitpos & 63);
+            long courant = src[mot];
+            for (int i = off, fin = off + len; i < fin; i++) {
+                long v = courant >>> decalage;
+                decalage += k;
+                if (decalage >= 64) {
+                    decalage -= 64;
+                    mot++;
+                    if (decalage > 0) {
+                        // divisé sur deux longs
+                        courant = src[mot];
+                        v |= courant << (k - decalage);
+                    } else if (i + 1 < fin) {
+                        courant = src[mot];
+                    }
+                }
+                dst[i] = (int) (v & mask);
+            }
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            if (out.length < len) throw new IllegalArgumentException("tableau de sortie trop petit");
+            decompress(from, out, 0, len);
+        }
+
+        // ---- parcours et agrégats sur des indices long ----
+        // les versions int de BitPacker passent par length(), limitée à 2^31 valeurs ;
+        // select (BitSet indexé par int) n'est pas supporté au-delà
+
+        public long sum(long from, long to) {
+            verifierPlage(from, to);
+            int[] tampon = new int[TAILLE_PARCOURS];
+            long s = 0;
+            for (long i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = (int) Math.min(TAILLE_PARCOURS, to - i);
+                decompress(i, tampon, 0, len);
+                for (int j = 0; j < len; j++) s += tampon[j];
+            }
+            return s;
+        }
+
+        public int min(long from, long to) {
+            verifierPlage(from, to);
+            if (from == to) throw new IllegalArgumentException("plage vide");
+            int[] tampon = new int[TAILLE_PARCOURS];
+            int m = Integer.MAX_VALUE;
+            for (long i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = (int) Math.min(TAILLE_PARCOURS, to - i);
+                decompress(i, tampon, 0, len);
+                for (int j = 0; j < len; j++) m = Math.min(m, tampon[j]);
+            }
+            return m;
+        }
+
+        public int max(long from, long to) {
+            verifierPlage(from, to);
+            if (from == to) throw new IllegalArgumentException("plage vide");
+            int[] tampon = new int[TAILLE_PARCOURS];
+            int m = Integer.MIN_VALUE;
+            for (long i = from; i < to; i += TAILLE_PARCOURS) {
+                int len = (int) Math.min(TAILLE_PARCOURS, to - i);
+                decompress(i, tampon, 0, len);
+                for (int j = 0; j < len; j++) m = Math.max(m, tampon[j]);
+            }
+            return m;
+        }
+
+        // nombre de valeurs v avec lo <= v <= hi, sur les n valeurs
+        public long countLong(int lo, int hi) {
+            if (lo > hi) return 0;
+            int ecart = hi - lo;
+            int[] tampon = new int[TAILLE_PARCOURS];
+            long c = 0;
+            for (long i = 0; i < n; i += TAILLE_PARCOURS) {
+                int len = (int) Math.min(TAILLE_PARCOURS, n - i);
+                decompress(i, tampon, 0, len);
+                for (int j = 0; j < len; j++) {
+                    if (Integer.compareUnsigned(tampon[j] - lo, ecart) <= 0) c++;
+                }
+            }
+            return c;
+        }
+
+        private void verifierPlage(long from, long to) {
+            if (from < 0 || to > n || from > to) throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public long sum(int from, int to) {
+            return sum((long) from, (long) to);
+        }
+
+        @Override
+        public int min(int from, int to) {
+            return min((long) from, (long) to);
+        }
+
+        @Override
+        public int max(int from, int to) {
+            return max((long) from, (long) to);
+        }
+
+        // ArithmeticException si le résultat dépasse un int : utiliser countLong
+        @Override
+        public int count(int lo, int hi) {
+            return Math.toIntExact(countLong(lo, hi));
+        }
+
+        // un morceau commence toujours sur un long : tout multiple de 64 valeurs aussi
+        @Override
+        public int splitAlignment() {
+            return 64;
+        }
+
+        // parcours de toutes les valeurs, y compris au-delà de 2^31
+        @Override
+        public Spliterator.OfInt spliterator() {
+            return new PackedSpliterator((f, len, out) -> decompress(f, out, 0, len), splitAlignment(), 0, n);
+        }
+
+        @Override
+        public int get(int i) {
+            return get((long) i);
+        }
+
+        public int get(long i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (k == 0) return 0;
+            long[] morceau = morceaux[(int) (i >>> LOG_VALEURS_PAR_MORCEAU)];
+            int bitpos = (int) (i & (VALEURS_PAR_MORCEAU - 1)) * k;
+            int mot = bitpos >>> 6;
+            int decalage = bitpos & 63;
+            long v = morceau[mot] >>> decalage;
+            if (decalage + k > 64) {
+                v |= morceau[mot + 1] << (64 - decalage);
+            }
+            return (int) v & maskLow(k);
+        }
+
+        // n ne tient pas forcément dans un int : utiliser longLength() (length() lève ArithmeticException
+        // au-delà de 2^31 valeurs, comme select et les enveloppes qui s'en servent)
+        @Override
+        public int length() {
+            return Math.toIntExact(n);
+        }
+
+        public long longLength() {
+            return n;
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            long octets = 0;
+            for (long[] morceau : morceaux) octets += 8L * morceau.length;
+            return octets;
+        }
+
+        public int getK() {
+            return k;
+        }
+
+        public long[][] getChunks() {
+            return morceaux;
+        }
+    }
+
+    // ---------- Persistance ----------
+    // Format de fichier versionné (little-endian) :
+    //   en-tête de TAILLE_ENTETE octets : magic, version, type, n (long), k / petitK, bitsChamp, nbDebordement,
+    //   nbMots (long, en mots de 32 bits), puis les mots compressés, puis la zone de débordement (nbDebordement int).
+    // PFOR : k = bitsChamp = 0, les mots sont le répertoire (3 int par bloc) suivi des mots des blocs, la zone de
+    // débordement contient les exceptions.
+    // L'en-tête fait 64 octets pour que les mots (et les longs de LARGE) restent alignés dans le fichier.
+    // open() projette le fichier en mémoire en lecture seule : get(i) lit directement dans la projection,
+    // sans copie sur le tas, le cache de pages est partagé entre processus et le fichier peut dépasser le tas.
+    public static class PackedFile {
+        public static final int MAGIC = 0x4B504942; // "BIPK"
+        public static final int VERSION = 1;
+        public static final int TAILLE_ENTETE = 64;
+        // une projection fait au plus 2 Go : le fichier est projeté par segments de 2^LOG_SEGMENT octets
+        static final int LOG_SEGMENT = 30;
+
+        // code de type stocké dans le fichier (indépendant de l'ordre de l'enum)
+        static int codeType(BitPackerFactory.Type t) {
+            return switch (t) {
+                case CROSS -> 1;
+                case NOCROSS -> 2;
+                case OVERFLOW -> 3;
+                case VECTOR -> 4;
+                case LARGE -> 5;
+                case PFOR -> 6;
+                default -> throw new IllegalArgumentException("type non persistant : " + t);
+            };
+        }
+
+        static BitPackerFactory.Type typeDuCode(int code) throws IOException {
+            return switch (code) {
+                case 1 -> BitPackerFactory.Type.CROSS;
+                case 2 -> BitPackerFactory.Type.NOCROSS;
+                case 3 -> BitPackerFactory.Type.OVERFLOW;
+                case 4 -> BitPackerFactory.Type.VECTOR;
+                case 5 -> BitPackerFactory.Type.LARGE;
+                case 6 -> BitPackerFactory.Type.PFOR;
+                default -> throw new IOException("type inconnu : " + code);
+            };
+        }
+
+        public static void write(BitPacker packer, Path chemin) throws IOException {
+            try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                write(packer, canal);
+            }
+        }
+
+        public static void write(BitPacker packer, WritableByteChannel canal) throws IOException {
+            write(packer, canal, ByteBuffer.allocateDirect(1 << 16));
+        }
+
+        // écrit en passant par tampon (au moins TAILLE_ENTETE octets) : un appelant qui écrit beaucoup
+        // de petits compresseurs réutilise le sien au lieu d'en allouer un par appel
+        static void write(BitPacker packer, WritableByteChannel canal, ByteBuffer tampon) throws IOException {
+            long n;
+            int k;
+            int bitsChamp = 0;
+            int nbDebordement = 0;
+            BitPackerFactory.Type type;
+            int[] mots;
+            long nbMots;
+            int[] debordement = null;
+            int[] repertoire = null;
+            long[][] motsLongs = null;
+            if (packer instanceof CrossBitPacker c) {
+                type = BitPackerFactory.Type.CROSS;
+                n = c.length();
+                k = c.getK();
+                mots = c.getPacked();
+                nbMots = c.getPackedWordCount();
+            } else if (packer instanceof NoCrossBitPacker c) {
+                type = BitPackerFactory.Type.NOCROSS;
+                n = c.length();
+                k = c.getK();
+                mots = c.getPacked();
+                nbMots = c.getPackedWordCount();
+            } else if (packer instanceof OverflowBitPacker o) {
+                type = BitPackerFactory.Type.OVERFLOW;
+                n = o.length();
+                k = o.getSmallK();
+                bitsChamp = o.getFieldBits();
+                nbDebordement = o.getOverflowCount();
+                mots = o.getPackedFields();
+                nbMots = o.getPackedWordCount();
+                debordement = o.getOverflowValues();
+            } else if (packer instanceof InterleavedBitPacker v) {
+                type = BitPackerFactory.Type.VECTOR;
+                n = v.length();
+                k = v.getK();
+                mots = v.getPacked();
+                nbMots = v.getPackedWordCount();
+            } else if (packer instanceof PforBitPacker p) {
+                type = BitPackerFactory.Type.PFOR;
+                n = p.length();
+                k = 0;
+                repertoire = p.getDirectory();
+                mots = p.getPackedData();
+                nbMots = (long) repertoire.length + mots.length;
+                debordement = p.getExceptionValues();
+                nbDebordement = debordement.length;
+            } else if (packer instanceof LargeBitPacker l) {
+                type = BitPackerFactory.Type.LARGE;
+                n = l.longLength();
+                k = l.getK();
+                mots = null;
+                motsLongs = l.getChunks();
+                nbMots = 0;
+                for (long[] morceau : motsLongs) nbMots += 2L * morceau.length;
+            } else {
+                throw new IllegalArgumentException("type de compresseur non supporté : " + packer.getClass().getSimpleName());
+            }
+
+            // l'en-tête occupe les TAILLE_ENTETE premiers octets du tampon (reste à zéro)
+            tampon.clear().order(ByteOrder.LITTLE_ENDIAN);
+            tampon.putInt(MAGIC).putInt(VERSION).putInt(codeType(type)).putLong(n)
+                  .putInt(k).putInt(bitsChamp).putInt(nbDebordement).putLong(nbMots);
+            while (tampon.position() < TAILLE_ENTETE) tampon.put((byte) 0);
+            if (motsLongs != null) {
+                for (long[] morceau : motsLongs) {
+                    for (long l : morceau) {
+                        if (tampon.remaining() < 8) vider(canal, tampon);
+                        tampon.putLong(l);
+                    }
+                }
+            } else {
+                int dejaEcrits = 0;
+                if (repertoire != null) {
+                    for (int r : repertoire) {
+                        if (tampon.remaining() < 4) vider(canal, tampon);
+                        tampon.putInt(r);
+                    }
+                    dejaEcrits = repertoire.length;
+                }
+                for (long i = 0; i < nbMots - dejaEcrits; i++) {
+                    if (tampon.remaining() < 4) vider(canal, tampon);
+                    tampon.putInt(mots[(int) i]);
+                }
+            }
+            for (int i = 0; i < nbDebordement; i++) {
+                if (tampon.remaining() < 4) vider(canal, tampon);
+                tampon.putInt(debordement[i]);
+            }
+            vider(canal, tampon);
+        }
+
+        private static void vider(WritableByteChannel canal, ByteBuffer tampon) throws IOException {
+            tampon.flip();
+            ecrireTout(canal, tampon);
+            tampon.clear();
+        }
+
+        private static void ecrireTout(WritableByteChannel canal, ByteBuffer b) throws IOException {
+            while (b.hasRemaining()) canal.write(b);
+        }
+
+        // projette le fichier en lecture seule
+        public static MappedBitPacker open(Path chemin) throws IOException {
+            return open(chemin, LOG_SEGMENT);
+        }
+
+        // projection par segments de 2^logSegment octets (les tests en prennent de petits pour franchir
+        // des limites de segment sans fichier de plusieurs Go) ; un segment contient au moins l'en-tête
+        static MappedBitPacker open(Path chemin, int logSegment) throws IOException {
+            if (logSegment < 6 || logSegment > LOG_SEGMENT) throw new IllegalArgumentException("logSegment non valide : " + logSegment);
+            try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+                long taille = canal.size();
+                int nbSegments = Math.toIntExact((taille + (1L << logSegment) - 1) >>> logSegment);
+                ByteBuffer[] segments = new ByteBuffer[Math.max(1, nbSegments)];
+                for (int s = 0; s < nbSegments; s++) {
+                    long debut = (long) s << logSegment;
+                    segments[s] = canal.map(FileChannel.MapMode.READ_ONLY, debut, Math.min(1L << logSegment, taille - debut));
+                }
+                if (nbSegments == 0) segments[0] = ByteBuffer.allocate(0);
+                // la projection reste valide après la fermeture du canal
+                return new MappedBitPacker(segments, logSegment);
+            }
+        }
+
+        // lit le format depuis un tampon (tas ou direct) sans copie ; un tampon fait moins de 2^31 octets,
+        // c'est donc un seul segment quelle que soit sa taille
+        public static MappedBitPacker read(ByteBuffer tampon) throws IOException {
+            return new MappedBitPacker(new ByteBuffer[] { tampon.slice() }, 31);
+        }
+
+        // nombre de mots de 32 bits de la zone packée pour ces paramètres d'en-tête (voir write)
+        static long motsAttendus(BitPackerFactory.Type type, long n, int k, int bitsChamp) {
+            return switch (type) {
+                case CROSS -> (n * k + 31) / 32;
+                case NOCROSS -> k == 0 ? 0 : (n + 32 / k - 1) / (32 / k);
+                case OVERFLOW -> (n * bitsChamp + 31) / 32;
+                case VECTOR -> (n + InterleavedBitPacker.BLOC - 1) / InterleavedBitPacker.BLOC * InterleavedBitPacker.LANES * k;
+                case LARGE -> {
+                    long complets = n >>> LargeBitPacker.LOG_VALEURS_PAR_MORCEAU;
+                    long reste = n & (LargeBitPacker.VALEURS_PAR_MORCEAU - 1);
+                    yield 2 * (complets * ((long) LargeBitPacker.VALEURS_PAR_MORCEAU * k / 64) + (reste * k + 63) / 64);
+                }
+                // répertoire seul : les mots des blocs dépendent des largeurs choisies (vérifiées à l'ouverture)
+                case PFOR -> 3 * ((n + PforBitPacker.TAILLE_BLOC - 1) / PforBitPacker.TAILLE_BLOC);
+                default -> throw new IllegalArgumentException("type non persistant : " + type);
+            };
+        }
+    }
+
+    // Lecteur en lecture seule du format PackedFile : les accès se font directement dans les tampons
+    public static class MappedBitPacker implements BitPacker {
+        private final ByteBuffer[] segments;
+        private final BitPackerFactory.Type type;
+        private final long n;
+        private final int k;
+        private final int bitsChamp;
+        private final int nbDebordement;
+        private final long nbMots;
+        private final long debutDebordement; // en octets
+        private final int logSegment;
+        private final int nbBlocsPfor;       // PFOR : les mots des blocs commencent après 3 * nbBlocsPfor mots
+        private final boolean valeursNulles; // k = 0 pour un type à largeur unique : toutes les valeurs sont nulles
+
+        MappedBitPacker(ByteBuffer[] segments, int logSegment) throws IOException {
+            this.segments = segments;
+            this.logSegment = logSegment;
+            for (ByteBuffer seg : segments) seg.order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer premier = segments[0];
+            if (premier.limit() < PackedFile.TAILLE_ENTETE || premier.getInt(0) != PackedFile.MAGIC) {
+                throw new IOException("format non reconnu");
+            }
+            int version = premier.getInt(4);
+            if (version != PackedFile.VERSION) throw new IOException("version non supportée : " + version);
+            this.type = PackedFile.typeDuCode(premier.getInt(8));
+            this.n = premier.getLong(12);
+            this.k = premier.getInt(20);
+            this.bitsChamp = premier.getInt(24);
+            this.nbDebordement = premier.getInt(28);
+            this.nbMots = premier.getLong(32);
+            // en-tête cohérent avant toute lecture : une valeur corrompue ne doit pas donner de lectures hors zone
+            int kMax = type == BitPackerFactory.Type.OVERFLOW ? 31 : 32;
+            if (n < 0 || k < 0 || k > kMax) throw new IOException("en-tête non valide : n=" + n + ", k=" + k);
+            boolean pfor = type == BitPackerFactory.Type.PFOR;
+            if (type == BitPackerFactory.Type.OVERFLOW) {
+                if (bitsChamp < 1 || bitsChamp > 32 || nbDebordement < 0 || nbDebordement > n) {
+                    throw new IOException("en-tête non valide : bitsChamp=" + bitsChamp + ", débordements=" + nbDebordement);
+                }
+            } else if (pfor) {
+                if (k != 0 || bitsChamp != 0 || nbDebordement < 0 || nbDebordement > n || n > Integer.MAX_VALUE) {
+                    throw new IOException("en-tête PFOR non valide");
+                }
+            } else if (bitsChamp != 0 || nbDebordement != 0) {
+                throw new IOException("en-tête non valide : champs de débordement pour le type " + type);
+            }
+            long attendus = n > Long.MAX_VALUE / 32 ? -1 : PackedFile.motsAttendus(type, n, k, bitsChamp);
+            if (pfor ? nbMots < attendus || nbMots > Integer.MAX_VALUE : nbMots != attendus) {
+                throw new IOException("en-tête non valide : " + nbMots + " mots pour n=" + n + ", k=" + k);
+            }
+            this.debutDebordement = PackedFile.TAILLE_ENTETE + 4 * nbMots;
+            long tailleAttendue = debutDebordement + 4L * nbDebordement;
+            long taille = 0;
+            for (ByteBuffer seg : segments) taille += seg.limit();
+            if (taille < tailleAttendue) throw new IOException("fichier tronqué");
+            this.nbBlocsPfor = pfor ? (int) (attendus / 3) : 0;
+            this.valeursNulles = k == 0 && !pfor && type != BitPackerFactory.Type.OVERFLOW;
+            if (pfor) verifierRepertoire();
+        }
+
+        // PFOR : chaque bloc du répertoire doit tomber dans la zone des mots, ses exceptions dans la zone de débordement
+        private void verifierRepertoire() throws IOException {
+            long motsBlocs = nbMots - 3L * nbBlocsPfor;
+            long base = 0;
+            long exceptions = 0;
+            for (int bloc = 0; bloc < nbBlocsPfor; bloc++) {
+                int meta = lireMot(3L * bloc + 1);
+                int b = meta & 0xFF;
+                if (lireMot(3L * bloc) != base || lireMot(3L * bloc + 2) != exceptions
+                        || b > 32 || (meta & ~(0xFF | PforBitPacker.AVEC_EXCEPTIONS)) != 0) {
+                    throw new IOException("répertoire PFOR non valide au bloc " + bloc);
+                }
+                boolean avecExceptions = (meta & PforBitPacker.AVEC_EXCEPTIONS) != 0;
+                if (avecExceptions) {
+                    for (int m = 0; m < PforBitPacker.MOTS_BITMAP; m++) {
+                        if (base + m >= motsBlocs) throw new IOException("répertoire PFOR non valide au bloc " + bloc);
+                        exceptions += Integer.bitCount(lireMot(3L * nbBlocsPfor + base + m));
+                    }
+                }
+                base += (avecExceptions ? PforBitPacker.MOTS_BITMAP : 0) + (long) PforBitPacker.MOTS_BITMAP * b;
+                if (base > motsBlocs) throw new IOException("répertoire PFOR non valide au bloc " + bloc);
+            }
+            if (base != motsBlocs || exceptions != nbDebordement) throw new IOException("répertoire PFOR non valide");
+        }
+
+        // lecture d'un int à une position en octets (alignée sur 4, donc jamais à cheval sur deux segments)
+        private int lireInt(long octet) {
+            return segments[(int) (octet >>> logSegment)].getInt((int) (octet & ((1 << logSegment) - 1)));
+        }
+
+        // alignée sur 8 (zone LARGE après un en-tête de 64 octets), jamais à cheval sur deux segments
+        private long lireLong(long octet) {
+            return segments[(int) (octet >>> logSegment)].getLong((int) (octet & ((1 << logSegment) - 1)));
+        }
+
+        private int lireMot(long mot) {
+            return lireInt(PackedFile.TAILLE_ENTETE + 4 * mot);
+        }
+
+        // extrait un champ de largeur bits dans une zone "cross"
+        private int lireChamp(long bitpos, int largeur) {
+            long mot = bitpos >>> 5;
+            int decalage = (int) (bitpos & 31);
+            int v = lireMot(mot) >>> decalage;
+            if (decalage + largeur > 32) {
+                v |= lireMot(mot + 1) << (32 - decalage);
+            }
+            return v & maskLow(largeur);
+        }
+
+        @Override
+        public void compress(int[] input) {
+            throw new UnsupportedOperationException("compresseur projeté en lecture seule");
+        }
+
+        // champs consécutifs de largeur bits à partir de bitpos, lus mot à mot dans un tampon de 64 bits
+        private void lireZone(long bitpos, int largeur, int[] dst, int off, int len) {
+            long mot = bitpos >>> 5;
+            int decalage = (int) (bitpos & 31);
+            long tampon = (lireMot(mot) & 0xFFFFFFFFL) >>> decalage;
+            int dispo = 32 - decalage;
+            long masque = (1L << largeur) - 1;
+            for (int j = off; j < off + len; j++) {
+                if (dispo < largeur) {
+                    tampon |= (lireMot(++mot) & 0xFFFFFFFFL) << dispo;
+                    dispo += 32;
+                }
+                dst[j] = (int) (tampon & masque);
+                tampon >>>= largeur;
+                dispo -= largeur;
+            }
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            if (out.length != n) throw new IllegalArgumentException("longueur de destination non valide");
+            decompress(0, out, 0, out.length);
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            if (out.length < len) throw new IllegalArgumentException("tableau de sortie trop petit");
+            decompress(from, out, 0, len);
+        }
+
+        // décode [from, from + len) dans dst[off, off + len) : CROSS, NOCROSS et OVERFLOW lisent chaque mot
+        // une seule fois, VECTOR et LARGE passent par get
+        public void decompress(long from, int[] dst, int off, int len) {
+            if (from < 0 || len < 0 || from > n - len) throw new IndexOutOfBoundsException();
+            if (off < 0 || off > dst.length - len) throw new IndexOutOfBoundsException();
+            if (len == 0) return;
+            if (valeursNulles) {
+                Arrays.fill(dst, off, off + len, 0);
+                return;
+            }
+            switch (type) {
+                case CROSS:
+                    lireZone(from * k, k, dst, off, len);
+                    return;
+                case NOCROSS: {
+                    int parMot = 32 / k;
+                    int masque = maskLow(k);
+                    long mot = from / parMot;
+                    int r = (int) (from % parMot);
+                    int w = lireMot(mot) >>> (r * k);
+                    for (int j = off; j < off + len; j++) {
+                        if (r == parMot) {
+                            w = lireMot(++mot);
+                            r = 0;
+                        }
+                        dst[j] = w & masque;
+                        w >>>= k;
+                        r++;
+                    }
+                    return;
+                }
+                case OVERFLOW:
+                    lireZone(from * bitsChamp, bitsChamp, dst, off, len);
+                    for (int j = off; j < off + len; j++) {
+                        int valeurChamp = dst[j];
+                        dst[j] = (valeurChamp & 1) == 0 ? valeurChamp >>> 1
+                                : lireInt(debutDebordement + 4L * (valeurChamp >>> 1));
+                    }
+                    return;
+                default:
+                    for (int j = 0; j < len; j++) dst[off + j] = get(from + j);
+            }
+        }
+
+        @Override
+        public int get(int i) {
+            return get((long) i);
+        }
+
+        public int get(long i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            if (valeursNulles) return 0;
+            switch (type) {
+                case CROSS:
+                    return lireChamp(i * k, k);
+                case NOCROSS: {
+                    int parMot = 32 / k;
+                    return (lireMot(i / parMot) >>> ((int) (i % parMot) * k)) & maskLow(k);
+                }
+                case OVERFLOW: {
+                    int valeurChamp = lireChamp(i * bitsChamp, bitsChamp);
+                    if ((valeurChamp & 1) == 0) return valeurChamp >>> 1;
+                    return lireInt(debutDebordement + 4L * (valeurChamp >>> 1));
+                }
+                case VECTOR: {
+                    int lanes = InterleavedBitPacker.LANES;
+                    long base = (i / InterleavedBitPacker.BLOC) * lanes * k;
+                    int r = (int) (i % InterleavedBitPacker.BLOC);
+                    int bitpos = (r / lanes) * k;
+                    int mot = bitpos / 32;
+                    int decalage = bitpos % 32;
+                    int v = lireMot(base + (long) mot * lanes + r % lanes) >>> decalage;
+                    if (decalage + k > 32) {
+                        v |= lireMot(base + (long) (mot + 1) * lanes + r % lanes) << (32 - decalage);
+                    }
+                    return v & maskLow(k);
+                }
+                case PFOR:
+                    return getPfor((int) i);
+                case LARGE: {
+                    // les morceaux complets font exactement VALEURS_PAR_MORCEAU * k / 64 longs
+                    long debutMorceau = (i >>> LargeBitPacker.LOG_VALEURS_PAR_MORCEAU)
+                            * ((long) LargeBitPacker.VALEURS_PAR_MORCEAU * k / 64);
+                    int bitpos = (int) (i & (LargeBitPacker.VALEURS_PAR_MORCEAU - 1)) * k;
+                    long octet = PackedFile.TAILLE_ENTETE + 8 * (debutMorceau + (bitpos >>> 6));
+                    int decalage = bitpos & 63;
+                    long v = lireLong(octet) >>> decalage;
+                    if (decalage + k > 64) {
+                        v |= lireLong(octet + 8) << (64 - decalage);
+                    }
+                    return (int) v & maskLow(k);
+                }
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        @Override
+        public int length() {
+            return Math.toIntExact(n);
+        }
+
+        public long longLength() {
+            return n;
+        }
+
+        // même lecture que PforBitPacker.get, le répertoire et les blocs étant lus dans la projection
+        private int getPfor(int i) {
+            int bloc = i / PforBitPacker.TAILLE_BLOC;
+            int pos = i % PforBitPacker.TAILLE_BLOC;
+            long base = 3L * nbBlocsPfor + lireMot(3L * bloc);
+            int meta = lireMot(3L * bloc + 1);
+            int b = meta & 0xFF;
+            boolean avecExceptions = (meta & PforBitPacker.AVEC_EXCEPTIONS) != 0;
+            int v = 0;
+            if (b > 0) {
+                long champs = avecExceptions ? base + PforBitPacker.MOTS_BITMAP : base;
+                v = lireChamp(32 * champs + (long) pos * b, b);
+            }
+            if (avecExceptions) {
+                int m = pos >>> 5;
+                int w = lireMot(base + m);
+                if (((w >>> (pos & 31)) & 1) != 0) {
+                    int rang = Integer.bitCount(w & maskLow(pos & 31));
+                    for (int j = 0; j < m; j++) rang += Integer.bitCount(lireMot(base + j));
+                    v |= lireInt(debutDebordement + 4L * (lireMot(3L * bloc + 2) + rang)) << b;
+                }
+            }
+            return v;
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            return 4 * nbMots + 4L * nbDebordement;
+        }
+
+        public BitPackerFactory.Type getType() {
+            return type;
+        }
+    }
+
+    // ---------- Flux ----------
+    // Compression au fil de l'eau : les valeurs arrivent une par une (add) ou par paquets (addAll),
+    // on les accumule dans un bloc de TAILLE_BLOC valeurs qui est compressé dès qu'il est plein
+    // avec son propre k (valeurs lues comme non signées, les négatifs sont donc acceptés avec k = 32).
+    // PackedArrayBuilder garde les blocs en mémoire, StreamEncoder les écrit dans un canal :
+    // la mémoire utilisée par StreamEncoder / StreamDecoder ne dépend pas de la taille des données.
+    // Format d'un bloc dans un canal (little-endian) : en-tête int (nbValeurs << 6 | k) puis ceil(nbValeurs * k / 32) mots.
+    public abstract static class BlockEncoder {
+        public static final int TAILLE_BLOC = 1024;
+
+        private final int[] bloc = new int[TAILLE_BLOC];
+        private final int[] mots = new int[TAILLE_BLOC]; // au plus 1024 valeurs de 32 bits
+        private int nbBloc;     // valeurs dans le bloc courant
+        private long total;     // valeurs ajoutées depuis le début
+
+        public void add(int v) {
+            bloc[nbBloc++] = v;
+            total++;
+            if (nbBloc == TAILLE_BLOC) flushBloc();
+        }
+
+        public void addAll(int[] valeurs, int off, int len) {
+            if (off < 0 || len < 0 || off > valeurs.length - len) throw new IndexOutOfBoundsException();
+            while (len > 0) {
+                int n = Math.min(len, TAILLE_BLOC - nbBloc);
+                System.arraycopy(valeurs, off, bloc, nbBloc, n);
+                nbBloc += n;
+                total += n;
+                off += n;
+                len -= n;
+                if (nbBloc == TAILLE_BLOC) flushBloc();
+            }
+        }
+
+        public long size() {
+            return total;
+        }
+
+        // compresse le bloc courant (même partiel) et le transmet à ecrireBloc
+        protected void flushBloc() {
+            if (nbBloc == 0) return;
+            int ou = 0;
+            for (int i = 0; i < nbBloc; i++) ou |= bloc[i];
+            int k = 32 - Integer.numberOfLeadingZeros(ou);
+            int nbMots = (nbBloc * k + 31) / 32;
+            Arrays.fill(mots, 0, nbMots, 0);
+            for (int i = 0; i < nbBloc && k > 0; i++) {
+                int bitpos = i * k;
+                int mot = bitpos >>> 5;
+                int decalage = bitpos & 31;
+                mots[mot] |= bloc[i] << decalage;
+                if (decalage + k > 32) {
+                    mots[mot + 1] |= bloc[i] >>> (32 - decalage);
+                }
+            }
+            ecrireBloc(nbBloc, k, mots, nbMots);
+            nbBloc = 0;
+        }
+
+        // valeurs du bloc pas encore compressé (pour les lectures avant la fin)
+        int[] blocCourant() {
+            return bloc;
+        }
+
+        int tailleBlocCourant() {
+            return nbBloc;
+        }
+
+        protected abstract void ecrireBloc(int nbValeurs, int k, int[] mots, int nbMots);
+    }
+
+    // Tableau compressé qui grandit par ajouts successifs, sans connaître la taille à l'avance.
+    // Les blocs sont rangés dans des pages de TAILLE_PAGE mots (un bloc ne chevauche jamais deux pages),
+    // le répertoire garde la position et le k de chaque bloc.
+    public static class PackedArrayBuilder extends BlockEncoder {
+        static final int LOG_TAILLE_PAGE = 16;
+        static final int TAILLE_PAGE = 1 << LOG_TAILLE_PAGE;
+
+        private int[][] pages = new int[0][];
+        private int motsPageCourante = TAILLE_PAGE; // force l'allocation de la première page
+        private long[] positions = new long[16];     // page << LOG_TAILLE_PAGE | mot
+        private byte[] largeurs = new byte[16];
+        private int nbBlocs;
+
+        @Override
+        protected void ecrireBloc(int nbValeurs, int k, int[] mots, int nbMots) {
+            if (motsPageCourante + nbMots > TAILLE_PAGE) {
+                pages = Arrays.copyOf(pages, pages.length + 1);
+                pages[pages.length - 1] = new int[TAILLE_PAGE];
+                motsPageCourante = 0;
+            }
+            if (nbBlocs == positions.length) {
+                positions = Arrays.copyOf(positions, 2 * nbBlocs);
+                largeurs = Arrays.copyOf(largeurs, 2 * nbBlocs);
+            }
+            System.arraycopy(mots, 0, pages[pages.length - 1], motsPageCourante, nbMots);
+            positions[nbBlocs] = ((long) (pages.length - 1) << LOG_TAILLE_PAGE) | motsPageCourante;
+            largeurs[nbBlocs] = (byte) k;
+            nbBlocs++;
+            motsPageCourante += nbMots;
+        }
+
+        public int get(long i) {
+            if (i < 0 || i >= size()) throw new IndexOutOfBoundsException();
+            int bloc = (int) (i / TAILLE_BLOC);
+            int pos = (int) (i % TAILLE_BLOC);
+            if (bloc == nbBlocs) return blocCourant()[pos];
+            int k = largeurs[bloc];
+            if (k == 0) return 0;
+            int[] page = pages[(int) (positions[bloc] >>> LOG_TAILLE_PAGE)];
+            int debut = (int) (positions[bloc] & (TAILLE_PAGE - 1));
+            int bitpos = pos * k;
+            int mot = debut + (bitpos >>> 5);
+            int decalage = bitpos & 31;
+            int v = page[mot] >>> decalage;
+            if (decalage + k > 32) {
+                v |= page[mot + 1] << (32 - decalage);
+            }
+            return v & maskLow(k);
+        }
+
+        // décompresse le bloc b (complet) dans dst
+        void lireBloc(int b, int[] dst) {
+            int[] page = pages[(int) (positions[b] >>> LOG_TAILLE_PAGE)];
+            unpack(page, (int) (positions[b] & (TAILLE_PAGE - 1)), largeurs[b], 0, dst, 0, TAILLE_BLOC);
+        }
+
+        // parcours séquentiel, bloc par bloc
+        public PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private final int[] tampon = new int[TAILLE_BLOC];
+                private int blocCharge = -1;
+                private long i;
+
+                @Override
+                public boolean hasNext() {
+                    return i < size();
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    int bloc = (int) (i / TAILLE_BLOC);
+                    int pos = (int) (i++ % TAILLE_BLOC);
+                    if (bloc == nbBlocs) return blocCourant()[pos];
+                    if (bloc != blocCharge) {
+                        lireBloc(bloc, tampon);
+                        blocCharge = bloc;
+                    }
+                    return tampon[pos];
+                }
+            };
+        }
+
+        public IntStream stream() {
+            return StreamSupport.intStream(Spliterators.spliterator(iterator(), size(),
+                    Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+
+        public long compressedSizeBytes() {
+            long octets = 9L * nbBlocs; // répertoire
+            for (int[] page : pages) octets += 4L * page.length;
+            return octets + 4L * tailleBlocCourant();
+        }
+    }
+
+    // Écrit les blocs compressés dans un canal (fichier, socket, ...) au fur et à mesure
+    public static class StreamEncoder extends BlockEncoder implements AutoCloseable {
+        private final WritableByteChannel canal;
+        private final ByteBuffer tampon = ByteBuffer.allocateDirect(4 * (TAILLE_BLOC + 1)).order(ByteOrder.LITTLE_ENDIAN);
+
+        public StreamEncoder(WritableByteChannel canal) {
+            this.canal = canal;
+        }
+
+        @Override
+        protected void ecrireBloc(int nbValeurs, int k, int[] mots, int nbMots) {
+            tampon.clear();
+            tampon.putInt(nbValeurs << 6 | k);
+            for (int i = 0; i < nbMots; i++) tampon.putInt(mots[i]);
+            tampon.flip();
+            try {
+                while (tampon.hasRemaining()) canal.write(tampon);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // écrit le dernier bloc (partiel) sans fermer le canal
+        public void flush() {
+            flushBloc();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            canal.close();
+        }
+    }
+
+    // Relit un flux écrit par StreamEncoder, un bloc à la fois
+    public static class StreamDecoder implements PrimitiveIterator.OfInt, AutoCloseable {
+        private final ReadableByteChannel canal;
+        private final ByteBuffer tampon = ByteBuffer.allocateDirect(4 * (BlockEncoder.TAILLE_BLOC + 1)).order(ByteOrder.LITTLE_ENDIAN);
+        private final int[] mots = new int[BlockEncoder.TAILLE_BLOC];
+        private final int[] bloc = new int[BlockEncoder.TAILLE_BLOC];
+        private int nbBloc;
+        private int pos;
+        private boolean fin;
+
+        public StreamDecoder(ReadableByteChannel canal) {
+            this.canal = canal;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pos < nbBloc) return true;
+            if (fin) return false;
+            try {
+                lireBloc();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return pos < nbBloc;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return bloc[pos++];
+        }
+
+        private void lireBloc() throws IOException {
+            if (!lire(4, true)) {
+                fin = true;
+                nbBloc = 0;
+                pos = 0;
+                return;
+            }
+            int entete = tampon.getInt();
+            int nbValeurs = entete >>> 6;
+            int k = entete & 63;
+            if (nbValeurs == 0 || nbValeurs > BlockEncoder.TAILLE_BLOC || k > 32) throw new IOException("bloc invalide");
+            int nbMots = (nbValeurs * k + 31) / 32;
+            lire(4 * nbMots, false);
+            for (int i = 0; i < nbMots; i++) mots[i] = tampon.getInt();
+            unpack(mots, k, 0, bloc, 0, nbValeurs);
+            nbBloc = nbValeurs;
+            pos = 0;
+        }
+
+        // lit exactement nbOctets octets dans tampon ; renvoie false si le flux se termine proprement avant
+        private boolean lire(int nbOctets, boolean finPossible) throws IOException {
+            tampon.clear().limit(nbOctets);
+            while (tampon.hasRemaining()) {
+                if (canal.read(tampon) < 0) {
+                    if (finPossible && tampon.position() == 0) return false;
+                    throw new IOException("flux tronqué");
+                }
+            }
+            tampon.flip();
+            return true;
+        }
+
+        public IntStream stream() {
+            return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(this,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+                        try {
+                            close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+
+    // ---------- Arène de listes ----------
+    // Beaucoup de petites listes dans un seul tableau de mots, sans objet BitPacker par liste.
+    // Chaque liste est packée en disposition CROSS (k bits par valeur, k propre à la liste) à partir d'un
+    // début de mot. Répertoire : debuts[id] = premier mot de la liste, entetes[id] = n << BITS_K | k,
+    // soit 8 octets par liste (plus les bits perdus du dernier mot) au lieu d'un objet, de ses champs et
+    // d'un tableau séparé. Le GC ne voit que trois tableaux, quel que soit le nombre de listes.
+    // Ajouts par un seul thread ; lectures concurrentes possibles une fois les ajouts publiés.
+    public static class PackedListArena {
+        static final int BITS_K = 6;
+        static final int MASQUE_K = (1 << BITS_K) - 1;
+        // n doit tenir dans les 32 - BITS_K bits restants de l'en-tête
+        public static final int MAX_LENGTH = (1 << (32 - BITS_K)) - 1;
+        private static final int TAILLE_MAX = Integer.MAX_VALUE - 8;
+
+        private int[] mots = new int[1024];
+        private int nbMots;
+        private int[] debuts = new int[64];
+        private int[] entetes = new int[64];
+        private int nbListes;
+
+        // ajoute une liste et renvoie son identifiant (0, 1, 2, ... dans l'ordre des ajouts)
+        public int add(int[] valeurs) {
+            return add(valeurs, 0, valeurs.length);
+        }
+
+        public int add(int[] valeurs, int off, int len) {
+            if (off < 0 || len < 0 || off > valeurs.length - len) throw new IndexOutOfBoundsException();
+            if (len > MAX_LENGTH) throw new IllegalArgumentException("liste trop longue : " + len);
+            int ou = 0;
+            for (int j = off; j < off + len; j++) ou |= valeurs[j];
+            if (ou < 0) throw new IllegalArgumentException("seulement les entiers positifs ou nuls sont supportés");
+            int k = bitsNeeded(ou);
+            int taille = (int) (((long) len * k + 31) >>> 5);
+            reserver(taille);
+            if (nbListes == debuts.length) {
+                int capacite = (int) Math.min(TAILLE_MAX, 2L * nbListes);
+                if (capacite == nbListes) throw new IllegalStateException("trop de listes");
+                debuts = Arrays.copyOf(debuts, capacite);
+                entetes = Arrays.copyOf(entetes, capacite);
+            }
+            int debut = nbMots;
+            // tampon de 64 bits : un mot écrit dès que 32 bits sont prêts
+            long tampon = 0;
+            int dispo = 0;
+            int mot = debut;
+            if (k > 0) {
+                for (int j = off; j < off + len; j++) {
+                    tampon |= (valeurs[j] & 0xFFFFFFFFL) << dispo;
+                    dispo += k;
+                    if (dispo >= 32) {
+                        mots[mot++] = (int) tampon;
+                        tampon >>>= 32;
+                        dispo -= 32;
+                    }
+                }
+                if (dispo > 0) mots[mot] = (int) tampon;
+            }
+            nbMots = debut + taille;
+            debuts[nbListes] = debut;
+            entetes[nbListes] = len << BITS_K | k;
+            return nbListes++;
+        }
+
+        // agrandit l'arène (doublement) pour supplement mots de plus
+        private void reserver(int supplement) {
+            long besoin = (long) nbMots + supplement;
+            if (besoin > TAILLE_MAX) throw new IllegalStateException("arène pleine");
+            if (besoin > mots.length) {
+                mots = Arrays.copyOf(mots, (int) Math.min(TAILLE_MAX, Math.max(besoin, 2L * mots.length)));
+            }
+        }
+
+        // nombre de listes
+        public int size() {
+            return nbListes;
+        }
+
+        public int length(int id) {
+            if (id < 0 || id >= nbListes) throw new IndexOutOfBoundsException("liste inexistante : " + id);
+            return entetes[id] >>> BITS_K;
+        }
+
+        public int getK(int id) {
+            if (id < 0 || id >= nbListes) throw new IndexOutOfBoundsException("liste inexistante : " + id);
+            return entetes[id] & MASQUE_K;
+        }
+
+        // valeur i de la liste id : une ou deux lectures de mots, comme CrossBitPacker.get
+        public int get(int id, int i) {
+            int n = length(id);
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            int k = entetes[id] & MASQUE_K;
+            if (k == 0) return 0;
+            long bitpos = (long) i * k;
+            int mot = debuts[id] + (int) (bitpos >>> 5);
+            int decalage = (int) (bitpos & 31);
+            long paire = mots[mot] & 0xFFFFFFFFL;
+            if (decalage + k > 32) paire |= (long) mots[mot + 1] << 32;
+            return (int) (paire >>> decalage) & maskLow(k);
+        }
+
+        // décompresse la liste id dans dst (au moins length(id) cases) et renvoie sa longueur
+        public int decompress(int id, int[] dst) {
+            return decompress(id, dst, 0);
+        }
+
+        public int decompress(int id, int[] dst, int off) {
+            int n = length(id);
+            if (off < 0 || off > dst.length - n) throw new IllegalArgumentException("tableau de sortie trop petit");
+            unpack(mots, debuts[id], entetes[id] & MASQUE_K, 0, dst, off, n);
+            return n;
+        }
+
+        public int[] toArray(int id) {
+            int[] t = new int[length(id)];
+            decompress(id, t);
+            return t;
+        }
+
+        // mots packés utilisés (sans la réserve de l'arène)
+        public long compressedSizeBytes() {
+            return 4L * nbMots;
+        }
+
+        // répertoire : 8 octets par liste
+        public long directorySizeBytes() {
+            return 8L * nbListes;
+        }
+
+        // libère la réserve des tableaux une fois les ajouts terminés
+        public void trimToSize() {
+            mots = Arrays.copyOf(mots, nbMots);
+            debuts = Arrays.copyOf(debuts, nbListes);
+            entetes = Arrays.copyOf(entetes, nbListes);
+        }
+    }
+
+    // ---------- Métriques ----------
+    // Activées par -Dbitpacking.metrics=true. ENABLED est une constante : désactivées, les tests
+    // "if (Metrics.ENABLED)" disparaissent à la compilation JIT et BitPackerFactory.instrument
+    // renvoie le compresseur tel quel (aucune enveloppe sur get).
+    // Activées : compteurs LongAdder par compresseur, exportables avec snapshot(), et événements JFR
+    // (bitpacking.Compress, bitpacking.Decompress, bitpacking.BulkAccess) enregistrés seulement
+    // si un enregistrement JFR les demande.
+    public static final class Metrics {
+        public static final boolean ENABLED = Boolean.getBoolean("bitpacking.metrics");
+
+        private static final ConcurrentHashMap<String, Compteurs> PAR_NOM = new ConcurrentHashMap<>();
+        private static final LongAdder GETS_OVERFLOW = new LongAdder();
+        private static final LongAdder DEBORDEMENTS_GET = new LongAdder();
+
+        private Metrics() {}
+
+        static final class Compteurs {
+            final LongAdder compressions = new LongAdder();
+            final LongAdder valeursCompressees = new LongAdder();
+            final LongAdder octetsEntree = new LongAdder();
+            final LongAdder octetsSortie = new LongAdder();
+            final LongAdder debordements = new LongAdder();
+            final LongAdder nsCompression = new LongAdder();
+            final LongAdder decompressions = new LongAdder();
+            final LongAdder valeursDecompressees = new LongAdder();
+            final LongAdder nsDecompression = new LongAdder();
+            final LongAdder accesGroupes = new LongAdder();
+            final LongAdder valeursLues = new LongAdder();
+            final LongAdder nsAcces = new LongAdder();
+        }
+
+        static Compteurs compteurs(String nom) {
+            return PAR_NOM.computeIfAbsent(nom, x -> new Compteurs());
+        }
+
+        // OverflowBitPacker.get : flag = 1 si la valeur est lue dans la zone de débordement
+        static void getOverflow(int flag) {
+            GETS_OVERFLOW.increment();
+            if (flag != 0) DEBORDEMENTS_GET.increment();
+        }
+
+        // valeurs courantes de tous les compteurs, clés "<compresseur>.<opération>.<mesure>" triées
+        // (taux de compression : compress.bytesIn / compress.bytesOut, taux de débordement : overflow.get.hits / overflow.get.count)
+        public static Map<String, Long> snapshot() {
+            Map<String, Long> m = new TreeMap<>();
+            PAR_NOM.forEach((nom, c) -> {
+                m.put(nom + ".compress.count", c.compressions.sum());
+                m.put(nom + ".compress.values", c.valeursCompressees.sum());
+                m.put(nom + ".compress.bytesIn", c.octetsEntree.sum());
+                m.put(nom + ".compress.bytesOut", c.octetsSortie.sum());
+                m.put(nom + ".compress.overflows", c.debordements.sum());
+                m.put(nom + ".compress.nanos", c.nsCompression.sum());
+                m.put(nom + ".decompress.count", c.decompressions.sum());
+                m.put(nom + ".decompress.values", c.valeursDecompressees.sum());
+                m.put(nom + ".decompress.nanos", c.nsDecompression.sum());
+                m.put(nom + ".bulk.count", c.accesGroupes.sum());
+                m.put(nom + ".bulk.values", c.valeursLues.sum());
+                m.put(nom + ".bulk.nanos", c.nsAcces.sum());
+            });
+            m.put("overflow.get.count", GETS_OVERFLOW.sum());
+            m.put("overflow.get.hits", DEBORDEMENTS_GET.sum());
+            return m;
+        }
+
+        public static void reset() {
+            PAR_NOM.clear();
+            GETS_OVERFLOW.reset();
+            DEBORDEMENTS_GET.reset();
+        }
+
+        // k du compresseur (petitK pour OVERFLOW), -1 si la largeur varie par bloc (PFOR) ou est inconnue
+        static int largeur(BitPacker p) {
+            if (p instanceof CrossBitPacker) return ((CrossBitPacker) p).getK();
+            if (p instanceof NoCrossBitPacker) return ((NoCrossBitPacker) p).getK();
+            if (p instanceof OverflowBitPacker) return ((OverflowBitPacker) p).getSmallK();
+            if (p instanceof InterleavedBitPacker) return ((InterleavedBitPacker) p).getK();
+            if (p instanceof TransformBitPacker) return ((TransformBitPacker) p).getK();
+            if (p instanceof LargeBitPacker) return ((LargeBitPacker) p).getK();
+            return -1;
+        }
+
+        // valeurs rangées hors des champs : débordements (OVERFLOW) ou exceptions (PFOR)
+        static int debordements(BitPacker p) {
+            if (p instanceof OverflowBitPacker) return ((OverflowBitPacker) p).getOverflowCount();
+            if (p instanceof PforBitPacker) return ((PforBitPacker) p).getExceptionCount();
+            return 0;
+        }
+
+        @Name("bitpacking.Compress")
+        @Label("Compression")
+        @Category("BitPacking")
+        public static class CompressEvent extends Event {
+            @Label("Compresseur") String packer;
+            @Label("Valeurs") int n;
+            @Label("Largeur (k ou petitK)") int k;
+            @Label("Octets en entrée") @DataAmount long bytesIn;
+            @Label("Octets en sortie") @DataAmount long bytesOut;
+            @Label("Débordements") int overflows;
+        }
+
+        @Name("bitpacking.Decompress")
+        @Label("Décompression")
+        @Category("BitPacking")
+        public static class DecompressEvent extends Event {
+            @Label("Compresseur") String packer;
+            @Label("Valeurs") int n;
+            @Label("Largeur (k ou petitK)") int k;
+            @Label("Octets compressés") @DataAmount long bytesIn;
+            @Label("Octets produits") @DataAmount long bytesOut;
+        }
+
+        @Name("bitpacking.BulkAccess")
+        @Label("Accès groupé")
+        @Category("BitPacking")
+        public static class BulkAccessEvent extends Event {
+            @Label("Compresseur") String packer;
+            @Label("Opération") String operation;
+            @Label("Valeurs lues") int n;
+        }
+    }
+
+    // Enveloppe mesurée d'un compresseur (BitPackerFactory.instrument) : compress, decompress et les
+    // accès groupés sont comptés et chronométrés, get(i) est transmis sans rien mesurer.
+    public static class InstrumentedBitPacker implements BitPacker {
+        private final BitPacker cible;
+        private final String nom;
+        private final Metrics.Compteurs compteurs;
+
+        InstrumentedBitPacker(BitPacker cible, String nom) {
+            this.cible = cible;
+            this.nom = nom;
+            this.compteurs = Metrics.compteurs(nom);
+        }
+
+        public BitPacker getDelegate() {
+            return cible;
+        }
+
+        @Override
+        public void compress(int[] input) {
+            Metrics.CompressEvent e = new Metrics.CompressEvent();
+            e.begin();
+            long debut = System.nanoTime();
+            cible.compress(input);
+            compressee(input.length, System.nanoTime() - debut, e);
+        }
+
+        @Override
+        public void compressParallel(int[] input, ForkJoinPool pool) {
+            Metrics.CompressEvent e = new Metrics.CompressEvent();
+            e.begin();
+            long debut = System.nanoTime();
+            cible.compressParallel(input, pool);
+            compressee(input.length, System.nanoTime() - debut, e);
+        }
+
+        private void compressee(int n, long ns, Metrics.CompressEvent e) {
+            long sortie = cible.compressedSizeBytes();
+            int debordements = Metrics.debordements(cible);
+            compteurs.compressions.increment();
+            compteurs.valeursCompressees.add(n);
+            compteurs.octetsEntree.add(4L * n);
+            compteurs.octetsSortie.add(sortie);
+            compteurs.debordements.add(debordements);
+            compteurs.nsCompression.add(ns);
+            e.end();
+            if (e.shouldCommit()) {
+                e.packer = nom;
+                e.n = n;
+                e.k = Metrics.largeur(cible);
+                e.bytesIn = 4L * n;
+                e.bytesOut = sortie;
+                e.overflows = debordements;
+                e.commit();
+            }
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            Metrics.DecompressEvent e = new Metrics.DecompressEvent();
+            e.begin();
+            long debut = System.nanoTime();
+            cible.decompress(out);
+            long ns = System.nanoTime() - debut;
+            compteurs.decompressions.increment();
+            compteurs.valeursDecompressees.add(out.length);
+            compteurs.nsDecompression.add(ns);
+            e.end();
+            if (e.shouldCommit()) {
+                e.packer = nom;
+                e.n = out.length;
+                e.k = Metrics.largeur(cible);
+                e.bytesIn = cible.compressedSizeBytes();
+                e.bytesOut = 4L * out.length;
+                e.commit();
+            }
+        }
+
+        @Override
+        public int get(int i) {
+            return cible.get(i);
+        }
+
+        @Override
+        public void get(int[] indices, int[] out) {
+            Metrics.BulkAccessEvent e = debutAcces();
+            long debut = System.nanoTime();
+            cible.get(indices, out);
+            finAcces(e, "get[]", indices.length, debut);
+        }
+
+        @Override
+        public int splitAlignment() {
+            return cible.splitAlignment();
+        }
+
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            Metrics.BulkAccessEvent e = debutAcces();
+            long debut = System.nanoTime();
+            cible.getRange(from, len, out);
+            finAcces(e, "getRange", len, debut);
+        }
+
+        @Override
+        public long sum(int from, int to) {
+            Metrics.BulkAccessEvent e = debutAcces();
+            long debut = System.nanoTime();
+            long s = cible.sum(from, to);
+            finAcces(e, "sum", to - from, debut);
+            return s;
+        }
+
+        @Override
+        public int min(int from, int to) {
+            Metrics.BulkAccessEvent e = debutAcces();
+            long debut = System.nanoTime();
+            int m = cible.min(from, to);
+            finAcces(e, "min", to - from, debut);
+            return m;
+        }
+
+        @Override
+        public int max(int from, int to) {
+            Metrics.BulkAccessEvent e = debutAcces();
+            long debut = System.nanoTime();
+            int m = cible.max(from, to);
+            finAcces(e, "max", to - from, debut);
+            return m;
+        }
+
+        @Override
+        public int count(int lo, int hi) {
+            Metrics.BulkAccessEvent e = debutAcces();
+            long debut = System.nanoTime();
+            int c = cible.count(lo, hi);
+            finAcces(e, "count", cible.length(), debut);
+            return c;
+        }
+
+        @Override
+        public BitSet select(int lo, int hi) {
+            Metrics.BulkAccessEvent e = debutAcces();
+            long debut = System.nanoTime();
+            BitSet positions = cible.select(lo, hi);
+            finAcces(e, "select", cible.length(), debut);
+            return positions;
+        }
+
+        private static Metrics.BulkAccessEvent debutAcces() {
+            Metrics.BulkAccessEvent e = new Metrics.BulkAccessEvent();
+            e.begin();
+            return e;
+        }
+
+        private void finAcces(Metrics.BulkAccessEvent e, String operation, int n, long debut) {
+            compteurs.accesGroupes.increment();
+            compteurs.valeursLues.add(n);
+            compteurs.nsAcces.add(System.nanoTime() - debut);
+            e.end();
+            if (e.shouldCommit()) {
+                e.packer = nom;
+                e.operation = operation;
+                e.n = n;
+                e.commit();
+            }
+        }
+
+        @Override
+        public int length() {
+            return cible.length();
+        }
+
+        @Override
+        public long compressedSizeBytes() {
+            return cible.compressedSizeBytes();
+        }
+    }
+
+    // ---------- Cache de blocs décodés ----------
+    // Enveloppe pour des lectures aléatoires concentrées sur quelques régions : get(i) lit le bloc de
+    // TAILLE_BLOC valeurs qui contient i, décodé une seule fois avec getRange puis gardé tant qu'il sert.
+    // Le nombre de blocs gardés est borné par un budget mémoire. Au-delà, éviction CLOCK : chaque bloc a un
+    // bit de référence mis à 1 par les lectures, l'aiguille parcourt les blocs chargés, remet à 0 les bits à 1
+    // et libère le premier bloc dont le bit est déjà à 0.
+    // Lectures concurrentes sans verrou : un bloc décodé n'est plus jamais modifié et il est publié par
+    // AtomicReferenceArray (indexé par numéro de bloc) ; seuls les défauts de cache prennent le verrou d'éviction.
+    // Les données doivent être compressées à travers l'enveloppe (compress vide le cache).
+    public static class CachedBitPacker implements BitPacker {
+        public static final int TAILLE_BLOC = 256;
+        static final int LOG_BLOC = 8;
+        // un bloc chargé : TAILLE_BLOC int et l'en-tête du tableau
+        static final long OCTETS_PAR_BLOC = 4L * TAILLE_BLOC + 16;
+
+        private final BitPacker cible;
+        private final int capacite; // nombre de blocs permis par le budget
+        private final Object verrou = new Object();
+        private int n;
+        private AtomicReferenceArray<int[]> blocs;
+        private AtomicIntegerArray references;
+        // protégés par verrou : bloc chargé dans chaque emplacement, position de l'aiguille
+        private int[] emplacements;
+        private int nbCharges;
+        private int aiguille;
+        private final LongAdder succes = new LongAdder();
+        private final LongAdder defauts = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        CachedBitPacker(BitPacker cible, long budgetOctets) {
+            if (budgetOctets < OCTETS_PAR_BLOC) throw new IllegalArgumentException("budget inférieur à un bloc");
+            this.cible = cible;
+            this.capacite = (int) Math.min(Integer.MAX_VALUE, budgetOctets / OCTETS_PAR_BLOC);
+            vider();
+        }
+
+        private void vider() {
+            synchronized (verrou) {
+                n = cible.length();
+                int nbBlocs = (n + TAILLE_BLOC - 1) >>> LOG_BLOC;
+                blocs = new AtomicReferenceArray<>(nbBlocs);
+                references = new AtomicIntegerArray(nbBlocs);
+                emplacements = new int[Math.min(capacite, nbBlocs)];
+                nbCharges = 0;
+                aiguille = 0;
+            }
+        }
+
+        public BitPacker getDelegate() {
+            return cible;
+        }
+
+        @Override
+        public void compress(int[] input) {
+            cible.compress(input);
+            vider();
+        }
+
+        @Override
+        public void compressParallel(int[] input, ForkJoinPool pool) {
+            cible.compressParallel(input, pool);
+            vider();
+        }
+
+        @Override
+        public int get(int i) {
+            if (i < 0 || i >= n) throw new IndexOutOfBoundsException();
+            int bloc = i >>> LOG_BLOC;
+            int[] valeurs = blocs.get(bloc);
+            if (valeurs != null) {
+                succes.increment();
+                // écriture seulement si le bit est à 0 : pas de trafic de cohérence sur les blocs chauds
+                if (references.get(bloc) == 0) references.lazySet(bloc, 1);
+            } else {
+                defauts.increment();
+                valeurs = charger(bloc);
+            }
+            return valeurs[i & (TAILLE_BLOC - 1)];
+        }
+
+        // décode le bloc hors verrou (deux threads peuvent le décoder en même temps, un seul est gardé)
+        // puis le range dans un emplacement libre ou libéré par l'aiguille
+        private int[] charger(int bloc) {
+            int debut = bloc << LOG_BLOC;
+            int[] valeurs = new int[TAILLE_BLOC];
+            cible.getRange(debut, Math.min(TAILLE_BLOC, n - debut), valeurs);
+            synchronized (verrou) {
+                int[] deja = blocs.get(bloc);
+                if (deja != null) return deja;
+                int e = nbCharges < emplacements.length ? nbCharges++ : liberer();
+                emplacements[e] = bloc;
+                // bit à 0 : un bloc lu une seule fois (parcours) part au prochain passage de l'aiguille
+                references.set(bloc, 0);
+                blocs.set(bloc, valeurs);
+                return valeurs;
+            }
+        }
+
+        // appelé sous verrou quand tous les emplacements sont pris
+        private int liberer() {
+            while (true) {
+                int e = aiguille;
+                aiguille = e + 1 == emplacements.length ? 0 : e + 1;
+                int bloc = emplacements[e];
+                if (references.get(bloc) != 0) {
+                    references.set(bloc, 0);
+                } else {
+                    // les lecteurs qui ont déjà le tableau le gardent, il n'est pas modifié
+                    blocs.set(bloc, null);
+                    evictions.increment();
+                    return e;
+                }
+            }
+        }
+
+        @Override
+        public void get(int[] indices, int[] out) {
+            if (out.length < indices.length) throw new IllegalArgumentException("tableau de sortie trop petit");
+            for (int j = 0; j < indices.length; j++) {
+                out[j] = get(indices[j]);
+            }
+        }
+
+        // les lectures de plages et les agrégats parcourent de toute façon les mots packés : pas de cache
+        @Override
+        public void getRange(int from, int len, int[] out) {
+            cible.getRange(from, len, out);
+        }
+
+        @Override
+        public int splitAlignment() {
+            return cible.splitAlignment();
+        }
+
+        @Override
+        public void decompress(int[] out) {
+            cible.decompress(out);
+        }
+
+        @Override
+        public long sum(int from, int to) {
+            return cible.sum(from, to);
+        }
+
+        @Override
+        public int min(int from, int to) {
+            return cible.min(from, to);
+        }
+
+        @Override
+        public int max(int from, int to) {
+            return cible.max(from, to);
+        }
+
+        @Override
+        public int count(int lo, int hi) {
+            return cible.count(lo, hi);
+        }
+
+        @Override
+        public BitSet select(int lo, int hi) {
+            return cible.select(lo, hi);
+        }
+
+        @Override
+        public int length() {
+            return n;
+        }
+
+        // données compressées seulement, voir getCacheSizeBytes pour les blocs décodés
+        @Override
+        public long compressedSizeBytes() {
+            return cible.compressedSizeBytes();
+        }
+
+        // ---- statistiques pour dimensionner le budget ----
+        public long getHitCount() { return succes.sum(); }
+        public long getMissCount() { return defauts.sum(); }
+        public long getEvictionCount() { return evictions.sum(); }
+
+        public double getHitRate() {
+            long s = succes.sum();
+            long total = s + defauts.sum();
+            return total == 0 ? 0 : (double) s / total;
+        }
+
+        // nombre maximal de blocs gardés
+        public int getCapacity() {
+            return capacite;
+        }
+
+        public int getCachedBlockCount() {
+            synchronized (verrou) {
+                return nbCharges;
+            }
+        }
+
+        public long getCacheSizeBytes() {
+            return getCachedBlockCount() * OCTETS_PAR_BLOC;
+        }
+
+        public void resetStatistics() {
+            succes.reset();
+            defauts.reset();
+            evictions.reset();
+        }
+    }
+
+    // ---------- Service de compression ----------
+    // Compresse des lots de tableaux indépendants et rend un CompletableFuture<PackedResult> par tableau.
+    // Les tâches tournent sur un pool borné de threads démons, ou sur des threads virtuels quand la JVM en a (Java 21+).
+    // - contre-pression : au plus maxEnCours tâches acceptées et non terminées, submit bloque l'appelant au-delà
+    // - chaque tâche emprunte un Atelier (compresseur, tampon de concaténation, tampons d'écriture) et le rend à
+    //   la fin : il y a au plus un atelier par tâche simultanée. Les compresseurs réutilisent leurs tableaux
+    //   (sauf LARGE, qui alloue ses morceaux), une tâche n'alloue donc que son résultat à la taille exacte, le
+    //   lecteur partagé par le groupe et un PackedResult par tableau
+    // - regroupement facultatif : dans submitAll, les tableaux de moins de seuilRegroupement valeurs sont mis bout
+    //   à bout (jusqu'à TAILLE_GROUPE valeurs) et compressés ensemble, chacun reçoit sa plage du résultat commun
+    // - échec d'une tâche (exception ou Error) : tous les futures de son groupe se terminent en erreur
+    // Les résultats sont au format PackedFile : seuls les types persistants sont acceptés.
+    // Les tableaux soumis ne doivent pas être modifiés avant la fin de leur future.
+    public static class CompressionService implements AutoCloseable {
+        public static final int TAILLE_GROUPE = 1 << 16;
+        private static final AtomicInteger NUMERO = new AtomicInteger();
+
+        private final BitPackerFactory.Type type;
+        private final Supplier<BitPacker> fabrique;
+        private final ExecutorService executeur;
+        private final boolean virtuels;
+        private final int maxEnCours;
+        private final int seuilRegroupement;
+        private final Semaphore places;
+        private final ConcurrentLinkedQueue<Atelier> ateliers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger actives = new AtomicInteger();
+        private final LongAdder tableaux = new LongAdder();
+        private final LongAdder valeurs = new LongAdder();
+        private final LongAdder octets = new LongAdder();
+        private final LongAdder echecs = new LongAdder();
+        private final long debut = System.nanoTime();
+
+        CompressionService(BitPackerFactory.Type type, ExecutorService executeur, boolean virtuels,
+                           int maxEnCours, int seuilRegroupement) {
+            this(type, () -> BitPackerFactory.create(type), executeur, virtuels, maxEnCours, seuilRegroupement);
+        }
+
+        // fabrique : compresseur de chaque atelier (les tests y branchent un compresseur qui échoue)
+        CompressionService(BitPackerFactory.Type type, Supplier<BitPacker> fabrique, ExecutorService executeur,
+                           boolean virtuels, int maxEnCours, int seuilRegroupement) {
+            PackedFile.codeType(type);
+            if (maxEnCours < 1) throw new IllegalArgumentException("maxEnCours doit être >= 1");
+            if (seuilRegroupement < 0) throw new IllegalArgumentException("seuilRegroupement doit être >= 0");
+            this.type = type;
+            this.fabrique = fabrique;
+            this.executeur = executeur;
+            this.virtuels = virtuels;
+            this.maxEnCours = maxEnCours;
+            this.seuilRegroupement = seuilRegroupement;
+            this.places = new Semaphore(maxEnCours);
+        }
+
+        static ExecutorService poolBorne(int nbThreads) {
+            if (nbThreads < 1) throw new IllegalArgumentException("nbThreads doit être >= 1");
+            ThreadFactory fabrique = r -> {
+                Thread t = new Thread(r, "bitpacking-compression-" + NUMERO.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            return Executors.newFixedThreadPool(nbThreads, fabrique);
+        }
+
+        // Executors.newVirtualThreadPerTaskExecutor est cherché par réflexion (le code vise Java 17), null sinon
+        static ExecutorService executeurVirtuel() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        // compresse data seul, quelle que soit sa taille
+        public CompletableFuture<PackedResult> submit(int[] data) {
+            Objects.requireNonNull(data);
+            CompletableFuture<PackedResult> f = new CompletableFuture<>();
+            lancer(new int[][] { data }, List.of(f));
+            return f;
+        }
+
+        // un future par tableau du lot, dans le même ordre
+        public List<CompletableFuture<PackedResult>> submitAll(List<int[]> lot) {
+            List<CompletableFuture<PackedResult>> resultats = new ArrayList<>(lot.size());
+            List<int[]> groupe = new ArrayList<>();
+            List<CompletableFuture<PackedResult>> futursGroupe = new ArrayList<>();
+            int valeursGroupe = 0;
+            for (int[] t : lot) {
+                Objects.requireNonNull(t);
+                CompletableFuture<PackedResult> f = new CompletableFuture<>();
+                resultats.add(f);
+                if (t.length >= seuilRegroupement) {
+                    lancer(new int[][] { t }, List.of(f));
+                    continue;
+                }
+                if (valeursGroupe + t.length > TAILLE_GROUPE) {
+                    lancer(groupe.toArray(new int[0][]), futursGroupe);
+                    groupe = new ArrayList<>();
+                    futursGroupe = new ArrayList<>();
+                    valeursGroupe = 0;
+                }
+                groupe.add(t);
+                futursGroupe.add(f);
+                valeursGroupe += t.length;
+            }
+            if (!groupe.isEmpty()) lancer(groupe.toArray(new int[0][]), futursGroupe);
+            return resultats;
+        }
+
+        // attend une place (contre-pression) puis confie la tâche à l'exécuteur
+        private void lancer(int[][] entrees, List<CompletableFuture<PackedResult>> futurs) {
+            places.acquireUninterruptibly();
+            try {
+                executeur.execute(() -> executer(entrees, futurs));
+            } catch (RejectedExecutionException e) {
+                places.release();
+                echecs.add(futurs.size());
+                for (CompletableFuture<PackedResult> f : futurs) f.completeExceptionally(e);
+            }
+        }
+
+        // toute erreur, Error comprise (OutOfMemoryError en allouant le groupe ou le résultat...), termine les
+        // futures du groupe : sinon un appelant bloqué sur join() attendrait indéfiniment. Une Error est ensuite
+        // relancée pour le thread de l'exécuteur.
+        private void executer(int[][] entrees, List<CompletableFuture<PackedResult>> futurs) {
+            actives.incrementAndGet();
+            Atelier a = null;
+            try {
+                a = ateliers.poll();
+                if (a == null) a = new Atelier(fabrique.get());
+                int[] entree = entrees[0];
+                int total = entree.length;
+                if (entrees.length > 1) {
+                    total = 0;
+                    for (int[] t : entrees) total += t.length;
+                    entree = a.concatener(entrees, total);
+                }
+                ByteBuffer donnees = a.compresser(entree, total);
+                MappedBitPacker lecteur = PackedFile.read(donnees);
+                tableaux.add(entrees.length);
+                valeurs.add(total);
+                octets.add(donnees.capacity());
+                for (int j = 0, pos = 0; j < entrees.length; pos += entrees[j].length, j++) {
+                    futurs.get(j).complete(new PackedResult(donnees, lecteur, pos, entrees[j].length));
+                }
+            } catch (Throwable e) {
+                echecs.add(entrees.length);
+                for (CompletableFuture<PackedResult> f : futurs) f.completeExceptionally(e);
+                if (e instanceof Error erreur) throw erreur;
+            } finally {
+                if (a != null) ateliers.offer(a);
+                actives.decrementAndGet();
+                places.release();
+            }
+        }
+
+        // compresseur et tampons réutilisés d'une tâche à l'autre
+        static final class Atelier implements WritableByteChannel {
+            private final BitPacker packer;
+            private final ByteBuffer tampon = ByteBuffer.allocateDirect(1 << 16);
+            private ByteBuffer sortie = ByteBuffer.allocate(1 << 16);
+            private int[] concat = new int[0];
+
+            Atelier(BitPacker packer) {
+                this.packer = packer;
+            }
+
+            // met les tableaux bout à bout dans concat (agrandi au besoin, jamais réduit)
+            int[] concatener(int[][] entrees, int total) {
+                if (concat.length < total) concat = new int[Math.max(total, Math.min(TAILLE_GROUPE, 2 * concat.length))];
+                int pos = 0;
+                for (int[] t : entrees) {
+                    System.arraycopy(t, 0, concat, pos, t.length);
+                    pos += t.length;
+                }
+                return concat;
+            }
+
+            // compresse entree[0..len) dans les tableaux du compresseur et renvoie une copie du format
+            // PackedFile à la taille exacte
+            ByteBuffer compresser(int[] entree, int len) throws IOException {
+                if (packer instanceof CrossBitPacker c) {
+                    c.compress(entree, len, c.getPacked());
+                } else if (packer instanceof NoCrossBitPacker c) {
+                    c.compress(entree, len, c.getPacked());
+                } else if (packer instanceof OverflowBitPacker o) {
+                    o.compress(entree, len, o.getPackedFields(), o.getOverflowValues());
+                } else if (packer instanceof InterleavedBitPacker v) {
+                    v.compress(entree, len, v.getPacked());
+                } else if (packer instanceof LargeBitPacker l) {
+                    l.compress(len, i -> entree[(int) i]);
+                } else {
+                    packer.compress(len == entree.length ? entree : Arrays.copyOf(entree, len));
+                }
+                sortie.clear();
+                PackedFile.write(packer, this, tampon);
+                sortie.flip();
+                ByteBuffer resultat = ByteBuffer.allocate(sortie.remaining()).order(ByteOrder.LITTLE_ENDIAN);
+                resultat.put(sortie).flip();
+                return resultat.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            // sortie de PackedFile.write : agrandie au besoin, jamais réduite
+            @Override
+            public int write(ByteBuffer src) {
+                int r = src.remaining();
+                if (sortie.remaining() < r) {
+                    ByteBuffer plus = ByteBuffer.allocate(Math.max(2 * sortie.capacity(), sortie.position() + r));
+                    sortie.flip();
+                    plus.put(sortie);
+                    sortie = plus;
+                }
+                sortie.put(src);
+                return r;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {}
+        }
+
+        public BitPackerFactory.Type getType() {
+            return type;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtuels;
+        }
+
+        // tâches acceptées et non terminées (en attente ou en cours)
+        public int getInFlight() {
+            return maxEnCours - places.availablePermits();
+        }
+
+        public int getActiveCount() {
+            return actives.get();
+        }
+
+        // tâches acceptées qui attendent un thread
+        public int getQueueDepth() {
+            return Math.max(0, getInFlight() - actives.get());
+        }
+
+        // appelants bloqués par la contre-pression
+        public int getBlockedSubmitters() {
+            return places.getQueueLength();
+        }
+
+        public long getCompletedArrays() {
+            return tableaux.sum();
+        }
+
+        public long getFailedArrays() {
+            return echecs.sum();
+        }
+
+        public long getCompressedValues() {
+            return valeurs.sum();
+        }
+
+        public long getOutputBytes() {
+            return octets.sum();
+        }
+
+        // valeurs compressées par seconde depuis la création du service
+        public double getThroughput() {
+            long ns = System.nanoTime() - debut;
+            return ns == 0 ? 0 : valeurs.sum() * 1e9 / ns;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CompressionService[%s, %s, en cours=%d, file=%d, tableaux=%d, %.0f valeurs/s]",
+                    type, virtuels ? "threads virtuels" : "pool borné", getInFlight(), getQueueDepth(),
+                    getCompletedArrays(), getThroughput());
+        }
+
+        // termine les tâches déjà acceptées puis arrête les threads
+        @Override
+        public void close() {
+            executeur.shutdown();
+            try {
+                while (!executeur.awaitTermination(1, TimeUnit.MINUTES)) {
+                    // on attend la fin des tâches acceptées
+                }
+            } catch (InterruptedException e) {
+                executeur.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Résultat de CompressionService : le format PackedFile dans un tampon en lecture seule, et la plage
+    // [offset, offset + length) qui revient au tableau soumis (toute la plage s'il n'a pas été regroupé).
+    // Les tableaux d'un même groupe partagent le même tampon et le même lecteur.
+    public static final class PackedResult {
+        private final ByteBuffer donnees;
+        private final MappedBitPacker lecteur;
+        private final int debut;
+        private final int longueur;
+
+        PackedResult(ByteBuffer donnees, MappedBitPacker lecteur, int debut, int longueur) {
+            this.donnees = donnees;
+            this.lecteur = lecteur;
+            this.debut = debut;
+            this.longueur = longueur;
+        }
+
+        // tampon complet (à écrire tel quel dans un fichier, ou à relire avec PackedFile.read)
+        public ByteBuffer getBuffer() {
+            return donnees.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        public int getOffset() {
+            return debut;
+        }
+
+        public int length() {
+            return longueur;
+        }
+
+        public boolean isCoalesced() {
+            return debut != 0 || lecteur.longLength() != longueur;
+        }
+
+        public long compressedSizeBytes() {
+            return donnees.capacity();
+        }
+
+        // lecteur du groupe entier (les indices du tableau soumis commencent à getOffset())
+        public MappedBitPacker open() {
+            return lecteur;
+        }
+
+        public int get(int i) {
+            if (i < 0 || i >= longueur) throw new IndexOutOfBoundsException("Index: " + i);
+            return lecteur.get((long) debut + i);
+        }
+
+        public int[] toArray() {
+            int[] t = new int[longueur];
+            lecteur.decompress(debut, t, 0, longueur);
+            return t;
+        }
+    }
+
+    // ---------- Factory ----------
+    public static class BitPackerFactory {
+        // VECTOR : disposition entrelacée, noyaux SIMD si jdk.incubator.vector est chargé, sinon code scalaire
+        // LARGE : plus de 2^31 valeurs (indices long), voir LargeBitPacker
+        // PFOR : largeur et exceptions propres à chaque bloc de 128 valeurs, voir PforBitPacker
+        // DELTA, FOR, ZIGZAG : transformations pour valeurs triées ou signées, voir TransformBitPacker
+        public enum Type { CROSS, NOCROSS, OVERFLOW, VECTOR, LARGE, PFOR, DELTA, FOR, ZIGZAG }
+
+        public static BitPacker create(Type t) {
+            return switch (t) {
+                case CROSS -> new CrossBitPacker();
+                case NOCROSS -> new NoCrossBitPacker();
+                case OVERFLOW -> new OverflowBitPacker();
+                case VECTOR -> createVector();
+                case LARGE -> new LargeBitPacker();
+                case PFOR -> new PforBitPacker();
+                case DELTA -> new TransformBitPacker(TransformBitPacker.Mode.DELTA);
+                case FOR -> new TransformBitPacker(TransformBitPacker.Mode.FOR);
+                case ZIGZAG -> new TransformBitPacker(TransformBitPacker.Mode.ZIGZAG);
+            };
+        }
+
+        // compresseur du type t, mesuré si les métriques sont activées (voir Metrics)
+        public static BitPacker instrument(Type t) {
+            BitPacker p = create(t);
+            return Metrics.ENABLED ? new InstrumentedBitPacker(p, t.name()) : p;
+        }
+
+        // enveloppe p (compteurs regroupés sous le nom de sa classe) si les métriques sont activées, sinon renvoie p
+        public static BitPacker instrument(BitPacker p) {
+            if (!Metrics.ENABLED || p instanceof InstrumentedBitPacker) return p;
+            return new InstrumentedBitPacker(p, p.getClass().getSimpleName());
+        }
+
+        // cache de blocs décodés devant p, au plus budgetOctets de blocs (voir CachedBitPacker)
+        public static CachedBitPacker cached(BitPacker p, long budgetOctets) {
+            return new CachedBitPacker(p, budgetOctets);
+        }
+
+        // service de compression en lot sur nbThreads threads (voir CompressionService)
+        public static CompressionService service(Type t, int nbThreads, int maxEnCours, int seuilRegroupement) {
+            return new CompressionService(t, CompressionService.poolBorne(nbThreads), false, maxEnCours, seuilRegroupement);
+        }
+
+        // idem sur des threads virtuels (Java 21+), sinon sur un pool d'un thread par cœur
+        public static CompressionService service(Type t, int maxEnCours, int seuilRegroupement) {
+            ExecutorService virtuel = CompressionService.executeurVirtuel();
+            if (virtuel == null) return service(t, Runtime.getRuntime().availableProcessors(), maxEnCours, seuilRegroupement);
+            return new CompressionService(t, virtuel, true, maxEnCours, seuilRegroupement);
+        }
+
+        // VectorBitPacker est chargé par réflexion, une seule fois : si la classe n'a pas été compilée, si le module
+        // jdk.incubator.vector n'est pas ajouté (--add-modules) ou si le processeur n'a pas de vecteurs entiers
+        // de 256 bits (l'API émulerait alors les vecteurs, bien plus lentement que le code scalaire),
+        // on revient au code scalaire (même format)
+        private static final Constructor<?> CONSTRUCTEUR_SIMD = constructeurSimd();
+
+        private static Constructor<?> constructeurSimd() {
+            try {
+                Constructor<?> c = Class.forName("VectorBitPacker").getDeclaredConstructor();
+                c.newInstance();
+                return c;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+
+        static InterleavedBitPacker createVector() {
+            if (CONSTRUCTEUR_SIMD != null) {
+                try {
+                    return (InterleavedBitPacker) CONSTRUCTEUR_SIMD.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    // ne se produit pas : le constructeur a déjà servi une fois
+                }
+            }
+            return new InterleavedBitPacker();
+        }
+
+        // ---- choix automatique du type ----
+        public enum Goal { SMALLEST, FASTEST_GET, FASTEST_DECODE }
+
+        // l'estimation lit au plus BLOCS_ECHANTILLON blocs de BLOC_ECHANTILLON valeurs, répartis sur tout le tableau
+        // et alignés comme les blocs de PFOR / FOR / DELTA
+        static final int BLOC_ECHANTILLON = 128;
+        static final int BLOCS_ECHANTILLON = 512;
+
+        // coûts relatifs par valeur (1 = un get CROSS), ordres de grandeur relevés avec bench/ :
+        // ils ne servent qu'à classer les types, plus un terme de trafic mémoire proportionnel aux bits par valeur
+        private static final double TRAFIC_PAR_MOT = 0.5;
+        private static final boolean SIMD = CONSTRUCTEUR_SIMD != null;
+
+        // compresse data avec le type choisi par choose(data, goal)
+        public static BitPacker createFor(int[] data, Goal goal) {
+            return createFor(data, goal, null);
+        }
+
+        // idem, la décision est transmise à rapport (journalisation) avant la compression
+        public static BitPacker createFor(int[] data, Goal goal, Consumer<Decision> rapport) {
+            Decision d = choose(data, goal);
+            if (rapport != null) rapport.accept(d);
+            BitPacker packer = create(d.getType());
+            packer.compress(data);
+            return packer;
+        }
+
+        // estime la taille et le coût de chaque type sans rien compresser :
+        // un passage OU sur tout le tableau donne la largeur exacte des types à largeur fixe et détecte les négatifs,
+        // le reste (histogramme des largeurs, blocs PFOR, FOR, écarts DELTA) vient de l'échantillon
+        public static Decision choose(int[] data, Goal goal) {
+            if (goal == null) throw new IllegalArgumentException("objectif manquant");
+            int n = data.length;
+            int ou = 0;
+            for (int v : data) ou |= v;
+            boolean negatifs = ou < 0;
+            int bitsMax = 32 - Integer.numberOfLeadingZeros(ou);
+
+            int nbBlocs = (n + BLOC_ECHANTILLON - 1) / BLOC_ECHANTILLON;
+            int nbEchantillons = Math.min(nbBlocs, BLOCS_ECHANTILLON);
+            long[] histo = new long[33];
+            int[] h = new int[33];
+            long bitsPfor = 0;
+            long exceptionsPfor = 0;
+            int ouFor = 0;
+            int ouEcarts = 0;
+            int ouEcartsZigzag = 0;
+            boolean ecartsNegatifs = false;
+            int ouZigzag = 0;
+            int echantillon = 0;
+            for (int e = 0; e < nbEchantillons; e++) {
+                int debut = (int) ((long) e * nbBlocs / nbEchantillons) * BLOC_ECHANTILLON;
+                int fin = Math.min(n, debut + BLOC_ECHANTILLON);
+                Arrays.fill(h, 0);
+                int min = Integer.MAX_VALUE;
+                for (int i = debut; i < fin; i++) {
+                    int v = data[i];
+                    h[32 - Integer.numberOfLeadingZeros(v)]++;
+                    min = Math.min(min, v);
+                    ouZigzag |= TransformBitPacker.zigzag(v);
+                    if (i > debut) {
+                        int ecart = v - data[i - 1];
+                        if (ecart < 0) ecartsNegatifs = true;
+                        ouEcarts |= ecart;
+                        ouEcartsZigzag |= TransformBitPacker.zigzag(ecart);
+                    }
+                }
+                for (int i = debut; i < fin; i++) ouFor |= data[i] - min;
+                // même choix de largeur que PforBitPacker.compress
+                long meilleur = Long.MAX_VALUE;
+                int meilleurNbExc = 0;
+                int nbExc = fin - debut;
+                for (int b = 0; b <= 32; b++) {
+                    nbExc -= h[b];
+                    long cout = (long) BLOC_ECHANTILLON * b
+                            + (nbExc > 0 ? 32L * (PforBitPacker.MOTS_BITMAP + nbExc) : 0);
+                    if (cout < meilleur) {
+                        meilleur = cout;
+                        meilleurNbExc = nbExc;
+                    }
+                }
+                bitsPfor += meilleur;
+                exceptionsPfor += meilleurNbExc;
+                for (int b = 0; b < 33; b++) histo[b] += h[b];
+                echantillon += fin - debut;
+            }
+            double facteur = echantillon == 0 ? 0 : (double) n / echantillon;
+            double blocsParEchantillon = nbEchantillons == 0 ? 0 : (double) nbBlocs / nbEchantillons;
+
+            Map<Type, Long> tailles = new EnumMap<>(Type.class);
+            double fractionDebordement = 0;
+            if (!negatifs) {
+                tailles.put(Type.CROSS, 4 * (((long) n * bitsMax + 31) / 32));
+                // k = 0 : aucun mot stocké
+                long motsNoCross = bitsMax == 0 ? 0 : ((long) n + 32 / bitsMax - 1) / (32 / bitsMax);
+                tailles.put(Type.NOCROSS, 4 * motsNoCross);
+                tailles.put(Type.VECTOR, 4L * ((n + InterleavedBitPacker.BLOC - 1) / InterleavedBitPacker.BLOC)
+                        * InterleavedBitPacker.LANES * bitsMax);
+                // même recherche de petitK que OverflowBitPacker, sur l'histogramme extrapolé
+                long meilleur = Long.MAX_VALUE;
+                for (int candidatK = 0; candidatK <= Math.max(1, bitsMax); candidatK++) {
+                    long nbEch = 0;
+                    for (int b = candidatK + 1; b < 33; b++) nbEch += histo[b];
+                    long nbOverflow = Math.round(nbEch * facteur);
+                    // la valeur maximale déborde même si l'échantillon ne l'a pas vue
+                    if (candidatK < bitsMax) nbOverflow = Math.max(nbOverflow, 1);
+                    int bitsIndice = nbOverflow > 0 ? 64 - Long.numberOfLeadingZeros(nbOverflow - 1) : 0;
+                    int bitsChamp = 1 + Math.max(candidatK, bitsIndice);
+                    long octets = 4 * (((long) n * bitsChamp + 31) / 32) + 4 * nbOverflow;
+                    if (octets < meilleur) {
+                        meilleur = octets;
+                        fractionDebordement = n == 0 ? 0 : (double) nbOverflow / n;
+                    }
+                }
+                tailles.put(Type.OVERFLOW, meilleur);
+                tailles.put(Type.PFOR, Math.round(bitsPfor / 8.0 * blocsParEchantillon) + 12L * nbBlocs);
+            }
+            int kFor = 32 - Integer.numberOfLeadingZeros(ouFor);
+            int kDelta = 32 - Integer.numberOfLeadingZeros(ecartsNegatifs ? ouEcartsZigzag : ouEcarts);
+            int kZigzag = 32 - Integer.numberOfLeadingZeros(ouZigzag);
+            tailles.put(Type.FOR, 4 * (((long) n * kFor + 31) / 32) + 4L * nbBlocs);
+            tailles.put(Type.DELTA, 4 * (((long) n * kDelta + 31) / 32) + 4L * ((n + TransformBitPacker.PAS_DELTA - 1) / TransformBitPacker.PAS_DELTA));
+            tailles.put(Type.ZIGZAG, 4 * (((long) n * kZigzag + 31) / 32));
+
+            double fractionExceptions = echantillon == 0 ? 0 : (double) exceptionsPfor / echantillon;
+            Type choix = null;
+            double coutChoix = 0;
+            for (Map.Entry<Type, Long> t : tailles.entrySet()) {
+                double bitsParValeur = n == 0 ? 0 : 8.0 * t.getValue() / n;
+                double cout = coutCpu(t.getKey(), goal, fractionDebordement, fractionExceptions)
+                        + TRAFIC_PAR_MOT * bitsParValeur / 32;
+                boolean meilleur;
+                if (choix == null) {
+                    meilleur = true;
+                } else if (goal == Goal.SMALLEST) {
+                    long a = t.getValue();
+                    long b = tailles.get(choix);
+                    meilleur = a < b || (a == b && cout < coutChoix);
+                } else {
+                    meilleur = cout < coutChoix;
+                }
+                if (meilleur) {
+                    choix = t.getKey();
+                    coutChoix = cout;
+                }
+            }
+            String raison = switch (goal) {
+                case SMALLEST -> "plus petite taille estimée";
+                case FASTEST_GET -> "get(i) le moins coûteux";
+                case FASTEST_DECODE -> "décompression la moins coûteuse";
+            };
+            if (negatifs) raison += ", valeurs négatives : FOR, DELTA ou ZIGZAG seulement";
+            return new Decision(choix, goal, tailles.get(choix), coutChoix, n, echantillon, raison, tailles);
+        }
+
+        // coût processeur relatif par valeur de chaque type pour l'objectif donné
+        static double coutCpu(Type t, Goal goal, double fractionDebordement, double fractionExceptions) {
+            boolean get = goal == Goal.FASTEST_GET;
+            return switch (t) {
+                case CROSS -> 1.0;
+                case NOCROSS -> get ? 0.9 : 0.8;
+                case VECTOR -> get ? 1.1 : (SIMD ? 0.3 : 1.0);
+                // un débordement coûte un accès de plus, dans une autre zone mémoire
+                case OVERFLOW -> (get ? 1.2 : 1.4) + 3 * fractionDebordement;
+                case PFOR -> (get ? 1.8 : 1.4) + 3 * fractionExceptions;
+                case FOR, ZIGZAG -> 1.1;
+                // get(i) additionne en moyenne PAS_DELTA / 2 écarts, lus à la suite (environ un quart de get chacun)
+                case DELTA -> get ? 1.0 + TransformBitPacker.PAS_DELTA / 8.0 : 1.2;
+                case LARGE -> 1.0;
+            };
+        }
+
+        // résultat de choose : type retenu, estimations et raison, pour la journalisation
+        public static final class Decision {
+            private final Type type;
+            private final Goal goal;
+            private final long estimatedBytes;
+            private final double estimatedCost;
+            private final int length;
+            private final int sampledValues;
+            private final String reason;
+            private final Map<Type, Long> estimates;
+
+            Decision(Type type, Goal goal, long estimatedBytes, double estimatedCost, int length, int sampledValues,
+                     String reason, Map<Type, Long> estimates) {
+                this.type = type;
+                this.goal = goal;
+                this.estimatedBytes = estimatedBytes;
+                this.estimatedCost = estimatedCost;
+                this.length = length;
+                this.sampledValues = sampledValues;
+                this.reason = reason;
+                this.estimates = Collections.unmodifiableMap(estimates);
+            }
+
+            public Type getType() { return type; }
+            public Goal getGoal() { return goal; }
+            public long getEstimatedBytes() { return estimatedBytes; }
+            // coût relatif par valeur (1 = un get CROSS)
+            public double getEstimatedCost() { return estimatedCost; }
+            public int getSampledValues() { return sampledValues; }
+            public String getReason() { return reason; }
+            // taille estimée en octets de chaque type envisagé
+            public Map<Type, Long> getEstimates() { return estimates; }
+
+            @Override
+            public String toString() {
+                return String.format(Locale.ROOT, "%s pour %s : ~%d octets (%.2f bits par valeur, coût %.2f), %s ; "
+                                + "%d valeurs échantillonnées sur %d ; estimations %s",
+                        type, goal, estimatedBytes, length == 0 ? 0.0 : 8.0 * estimatedBytes / length, estimatedCost,
+                        reason, sampledValues, length, estimates);
+            }
+        }
+    }
+
+    // ---------- Démonstration ----------
+    // les mesures de performance sont faites avec JMH (module bench/, voir README),
+    // main se contente de vérifier chaque compresseur et d'afficher la taille obtenue
+    static void verifier(BitPacker packer, int[] data) {
+        // taux de compression (données brutes : 4 octets par valeur)
+        int n = data.length;
+        long octets = packer.compressedSizeBytes();
+        System.out.printf("taille compressée : %d octets, %.2f bits par valeur, ratio %.2f\n",
+            octets, 8.0 * octets / n, 4.0 * n / octets);
+
+        // get groupé sur 1000 indices aléatoires (seed fixe)
+        int[] indices = new int[1000];
+        Random rnd = new Random(123);
+        for (int q = 0; q < indices.length; q++) indices[q] = rnd.nextInt(n);
+        int[] valeurs = new int[indices.length];
+        packer.get(indices, valeurs);
+        boolean okGet = true;
+        for (int q = 0; q < indices.length; q++) okGet &= valeurs[q] == data[indices[q]];
+        System.out.println("Vérification : get groupé == original : " + okGet);
+
+        int[] dest = new int[n];
+        packer.decompress(dest);
+        System.out.println("Vérification : décompression == original : " + Arrays.equals(dest, data));
+    }
+
+    public static void main(String[] args) {
+        System.out.println("BitPacking - démonstration");
+
+    // générer les données de test
+    int tailleExemple = 10000; 
+    int[] donnees = new int[tailleExemple];
+        //mélange de petites valeurs et quelques grandes pour l'overflow
+        Random rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < tailleExemple; i++) {
+            if (i % 500 == 0) donnees[i] = 1 << (10 + (i/500)%5); // quelques grandes valeurs
+            else donnees[i] = rnd.nextInt(50) + 1; // petites valeurs strictement positives (1..50)
+            donnees[1] = 0; // ajouter une valeur zéro pour tester
+        }
+
+        // CROSS
+        System.out.println("\n--- CROSS ---");
+        BitPacker cross = BitPackerFactory.create(BitPackerFactory.Type.CROSS);
+    cross.compress(donnees);
+    System.out.printf("n=%d, k=%d\n", cross.length(), ((CrossBitPacker)cross).getK());
+    verifier(cross, donnees);
+
+        // NOCROSS
+        System.out.println("\n--- NOCROSS ---");
+        BitPacker nocross = BitPackerFactory.create(BitPackerFactory.Type.NOCROSS);
+    nocross.compress(donnees);
+    System.out.printf("n=%d, k=%d\n", nocross.length(), ((NoCrossBitPacker)nocross).getK());
+    verifier(nocross, donnees);
+
+        // OVERFLOW
+        System.out.println("\n--- OVERFLOW ---");
+        OverflowBitPacker overflow = (OverflowBitPacker) BitPackerFactory.create(BitPackerFactory.Type.OVERFLOW);
+    overflow.compress(donnees);
+    System.out.printf("n=%d, petitK=%d, bitsChamp=%d, nbDebordement=%d\n",
+        overflow.length(), overflow.getSmallK(), overflow.getFieldBits(), overflow.getOverflowCount());
+    verifier(overflow, donnees);
+
+        // VECTOR
+        System.out.println("\n--- VECTOR ---");
+        InterleavedBitPacker vector = (InterleavedBitPacker) BitPackerFactory.create(BitPackerFactory.Type.VECTOR);
+    vector.compress(donnees);
+    System.out.printf("n=%d, k=%d, noyaux=%s\n", vector.length(), vector.getK(), vector.getClass().getSimpleName());
+    verifier(vector, donnees);
+
+        // PFOR
+        System.out.println("\n--- PFOR ---");
+        PforBitPacker pfor = (PforBitPacker) BitPackerFactory.create(BitPackerFactory.Type.PFOR);
+    pfor.compress(donnees);
+    System.out.printf("n=%d, blocs=%d, exceptions=%d\n", pfor.length(), pfor.getBlockCount(), pfor.getExceptionCount());
+    verifier(pfor, donnees);
+
+        // choix automatique
+        System.out.println("\n--- AUTO ---");
+        BitPacker auto = BitPackerFactory.createFor(donnees, BitPackerFactory.Goal.SMALLEST, System.out::println);
+    verifier(auto, donnees);
+
+        // service de compression : donnees découpé en petits tableaux, regroupés par le service
+        System.out.println("\n--- SERVICE ---");
+        List<int[]> lot = new ArrayList<>();
+        for (int i = 0; i < tailleExemple; i += 100) lot.add(Arrays.copyOfRange(donnees, i, Math.min(i + 100, tailleExemple)));
+        try (CompressionService service = BitPackerFactory.service(BitPackerFactory.Type.OVERFLOW, 64, 1000)) {
+            List<CompletableFuture<PackedResult>> futurs = service.submitAll(lot);
+            boolean okService = true;
+            for (int j = 0; j < lot.size(); j++) {
+                okService &= Arrays.equals(futurs.get(j).join().toArray(), lot.get(j));
+            }
+            System.out.println(service + (okService ? " : OK" : " : ERREUR"));
+        }
+
+        // Exemples get()
+        System.out.println("\nExemples get(i) :");
+    for (int i = 0; i < 5; i++) {
+        System.out.printf("i=%d original=%d cross.get=%d nocross.get=%d overflow.get=%d\n",
+            i, donnees[i], cross.get(i), nocross.get(i), overflow.get(i));
+    }
+    for (int i = 500; i < 505; i++) {
+        System.out.printf("i=%d original=%d cross.get=%d nocross.get=%d overflow.get=%d\n",
+            i, donnees[i], cross.get(i), nocross.get(i), overflow.get(i));
+    }
+
+        System.out.println("\nFin démonstration.");
+    }
+}
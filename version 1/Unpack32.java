@@ -0,0 +1,1690 @@
+// Fichier généré par bench/tools/GenUnpack32.java : ne pas modifier à la main.
+// Noyaux de décompression déroulés pour BitPacking.unpack : une méthode par largeur k (1..31),
+// chaque groupe de 32 valeurs alignées occupe exactement k mots, lus une seule fois,
+// avec des décalages et des masques constants (pas de test de débordement par valeur).
+// k = 32 est une simple copie, k = 0 est traité par l'appelant.
+final class Unpack32 {
+    private Unpack32() {}
+
+    // décode nbGroupes groupes de 32 valeurs : src[mot..] vers dst[off..]
+    static void groupes(int[] src, int mot, int k, int[] dst, int off, int nbGroupes) {
+        switch (k) {
+            case 1 -> k1(src, mot, dst, off, nbGroupes);
+            case 2 -> k2(src, mot, dst, off, nbGroupes);
+            case 3 -> k3(src, mot, dst, off, nbGroupes);
+            case 4 -> k4(src, mot, dst, off, nbGroupes);
+            case 5 -> k5(src, mot, dst, off, nbGroupes);
+            case 6 -> k6(src, mot, dst, off, nbGroupes);
+            case 7 -> k7(src, mot, dst, off, nbGroupes);
+            case 8 -> k8(src, mot, dst, off, nbGroupes);
+            case 9 -> k9(src, mot, dst, off, nbGroupes);
+            case 10 -> k10(src, mot, dst, off, nbGroupes);
+            case 11 -> k11(src, mot, dst, off, nbGroupes);
+            case 12 -> k12(src, mot, dst, off, nbGroupes);
+            case 13 -> k13(src, mot, dst, off, nbGroupes);
+            case 14 -> k14(src, mot, dst, off, nbGroupes);
+            case 15 -> k15(src, mot, dst, off, nbGroupes);
+            case 16 -> k16(src, mot, dst, off, nbGroupes);
+            case 17 -> k17(src, mot, dst, off, nbGroupes);
+            case 18 -> k18(src, mot, dst, off, nbGroupes);
+            case 19 -> k19(src, mot, dst, off, nbGroupes);
+            case 20 -> k20(src, mot, dst, off, nbGroupes);
+            case 21 -> k21(src, mot, dst, off, nbGroupes);
+            case 22 -> k22(src, mot, dst, off, nbGroupes);
+            case 23 -> k23(src, mot, dst, off, nbGroupes);
+            case 24 -> k24(src, mot, dst, off, nbGroupes);
+            case 25 -> k25(src, mot, dst, off, nbGroupes);
+            case 26 -> k26(src, mot, dst, off, nbGroupes);
+            case 27 -> k27(src, mot, dst, off, nbGroupes);
+            case 28 -> k28(src, mot, dst, off, nbGroupes);
+            case 29 -> k29(src, mot, dst, off, nbGroupes);
+            case 30 -> k30(src, mot, dst, off, nbGroupes);
+            case 31 -> k31(src, mot, dst, off, nbGroupes);
+            case 32 -> System.arraycopy(src, mot, dst, off, 32 * nbGroupes);
+            default -> throw new IllegalArgumentException("k doit être entre 1 et 32 : " + k);
+        }
+    }
+
+    private static void k1(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 1, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1;
+            d[o + 1] = (w0 >>> 1) & 0x1;
+            d[o + 2] = (w0 >>> 2) & 0x1;
+            d[o + 3] = (w0 >>> 3) & 0x1;
+            d[o + 4] = (w0 >>> 4) & 0x1;
+            d[o + 5] = (w0 >>> 5) & 0x1;
+            d[o + 6] = (w0 >>> 6) & 0x1;
+            d[o + 7] = (w0 >>> 7) & 0x1;
+            d[o + 8] = (w0 >>> 8) & 0x1;
+            d[o + 9] = (w0 >>> 9) & 0x1;
+            d[o + 10] = (w0 >>> 10) & 0x1;
+            d[o + 11] = (w0 >>> 11) & 0x1;
+            d[o + 12] = (w0 >>> 12) & 0x1;
+            d[o + 13] = (w0 >>> 13) & 0x1;
+            d[o + 14] = (w0 >>> 14) & 0x1;
+            d[o + 15] = (w0 >>> 15) & 0x1;
+            d[o + 16] = (w0 >>> 16) & 0x1;
+            d[o + 17] = (w0 >>> 17) & 0x1;
+            d[o + 18] = (w0 >>> 18) & 0x1;
+            d[o + 19] = (w0 >>> 19) & 0x1;
+            d[o + 20] = (w0 >>> 20) & 0x1;
+            d[o + 21] = (w0 >>> 21) & 0x1;
+            d[o + 22] = (w0 >>> 22) & 0x1;
+            d[o + 23] = (w0 >>> 23) & 0x1;
+            d[o + 24] = (w0 >>> 24) & 0x1;
+            d[o + 25] = (w0 >>> 25) & 0x1;
+            d[o + 26] = (w0 >>> 26) & 0x1;
+            d[o + 27] = (w0 >>> 27) & 0x1;
+            d[o + 28] = (w0 >>> 28) & 0x1;
+            d[o + 29] = (w0 >>> 29) & 0x1;
+            d[o + 30] = (w0 >>> 30) & 0x1;
+            d[o + 31] = w0 >>> 31;
+        }
+    }
+
+    private static void k2(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 2, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3;
+            d[o + 1] = (w0 >>> 2) & 0x3;
+            d[o + 2] = (w0 >>> 4) & 0x3;
+            d[o + 3] = (w0 >>> 6) & 0x3;
+            d[o + 4] = (w0 >>> 8) & 0x3;
+            d[o + 5] = (w0 >>> 10) & 0x3;
+            d[o + 6] = (w0 >>> 12) & 0x3;
+            d[o + 7] = (w0 >>> 14) & 0x3;
+            d[o + 8] = (w0 >>> 16) & 0x3;
+            d[o + 9] = (w0 >>> 18) & 0x3;
+            d[o + 10] = (w0 >>> 20) & 0x3;
+            d[o + 11] = (w0 >>> 22) & 0x3;
+            d[o + 12] = (w0 >>> 24) & 0x3;
+            d[o + 13] = (w0 >>> 26) & 0x3;
+            d[o + 14] = (w0 >>> 28) & 0x3;
+            d[o + 15] = w0 >>> 30;
+            int w1 = s[m + 1];
+            d[o + 16] = w1 & 0x3;
+            d[o + 17] = (w1 >>> 2) & 0x3;
+            d[o + 18] = (w1 >>> 4) & 0x3;
+            d[o + 19] = (w1 >>> 6) & 0x3;
+            d[o + 20] = (w1 >>> 8) & 0x3;
+            d[o + 21] = (w1 >>> 10) & 0x3;
+            d[o + 22] = (w1 >>> 12) & 0x3;
+            d[o + 23] = (w1 >>> 14) & 0x3;
+            d[o + 24] = (w1 >>> 16) & 0x3;
+            d[o + 25] = (w1 >>> 18) & 0x3;
+            d[o + 26] = (w1 >>> 20) & 0x3;
+            d[o + 27] = (w1 >>> 22) & 0x3;
+            d[o + 28] = (w1 >>> 24) & 0x3;
+            d[o + 29] = (w1 >>> 26) & 0x3;
+            d[o + 30] = (w1 >>> 28) & 0x3;
+            d[o + 31] = w1 >>> 30;
+        }
+    }
+
+    private static void k3(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 3, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7;
+            d[o + 1] = (w0 >>> 3) & 0x7;
+            d[o + 2] = (w0 >>> 6) & 0x7;
+            d[o + 3] = (w0 >>> 9) & 0x7;
+            d[o + 4] = (w0 >>> 12) & 0x7;
+            d[o + 5] = (w0 >>> 15) & 0x7;
+            d[o + 6] = (w0 >>> 18) & 0x7;
+            d[o + 7] = (w0 >>> 21) & 0x7;
+            d[o + 8] = (w0 >>> 24) & 0x7;
+            d[o + 9] = (w0 >>> 27) & 0x7;
+            int w1 = s[m + 1];
+            d[o + 10] = (w0 >>> 30 | w1 << 2) & 0x7;
+            d[o + 11] = (w1 >>> 1) & 0x7;
+            d[o + 12] = (w1 >>> 4) & 0x7;
+            d[o + 13] = (w1 >>> 7) & 0x7;
+            d[o + 14] = (w1 >>> 10) & 0x7;
+            d[o + 15] = (w1 >>> 13) & 0x7;
+            d[o + 16] = (w1 >>> 16) & 0x7;
+            d[o + 17] = (w1 >>> 19) & 0x7;
+            d[o + 18] = (w1 >>> 22) & 0x7;
+            d[o + 19] = (w1 >>> 25) & 0x7;
+            d[o + 20] = (w1 >>> 28) & 0x7;
+            int w2 = s[m + 2];
+            d[o + 21] = (w1 >>> 31 | w2 << 1) & 0x7;
+            d[o + 22] = (w2 >>> 2) & 0x7;
+            d[o + 23] = (w2 >>> 5) & 0x7;
+            d[o + 24] = (w2 >>> 8) & 0x7;
+            d[o + 25] = (w2 >>> 11) & 0x7;
+            d[o + 26] = (w2 >>> 14) & 0x7;
+            d[o + 27] = (w2 >>> 17) & 0x7;
+            d[o + 28] = (w2 >>> 20) & 0x7;
+            d[o + 29] = (w2 >>> 23) & 0x7;
+            d[o + 30] = (w2 >>> 26) & 0x7;
+            d[o + 31] = w2 >>> 29;
+        }
+    }
+
+    private static void k4(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 4, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0xF;
+            d[o + 1] = (w0 >>> 4) & 0xF;
+            d[o + 2] = (w0 >>> 8) & 0xF;
+            d[o + 3] = (w0 >>> 12) & 0xF;
+            d[o + 4] = (w0 >>> 16) & 0xF;
+            d[o + 5] = (w0 >>> 20) & 0xF;
+            d[o + 6] = (w0 >>> 24) & 0xF;
+            d[o + 7] = w0 >>> 28;
+            int w1 = s[m + 1];
+            d[o + 8] = w1 & 0xF;
+            d[o + 9] = (w1 >>> 4) & 0xF;
+            d[o + 10] = (w1 >>> 8) & 0xF;
+            d[o + 11] = (w1 >>> 12) & 0xF;
+            d[o + 12] = (w1 >>> 16) & 0xF;
+            d[o + 13] = (w1 >>> 20) & 0xF;
+            d[o + 14] = (w1 >>> 24) & 0xF;
+            d[o + 15] = w1 >>> 28;
+            int w2 = s[m + 2];
+            d[o + 16] = w2 & 0xF;
+            d[o + 17] = (w2 >>> 4) & 0xF;
+            d[o + 18] = (w2 >>> 8) & 0xF;
+            d[o + 19] = (w2 >>> 12) & 0xF;
+            d[o + 20] = (w2 >>> 16) & 0xF;
+            d[o + 21] = (w2 >>> 20) & 0xF;
+            d[o + 22] = (w2 >>> 24) & 0xF;
+            d[o + 23] = w2 >>> 28;
+            int w3 = s[m + 3];
+            d[o + 24] = w3 & 0xF;
+            d[o + 25] = (w3 >>> 4) & 0xF;
+            d[o + 26] = (w3 >>> 8) & 0xF;
+            d[o + 27] = (w3 >>> 12) & 0xF;
+            d[o + 28] = (w3 >>> 16) & 0xF;
+            d[o + 29] = (w3 >>> 20) & 0xF;
+            d[o + 30] = (w3 >>> 24) & 0xF;
+            d[o + 31] = w3 >>> 28;
+        }
+    }
+
+    private static void k5(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 5, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1F;
+            d[o + 1] = (w0 >>> 5) & 0x1F;
+            d[o + 2] = (w0 >>> 10) & 0x1F;
+            d[o + 3] = (w0 >>> 15) & 0x1F;
+            d[o + 4] = (w0 >>> 20) & 0x1F;
+            d[o + 5] = (w0 >>> 25) & 0x1F;
+            int w1 = s[m + 1];
+            d[o + 6] = (w0 >>> 30 | w1 << 2) & 0x1F;
+            d[o + 7] = (w1 >>> 3) & 0x1F;
+            d[o + 8] = (w1 >>> 8) & 0x1F;
+            d[o + 9] = (w1 >>> 13) & 0x1F;
+            d[o + 10] = (w1 >>> 18) & 0x1F;
+            d[o + 11] = (w1 >>> 23) & 0x1F;
+            int w2 = s[m + 2];
+            d[o + 12] = (w1 >>> 28 | w2 << 4) & 0x1F;
+            d[o + 13] = (w2 >>> 1) & 0x1F;
+            d[o + 14] = (w2 >>> 6) & 0x1F;
+            d[o + 15] = (w2 >>> 11) & 0x1F;
+            d[o + 16] = (w2 >>> 16) & 0x1F;
+            d[o + 17] = (w2 >>> 21) & 0x1F;
+            d[o + 18] = (w2 >>> 26) & 0x1F;
+            int w3 = s[m + 3];
+            d[o + 19] = (w2 >>> 31 | w3 << 1) & 0x1F;
+            d[o + 20] = (w3 >>> 4) & 0x1F;
+            d[o + 21] = (w3 >>> 9) & 0x1F;
+            d[o + 22] = (w3 >>> 14) & 0x1F;
+            d[o + 23] = (w3 >>> 19) & 0x1F;
+            d[o + 24] = (w3 >>> 24) & 0x1F;
+            int w4 = s[m + 4];
+            d[o + 25] = (w3 >>> 29 | w4 << 3) & 0x1F;
+            d[o + 26] = (w4 >>> 2) & 0x1F;
+            d[o + 27] = (w4 >>> 7) & 0x1F;
+            d[o + 28] = (w4 >>> 12) & 0x1F;
+            d[o + 29] = (w4 >>> 17) & 0x1F;
+            d[o + 30] = (w4 >>> 22) & 0x1F;
+            d[o + 31] = w4 >>> 27;
+        }
+    }
+
+    private static void k6(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 6, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3F;
+            d[o + 1] = (w0 >>> 6) & 0x3F;
+            d[o + 2] = (w0 >>> 12) & 0x3F;
+            d[o + 3] = (w0 >>> 18) & 0x3F;
+            d[o + 4] = (w0 >>> 24) & 0x3F;
+            int w1 = s[m + 1];
+            d[o + 5] = (w0 >>> 30 | w1 << 2) & 0x3F;
+            d[o + 6] = (w1 >>> 4) & 0x3F;
+            d[o + 7] = (w1 >>> 10) & 0x3F;
+            d[o + 8] = (w1 >>> 16) & 0x3F;
+            d[o + 9] = (w1 >>> 22) & 0x3F;
+            int w2 = s[m + 2];
+            d[o + 10] = (w1 >>> 28 | w2 << 4) & 0x3F;
+            d[o + 11] = (w2 >>> 2) & 0x3F;
+            d[o + 12] = (w2 >>> 8) & 0x3F;
+            d[o + 13] = (w2 >>> 14) & 0x3F;
+            d[o + 14] = (w2 >>> 20) & 0x3F;
+            d[o + 15] = w2 >>> 26;
+            int w3 = s[m + 3];
+            d[o + 16] = w3 & 0x3F;
+            d[o + 17] = (w3 >>> 6) & 0x3F;
+            d[o + 18] = (w3 >>> 12) & 0x3F;
+            d[o + 19] = (w3 >>> 18) & 0x3F;
+            d[o + 20] = (w3 >>> 24) & 0x3F;
+            int w4 = s[m + 4];
+            d[o + 21] = (w3 >>> 30 | w4 << 2) & 0x3F;
+            d[o + 22] = (w4 >>> 4) & 0x3F;
+            d[o + 23] = (w4 >>> 10) & 0x3F;
+            d[o + 24] = (w4 >>> 16) & 0x3F;
+            d[o + 25] = (w4 >>> 22) & 0x3F;
+            int w5 = s[m + 5];
+            d[o + 26] = (w4 >>> 28 | w5 << 4) & 0x3F;
+            d[o + 27] = (w5 >>> 2) & 0x3F;
+            d[o + 28] = (w5 >>> 8) & 0x3F;
+            d[o + 29] = (w5 >>> 14) & 0x3F;
+            d[o + 30] = (w5 >>> 20) & 0x3F;
+            d[o + 31] = w5 >>> 26;
+        }
+    }
+
+    private static void k7(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 7, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7F;
+            d[o + 1] = (w0 >>> 7) & 0x7F;
+            d[o + 2] = (w0 >>> 14) & 0x7F;
+            d[o + 3] = (w0 >>> 21) & 0x7F;
+            int w1 = s[m + 1];
+            d[o + 4] = (w0 >>> 28 | w1 << 4) & 0x7F;
+            d[o + 5] = (w1 >>> 3) & 0x7F;
+            d[o + 6] = (w1 >>> 10) & 0x7F;
+            d[o + 7] = (w1 >>> 17) & 0x7F;
+            d[o + 8] = (w1 >>> 24) & 0x7F;
+            int w2 = s[m + 2];
+            d[o + 9] = (w1 >>> 31 | w2 << 1) & 0x7F;
+            d[o + 10] = (w2 >>> 6) & 0x7F;
+            d[o + 11] = (w2 >>> 13) & 0x7F;
+            d[o + 12] = (w2 >>> 20) & 0x7F;
+            int w3 = s[m + 3];
+            d[o + 13] = (w2 >>> 27 | w3 << 5) & 0x7F;
+            d[o + 14] = (w3 >>> 2) & 0x7F;
+            d[o + 15] = (w3 >>> 9) & 0x7F;
+            d[o + 16] = (w3 >>> 16) & 0x7F;
+            d[o + 17] = (w3 >>> 23) & 0x7F;
+            int w4 = s[m + 4];
+            d[o + 18] = (w3 >>> 30 | w4 << 2) & 0x7F;
+            d[o + 19] = (w4 >>> 5) & 0x7F;
+            d[o + 20] = (w4 >>> 12) & 0x7F;
+            d[o + 21] = (w4 >>> 19) & 0x7F;
+            int w5 = s[m + 5];
+            d[o + 22] = (w4 >>> 26 | w5 << 6) & 0x7F;
+            d[o + 23] = (w5 >>> 1) & 0x7F;
+            d[o + 24] = (w5 >>> 8) & 0x7F;
+            d[o + 25] = (w5 >>> 15) & 0x7F;
+            d[o + 26] = (w5 >>> 22) & 0x7F;
+            int w6 = s[m + 6];
+            d[o + 27] = (w5 >>> 29 | w6 << 3) & 0x7F;
+            d[o + 28] = (w6 >>> 4) & 0x7F;
+            d[o + 29] = (w6 >>> 11) & 0x7F;
+            d[o + 30] = (w6 >>> 18) & 0x7F;
+            d[o + 31] = w6 >>> 25;
+        }
+    }
+
+    private static void k8(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 8, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0xFF;
+            d[o + 1] = (w0 >>> 8) & 0xFF;
+            d[o + 2] = (w0 >>> 16) & 0xFF;
+            d[o + 3] = w0 >>> 24;
+            int w1 = s[m + 1];
+            d[o + 4] = w1 & 0xFF;
+            d[o + 5] = (w1 >>> 8) & 0xFF;
+            d[o + 6] = (w1 >>> 16) & 0xFF;
+            d[o + 7] = w1 >>> 24;
+            int w2 = s[m + 2];
+            d[o + 8] = w2 & 0xFF;
+            d[o + 9] = (w2 >>> 8) & 0xFF;
+            d[o + 10] = (w2 >>> 16) & 0xFF;
+            d[o + 11] = w2 >>> 24;
+            int w3 = s[m + 3];
+            d[o + 12] = w3 & 0xFF;
+            d[o + 13] = (w3 >>> 8) & 0xFF;
+            d[o + 14] = (w3 >>> 16) & 0xFF;
+            d[o + 15] = w3 >>> 24;
+            int w4 = s[m + 4];
+            d[o + 16] = w4 & 0xFF;
+            d[o + 17] = (w4 >>> 8) & 0xFF;
+            d[o + 18] = (w4 >>> 16) & 0xFF;
+            d[o + 19] = w4 >>> 24;
+            int w5 = s[m + 5];
+            d[o + 20] = w5 & 0xFF;
+            d[o + 21] = (w5 >>> 8) & 0xFF;
+            d[o + 22] = (w5 >>> 16) & 0xFF;
+            d[o + 23] = w5 >>> 24;
+            int w6 = s[m + 6];
+            d[o + 24] = w6 & 0xFF;
+            d[o + 25] = (w6 >>> 8) & 0xFF;
+            d[o + 26] = (w6 >>> 16) & 0xFF;
+            d[o + 27] = w6 >>> 24;
+            int w7 = s[m + 7];
+            d[o + 28] = w7 & 0xFF;
+            d[o + 29] = (w7 >>> 8) & 0xFF;
+            d[o + 30] = (w7 >>> 16) & 0xFF;
+            d[o + 31] = w7 >>> 24;
+        }
+    }
+
+    private static void k9(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 9, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1FF;
+            d[o + 1] = (w0 >>> 9) & 0x1FF;
+            d[o + 2] = (w0 >>> 18) & 0x1FF;
+            int w1 = s[m + 1];
+            d[o + 3] = (w0 >>> 27 | w1 << 5) & 0x1FF;
+            d[o + 4] = (w1 >>> 4) & 0x1FF;
+            d[o + 5] = (w1 >>> 13) & 0x1FF;
+            d[o + 6] = (w1 >>> 22) & 0x1FF;
+            int w2 = s[m + 2];
+            d[o + 7] = (w1 >>> 31 | w2 << 1) & 0x1FF;
+            d[o + 8] = (w2 >>> 8) & 0x1FF;
+            d[o + 9] = (w2 >>> 17) & 0x1FF;
+            int w3 = s[m + 3];
+            d[o + 10] = (w2 >>> 26 | w3 << 6) & 0x1FF;
+            d[o + 11] = (w3 >>> 3) & 0x1FF;
+            d[o + 12] = (w3 >>> 12) & 0x1FF;
+            d[o + 13] = (w3 >>> 21) & 0x1FF;
+            int w4 = s[m + 4];
+            d[o + 14] = (w3 >>> 30 | w4 << 2) & 0x1FF;
+            d[o + 15] = (w4 >>> 7) & 0x1FF;
+            d[o + 16] = (w4 >>> 16) & 0x1FF;
+            int w5 = s[m + 5];
+            d[o + 17] = (w4 >>> 25 | w5 << 7) & 0x1FF;
+            d[o + 18] = (w5 >>> 2) & 0x1FF;
+            d[o + 19] = (w5 >>> 11) & 0x1FF;
+            d[o + 20] = (w5 >>> 20) & 0x1FF;
+            int w6 = s[m + 6];
+            d[o + 21] = (w5 >>> 29 | w6 << 3) & 0x1FF;
+            d[o + 22] = (w6 >>> 6) & 0x1FF;
+            d[o + 23] = (w6 >>> 15) & 0x1FF;
+            int w7 = s[m + 7];
+            d[o + 24] = (w6 >>> 24 | w7 << 8) & 0x1FF;
+            d[o + 25] = (w7 >>> 1) & 0x1FF;
+            d[o + 26] = (w7 >>> 10) & 0x1FF;
+            d[o + 27] = (w7 >>> 19) & 0x1FF;
+            int w8 = s[m + 8];
+            d[o + 28] = (w7 >>> 28 | w8 << 4) & 0x1FF;
+            d[o + 29] = (w8 >>> 5) & 0x1FF;
+            d[o + 30] = (w8 >>> 14) & 0x1FF;
+            d[o + 31] = w8 >>> 23;
+        }
+    }
+
+    private static void k10(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 10, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3FF;
+            d[o + 1] = (w0 >>> 10) & 0x3FF;
+            d[o + 2] = (w0 >>> 20) & 0x3FF;
+            int w1 = s[m + 1];
+            d[o + 3] = (w0 >>> 30 | w1 << 2) & 0x3FF;
+            d[o + 4] = (w1 >>> 8) & 0x3FF;
+            d[o + 5] = (w1 >>> 18) & 0x3FF;
+            int w2 = s[m + 2];
+            d[o + 6] = (w1 >>> 28 | w2 << 4) & 0x3FF;
+            d[o + 7] = (w2 >>> 6) & 0x3FF;
+            d[o + 8] = (w2 >>> 16) & 0x3FF;
+            int w3 = s[m + 3];
+            d[o + 9] = (w2 >>> 26 | w3 << 6) & 0x3FF;
+            d[o + 10] = (w3 >>> 4) & 0x3FF;
+            d[o + 11] = (w3 >>> 14) & 0x3FF;
+            int w4 = s[m + 4];
+            d[o + 12] = (w3 >>> 24 | w4 << 8) & 0x3FF;
+            d[o + 13] = (w4 >>> 2) & 0x3FF;
+            d[o + 14] = (w4 >>> 12) & 0x3FF;
+            d[o + 15] = w4 >>> 22;
+            int w5 = s[m + 5];
+            d[o + 16] = w5 & 0x3FF;
+            d[o + 17] = (w5 >>> 10) & 0x3FF;
+            d[o + 18] = (w5 >>> 20) & 0x3FF;
+            int w6 = s[m + 6];
+            d[o + 19] = (w5 >>> 30 | w6 << 2) & 0x3FF;
+            d[o + 20] = (w6 >>> 8) & 0x3FF;
+            d[o + 21] = (w6 >>> 18) & 0x3FF;
+            int w7 = s[m + 7];
+            d[o + 22] = (w6 >>> 28 | w7 << 4) & 0x3FF;
+            d[o + 23] = (w7 >>> 6) & 0x3FF;
+            d[o + 24] = (w7 >>> 16) & 0x3FF;
+            int w8 = s[m + 8];
+            d[o + 25] = (w7 >>> 26 | w8 << 6) & 0x3FF;
+            d[o + 26] = (w8 >>> 4) & 0x3FF;
+            d[o + 27] = (w8 >>> 14) & 0x3FF;
+            int w9 = s[m + 9];
+            d[o + 28] = (w8 >>> 24 | w9 << 8) & 0x3FF;
+            d[o + 29] = (w9 >>> 2) & 0x3FF;
+            d[o + 30] = (w9 >>> 12) & 0x3FF;
+            d[o + 31] = w9 >>> 22;
+        }
+    }
+
+    private static void k11(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 11, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7FF;
+            d[o + 1] = (w0 >>> 11) & 0x7FF;
+            int w1 = s[m + 1];
+            d[o + 2] = (w0 >>> 22 | w1 << 10) & 0x7FF;
+            d[o + 3] = (w1 >>> 1) & 0x7FF;
+            d[o + 4] = (w1 >>> 12) & 0x7FF;
+            int w2 = s[m + 2];
+            d[o + 5] = (w1 >>> 23 | w2 << 9) & 0x7FF;
+            d[o + 6] = (w2 >>> 2) & 0x7FF;
+            d[o + 7] = (w2 >>> 13) & 0x7FF;
+            int w3 = s[m + 3];
+            d[o + 8] = (w2 >>> 24 | w3 << 8) & 0x7FF;
+            d[o + 9] = (w3 >>> 3) & 0x7FF;
+            d[o + 10] = (w3 >>> 14) & 0x7FF;
+            int w4 = s[m + 4];
+            d[o + 11] = (w3 >>> 25 | w4 << 7) & 0x7FF;
+            d[o + 12] = (w4 >>> 4) & 0x7FF;
+            d[o + 13] = (w4 >>> 15) & 0x7FF;
+            int w5 = s[m + 5];
+            d[o + 14] = (w4 >>> 26 | w5 << 6) & 0x7FF;
+            d[o + 15] = (w5 >>> 5) & 0x7FF;
+            d[o + 16] = (w5 >>> 16) & 0x7FF;
+            int w6 = s[m + 6];
+            d[o + 17] = (w5 >>> 27 | w6 << 5) & 0x7FF;
+            d[o + 18] = (w6 >>> 6) & 0x7FF;
+            d[o + 19] = (w6 >>> 17) & 0x7FF;
+            int w7 = s[m + 7];
+            d[o + 20] = (w6 >>> 28 | w7 << 4) & 0x7FF;
+            d[o + 21] = (w7 >>> 7) & 0x7FF;
+            d[o + 22] = (w7 >>> 18) & 0x7FF;
+            int w8 = s[m + 8];
+            d[o + 23] = (w7 >>> 29 | w8 << 3) & 0x7FF;
+            d[o + 24] = (w8 >>> 8) & 0x7FF;
+            d[o + 25] = (w8 >>> 19) & 0x7FF;
+            int w9 = s[m + 9];
+            d[o + 26] = (w8 >>> 30 | w9 << 2) & 0x7FF;
+            d[o + 27] = (w9 >>> 9) & 0x7FF;
+            d[o + 28] = (w9 >>> 20) & 0x7FF;
+            int w10 = s[m + 10];
+            d[o + 29] = (w9 >>> 31 | w10 << 1) & 0x7FF;
+            d[o + 30] = (w10 >>> 10) & 0x7FF;
+            d[o + 31] = w10 >>> 21;
+        }
+    }
+
+    private static void k12(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 12, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0xFFF;
+            d[o + 1] = (w0 >>> 12) & 0xFFF;
+            int w1 = s[m + 1];
+            d[o + 2] = (w0 >>> 24 | w1 << 8) & 0xFFF;
+            d[o + 3] = (w1 >>> 4) & 0xFFF;
+            d[o + 4] = (w1 >>> 16) & 0xFFF;
+            int w2 = s[m + 2];
+            d[o + 5] = (w1 >>> 28 | w2 << 4) & 0xFFF;
+            d[o + 6] = (w2 >>> 8) & 0xFFF;
+            d[o + 7] = w2 >>> 20;
+            int w3 = s[m + 3];
+            d[o + 8] = w3 & 0xFFF;
+            d[o + 9] = (w3 >>> 12) & 0xFFF;
+            int w4 = s[m + 4];
+            d[o + 10] = (w3 >>> 24 | w4 << 8) & 0xFFF;
+            d[o + 11] = (w4 >>> 4) & 0xFFF;
+            d[o + 12] = (w4 >>> 16) & 0xFFF;
+            int w5 = s[m + 5];
+            d[o + 13] = (w4 >>> 28 | w5 << 4) & 0xFFF;
+            d[o + 14] = (w5 >>> 8) & 0xFFF;
+            d[o + 15] = w5 >>> 20;
+            int w6 = s[m + 6];
+            d[o + 16] = w6 & 0xFFF;
+            d[o + 17] = (w6 >>> 12) & 0xFFF;
+            int w7 = s[m + 7];
+            d[o + 18] = (w6 >>> 24 | w7 << 8) & 0xFFF;
+            d[o + 19] = (w7 >>> 4) & 0xFFF;
+            d[o + 20] = (w7 >>> 16) & 0xFFF;
+            int w8 = s[m + 8];
+            d[o + 21] = (w7 >>> 28 | w8 << 4) & 0xFFF;
+            d[o + 22] = (w8 >>> 8) & 0xFFF;
+            d[o + 23] = w8 >>> 20;
+            int w9 = s[m + 9];
+            d[o + 24] = w9 & 0xFFF;
+            d[o + 25] = (w9 >>> 12) & 0xFFF;
+            int w10 = s[m + 10];
+            d[o + 26] = (w9 >>> 24 | w10 << 8) & 0xFFF;
+            d[o + 27] = (w10 >>> 4) & 0xFFF;
+            d[o + 28] = (w10 >>> 16) & 0xFFF;
+            int w11 = s[m + 11];
+            d[o + 29] = (w10 >>> 28 | w11 << 4) & 0xFFF;
+            d[o + 30] = (w11 >>> 8) & 0xFFF;
+            d[o + 31] = w11 >>> 20;
+        }
+    }
+
+    private static void k13(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 13, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1FFF;
+            d[o + 1] = (w0 >>> 13) & 0x1FFF;
+            int w1 = s[m + 1];
+            d[o + 2] = (w0 >>> 26 | w1 << 6) & 0x1FFF;
+            d[o + 3] = (w1 >>> 7) & 0x1FFF;
+            int w2 = s[m + 2];
+            d[o + 4] = (w1 >>> 20 | w2 << 12) & 0x1FFF;
+            d[o + 5] = (w2 >>> 1) & 0x1FFF;
+            d[o + 6] = (w2 >>> 14) & 0x1FFF;
+            int w3 = s[m + 3];
+            d[o + 7] = (w2 >>> 27 | w3 << 5) & 0x1FFF;
+            d[o + 8] = (w3 >>> 8) & 0x1FFF;
+            int w4 = s[m + 4];
+            d[o + 9] = (w3 >>> 21 | w4 << 11) & 0x1FFF;
+            d[o + 10] = (w4 >>> 2) & 0x1FFF;
+            d[o + 11] = (w4 >>> 15) & 0x1FFF;
+            int w5 = s[m + 5];
+            d[o + 12] = (w4 >>> 28 | w5 << 4) & 0x1FFF;
+            d[o + 13] = (w5 >>> 9) & 0x1FFF;
+            int w6 = s[m + 6];
+            d[o + 14] = (w5 >>> 22 | w6 << 10) & 0x1FFF;
+            d[o + 15] = (w6 >>> 3) & 0x1FFF;
+            d[o + 16] = (w6 >>> 16) & 0x1FFF;
+            int w7 = s[m + 7];
+            d[o + 17] = (w6 >>> 29 | w7 << 3) & 0x1FFF;
+            d[o + 18] = (w7 >>> 10) & 0x1FFF;
+            int w8 = s[m + 8];
+            d[o + 19] = (w7 >>> 23 | w8 << 9) & 0x1FFF;
+            d[o + 20] = (w8 >>> 4) & 0x1FFF;
+            d[o + 21] = (w8 >>> 17) & 0x1FFF;
+            int w9 = s[m + 9];
+            d[o + 22] = (w8 >>> 30 | w9 << 2) & 0x1FFF;
+            d[o + 23] = (w9 >>> 11) & 0x1FFF;
+            int w10 = s[m + 10];
+            d[o + 24] = (w9 >>> 24 | w10 << 8) & 0x1FFF;
+            d[o + 25] = (w10 >>> 5) & 0x1FFF;
+            d[o + 26] = (w10 >>> 18) & 0x1FFF;
+            int w11 = s[m + 11];
+            d[o + 27] = (w10 >>> 31 | w11 << 1) & 0x1FFF;
+            d[o + 28] = (w11 >>> 12) & 0x1FFF;
+            int w12 = s[m + 12];
+            d[o + 29] = (w11 >>> 25 | w12 << 7) & 0x1FFF;
+            d[o + 30] = (w12 >>> 6) & 0x1FFF;
+            d[o + 31] = w12 >>> 19;
+        }
+    }
+
+    private static void k14(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 14, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3FFF;
+            d[o + 1] = (w0 >>> 14) & 0x3FFF;
+            int w1 = s[m + 1];
+            d[o + 2] = (w0 >>> 28 | w1 << 4) & 0x3FFF;
+            d[o + 3] = (w1 >>> 10) & 0x3FFF;
+            int w2 = s[m + 2];
+            d[o + 4] = (w1 >>> 24 | w2 << 8) & 0x3FFF;
+            d[o + 5] = (w2 >>> 6) & 0x3FFF;
+            int w3 = s[m + 3];
+            d[o + 6] = (w2 >>> 20 | w3 << 12) & 0x3FFF;
+            d[o + 7] = (w3 >>> 2) & 0x3FFF;
+            d[o + 8] = (w3 >>> 16) & 0x3FFF;
+            int w4 = s[m + 4];
+            d[o + 9] = (w3 >>> 30 | w4 << 2) & 0x3FFF;
+            d[o + 10] = (w4 >>> 12) & 0x3FFF;
+            int w5 = s[m + 5];
+            d[o + 11] = (w4 >>> 26 | w5 << 6) & 0x3FFF;
+            d[o + 12] = (w5 >>> 8) & 0x3FFF;
+            int w6 = s[m + 6];
+            d[o + 13] = (w5 >>> 22 | w6 << 10) & 0x3FFF;
+            d[o + 14] = (w6 >>> 4) & 0x3FFF;
+            d[o + 15] = w6 >>> 18;
+            int w7 = s[m + 7];
+            d[o + 16] = w7 & 0x3FFF;
+            d[o + 17] = (w7 >>> 14) & 0x3FFF;
+            int w8 = s[m + 8];
+            d[o + 18] = (w7 >>> 28 | w8 << 4) & 0x3FFF;
+            d[o + 19] = (w8 >>> 10) & 0x3FFF;
+            int w9 = s[m + 9];
+            d[o + 20] = (w8 >>> 24 | w9 << 8) & 0x3FFF;
+            d[o + 21] = (w9 >>> 6) & 0x3FFF;
+            int w10 = s[m + 10];
+            d[o + 22] = (w9 >>> 20 | w10 << 12) & 0x3FFF;
+            d[o + 23] = (w10 >>> 2) & 0x3FFF;
+            d[o + 24] = (w10 >>> 16) & 0x3FFF;
+            int w11 = s[m + 11];
+            d[o + 25] = (w10 >>> 30 | w11 << 2) & 0x3FFF;
+            d[o + 26] = (w11 >>> 12) & 0x3FFF;
+            int w12 = s[m + 12];
+            d[o + 27] = (w11 >>> 26 | w12 << 6) & 0x3FFF;
+            d[o + 28] = (w12 >>> 8) & 0x3FFF;
+            int w13 = s[m + 13];
+            d[o + 29] = (w12 >>> 22 | w13 << 10) & 0x3FFF;
+            d[o + 30] = (w13 >>> 4) & 0x3FFF;
+            d[o + 31] = w13 >>> 18;
+        }
+    }
+
+    private static void k15(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 15, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7FFF;
+            d[o + 1] = (w0 >>> 15) & 0x7FFF;
+            int w1 = s[m + 1];
+            d[o + 2] = (w0 >>> 30 | w1 << 2) & 0x7FFF;
+            d[o + 3] = (w1 >>> 13) & 0x7FFF;
+            int w2 = s[m + 2];
+            d[o + 4] = (w1 >>> 28 | w2 << 4) & 0x7FFF;
+            d[o + 5] = (w2 >>> 11) & 0x7FFF;
+            int w3 = s[m + 3];
+            d[o + 6] = (w2 >>> 26 | w3 << 6) & 0x7FFF;
+            d[o + 7] = (w3 >>> 9) & 0x7FFF;
+            int w4 = s[m + 4];
+            d[o + 8] = (w3 >>> 24 | w4 << 8) & 0x7FFF;
+            d[o + 9] = (w4 >>> 7) & 0x7FFF;
+            int w5 = s[m + 5];
+            d[o + 10] = (w4 >>> 22 | w5 << 10) & 0x7FFF;
+            d[o + 11] = (w5 >>> 5) & 0x7FFF;
+            int w6 = s[m + 6];
+            d[o + 12] = (w5 >>> 20 | w6 << 12) & 0x7FFF;
+            d[o + 13] = (w6 >>> 3) & 0x7FFF;
+            int w7 = s[m + 7];
+            d[o + 14] = (w6 >>> 18 | w7 << 14) & 0x7FFF;
+            d[o + 15] = (w7 >>> 1) & 0x7FFF;
+            d[o + 16] = (w7 >>> 16) & 0x7FFF;
+            int w8 = s[m + 8];
+            d[o + 17] = (w7 >>> 31 | w8 << 1) & 0x7FFF;
+            d[o + 18] = (w8 >>> 14) & 0x7FFF;
+            int w9 = s[m + 9];
+            d[o + 19] = (w8 >>> 29 | w9 << 3) & 0x7FFF;
+            d[o + 20] = (w9 >>> 12) & 0x7FFF;
+            int w10 = s[m + 10];
+            d[o + 21] = (w9 >>> 27 | w10 << 5) & 0x7FFF;
+            d[o + 22] = (w10 >>> 10) & 0x7FFF;
+            int w11 = s[m + 11];
+            d[o + 23] = (w10 >>> 25 | w11 << 7) & 0x7FFF;
+            d[o + 24] = (w11 >>> 8) & 0x7FFF;
+            int w12 = s[m + 12];
+            d[o + 25] = (w11 >>> 23 | w12 << 9) & 0x7FFF;
+            d[o + 26] = (w12 >>> 6) & 0x7FFF;
+            int w13 = s[m + 13];
+            d[o + 27] = (w12 >>> 21 | w13 << 11) & 0x7FFF;
+            d[o + 28] = (w13 >>> 4) & 0x7FFF;
+            int w14 = s[m + 14];
+            d[o + 29] = (w13 >>> 19 | w14 << 13) & 0x7FFF;
+            d[o + 30] = (w14 >>> 2) & 0x7FFF;
+            d[o + 31] = w14 >>> 17;
+        }
+    }
+
+    private static void k16(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 16, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0xFFFF;
+            d[o + 1] = w0 >>> 16;
+            int w1 = s[m + 1];
+            d[o + 2] = w1 & 0xFFFF;
+            d[o + 3] = w1 >>> 16;
+            int w2 = s[m + 2];
+            d[o + 4] = w2 & 0xFFFF;
+            d[o + 5] = w2 >>> 16;
+            int w3 = s[m + 3];
+            d[o + 6] = w3 & 0xFFFF;
+            d[o + 7] = w3 >>> 16;
+            int w4 = s[m + 4];
+            d[o + 8] = w4 & 0xFFFF;
+            d[o + 9] = w4 >>> 16;
+            int w5 = s[m + 5];
+            d[o + 10] = w5 & 0xFFFF;
+            d[o + 11] = w5 >>> 16;
+            int w6 = s[m + 6];
+            d[o + 12] = w6 & 0xFFFF;
+            d[o + 13] = w6 >>> 16;
+            int w7 = s[m + 7];
+            d[o + 14] = w7 & 0xFFFF;
+            d[o + 15] = w7 >>> 16;
+            int w8 = s[m + 8];
+            d[o + 16] = w8 & 0xFFFF;
+            d[o + 17] = w8 >>> 16;
+            int w9 = s[m + 9];
+            d[o + 18] = w9 & 0xFFFF;
+            d[o + 19] = w9 >>> 16;
+            int w10 = s[m + 10];
+            d[o + 20] = w10 & 0xFFFF;
+            d[o + 21] = w10 >>> 16;
+            int w11 = s[m + 11];
+            d[o + 22] = w11 & 0xFFFF;
+            d[o + 23] = w11 >>> 16;
+            int w12 = s[m + 12];
+            d[o + 24] = w12 & 0xFFFF;
+            d[o + 25] = w12 >>> 16;
+            int w13 = s[m + 13];
+            d[o + 26] = w13 & 0xFFFF;
+            d[o + 27] = w13 >>> 16;
+            int w14 = s[m + 14];
+            d[o + 28] = w14 & 0xFFFF;
+            d[o + 29] = w14 >>> 16;
+            int w15 = s[m + 15];
+            d[o + 30] = w15 & 0xFFFF;
+            d[o + 31] = w15 >>> 16;
+        }
+    }
+
+    private static void k17(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 17, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1FFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 17 | w1 << 15) & 0x1FFFF;
+            d[o + 2] = (w1 >>> 2) & 0x1FFFF;
+            int w2 = s[m + 2];
+            d[o + 3] = (w1 >>> 19 | w2 << 13) & 0x1FFFF;
+            d[o + 4] = (w2 >>> 4) & 0x1FFFF;
+            int w3 = s[m + 3];
+            d[o + 5] = (w2 >>> 21 | w3 << 11) & 0x1FFFF;
+            d[o + 6] = (w3 >>> 6) & 0x1FFFF;
+            int w4 = s[m + 4];
+            d[o + 7] = (w3 >>> 23 | w4 << 9) & 0x1FFFF;
+            d[o + 8] = (w4 >>> 8) & 0x1FFFF;
+            int w5 = s[m + 5];
+            d[o + 9] = (w4 >>> 25 | w5 << 7) & 0x1FFFF;
+            d[o + 10] = (w5 >>> 10) & 0x1FFFF;
+            int w6 = s[m + 6];
+            d[o + 11] = (w5 >>> 27 | w6 << 5) & 0x1FFFF;
+            d[o + 12] = (w6 >>> 12) & 0x1FFFF;
+            int w7 = s[m + 7];
+            d[o + 13] = (w6 >>> 29 | w7 << 3) & 0x1FFFF;
+            d[o + 14] = (w7 >>> 14) & 0x1FFFF;
+            int w8 = s[m + 8];
+            d[o + 15] = (w7 >>> 31 | w8 << 1) & 0x1FFFF;
+            int w9 = s[m + 9];
+            d[o + 16] = (w8 >>> 16 | w9 << 16) & 0x1FFFF;
+            d[o + 17] = (w9 >>> 1) & 0x1FFFF;
+            int w10 = s[m + 10];
+            d[o + 18] = (w9 >>> 18 | w10 << 14) & 0x1FFFF;
+            d[o + 19] = (w10 >>> 3) & 0x1FFFF;
+            int w11 = s[m + 11];
+            d[o + 20] = (w10 >>> 20 | w11 << 12) & 0x1FFFF;
+            d[o + 21] = (w11 >>> 5) & 0x1FFFF;
+            int w12 = s[m + 12];
+            d[o + 22] = (w11 >>> 22 | w12 << 10) & 0x1FFFF;
+            d[o + 23] = (w12 >>> 7) & 0x1FFFF;
+            int w13 = s[m + 13];
+            d[o + 24] = (w12 >>> 24 | w13 << 8) & 0x1FFFF;
+            d[o + 25] = (w13 >>> 9) & 0x1FFFF;
+            int w14 = s[m + 14];
+            d[o + 26] = (w13 >>> 26 | w14 << 6) & 0x1FFFF;
+            d[o + 27] = (w14 >>> 11) & 0x1FFFF;
+            int w15 = s[m + 15];
+            d[o + 28] = (w14 >>> 28 | w15 << 4) & 0x1FFFF;
+            d[o + 29] = (w15 >>> 13) & 0x1FFFF;
+            int w16 = s[m + 16];
+            d[o + 30] = (w15 >>> 30 | w16 << 2) & 0x1FFFF;
+            d[o + 31] = w16 >>> 15;
+        }
+    }
+
+    private static void k18(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 18, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3FFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 18 | w1 << 14) & 0x3FFFF;
+            d[o + 2] = (w1 >>> 4) & 0x3FFFF;
+            int w2 = s[m + 2];
+            d[o + 3] = (w1 >>> 22 | w2 << 10) & 0x3FFFF;
+            d[o + 4] = (w2 >>> 8) & 0x3FFFF;
+            int w3 = s[m + 3];
+            d[o + 5] = (w2 >>> 26 | w3 << 6) & 0x3FFFF;
+            d[o + 6] = (w3 >>> 12) & 0x3FFFF;
+            int w4 = s[m + 4];
+            d[o + 7] = (w3 >>> 30 | w4 << 2) & 0x3FFFF;
+            int w5 = s[m + 5];
+            d[o + 8] = (w4 >>> 16 | w5 << 16) & 0x3FFFF;
+            d[o + 9] = (w5 >>> 2) & 0x3FFFF;
+            int w6 = s[m + 6];
+            d[o + 10] = (w5 >>> 20 | w6 << 12) & 0x3FFFF;
+            d[o + 11] = (w6 >>> 6) & 0x3FFFF;
+            int w7 = s[m + 7];
+            d[o + 12] = (w6 >>> 24 | w7 << 8) & 0x3FFFF;
+            d[o + 13] = (w7 >>> 10) & 0x3FFFF;
+            int w8 = s[m + 8];
+            d[o + 14] = (w7 >>> 28 | w8 << 4) & 0x3FFFF;
+            d[o + 15] = w8 >>> 14;
+            int w9 = s[m + 9];
+            d[o + 16] = w9 & 0x3FFFF;
+            int w10 = s[m + 10];
+            d[o + 17] = (w9 >>> 18 | w10 << 14) & 0x3FFFF;
+            d[o + 18] = (w10 >>> 4) & 0x3FFFF;
+            int w11 = s[m + 11];
+            d[o + 19] = (w10 >>> 22 | w11 << 10) & 0x3FFFF;
+            d[o + 20] = (w11 >>> 8) & 0x3FFFF;
+            int w12 = s[m + 12];
+            d[o + 21] = (w11 >>> 26 | w12 << 6) & 0x3FFFF;
+            d[o + 22] = (w12 >>> 12) & 0x3FFFF;
+            int w13 = s[m + 13];
+            d[o + 23] = (w12 >>> 30 | w13 << 2) & 0x3FFFF;
+            int w14 = s[m + 14];
+            d[o + 24] = (w13 >>> 16 | w14 << 16) & 0x3FFFF;
+            d[o + 25] = (w14 >>> 2) & 0x3FFFF;
+            int w15 = s[m + 15];
+            d[o + 26] = (w14 >>> 20 | w15 << 12) & 0x3FFFF;
+            d[o + 27] = (w15 >>> 6) & 0x3FFFF;
+            int w16 = s[m + 16];
+            d[o + 28] = (w15 >>> 24 | w16 << 8) & 0x3FFFF;
+            d[o + 29] = (w16 >>> 10) & 0x3FFFF;
+            int w17 = s[m + 17];
+            d[o + 30] = (w16 >>> 28 | w17 << 4) & 0x3FFFF;
+            d[o + 31] = w17 >>> 14;
+        }
+    }
+
+    private static void k19(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 19, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7FFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 19 | w1 << 13) & 0x7FFFF;
+            d[o + 2] = (w1 >>> 6) & 0x7FFFF;
+            int w2 = s[m + 2];
+            d[o + 3] = (w1 >>> 25 | w2 << 7) & 0x7FFFF;
+            d[o + 4] = (w2 >>> 12) & 0x7FFFF;
+            int w3 = s[m + 3];
+            d[o + 5] = (w2 >>> 31 | w3 << 1) & 0x7FFFF;
+            int w4 = s[m + 4];
+            d[o + 6] = (w3 >>> 18 | w4 << 14) & 0x7FFFF;
+            d[o + 7] = (w4 >>> 5) & 0x7FFFF;
+            int w5 = s[m + 5];
+            d[o + 8] = (w4 >>> 24 | w5 << 8) & 0x7FFFF;
+            d[o + 9] = (w5 >>> 11) & 0x7FFFF;
+            int w6 = s[m + 6];
+            d[o + 10] = (w5 >>> 30 | w6 << 2) & 0x7FFFF;
+            int w7 = s[m + 7];
+            d[o + 11] = (w6 >>> 17 | w7 << 15) & 0x7FFFF;
+            d[o + 12] = (w7 >>> 4) & 0x7FFFF;
+            int w8 = s[m + 8];
+            d[o + 13] = (w7 >>> 23 | w8 << 9) & 0x7FFFF;
+            d[o + 14] = (w8 >>> 10) & 0x7FFFF;
+            int w9 = s[m + 9];
+            d[o + 15] = (w8 >>> 29 | w9 << 3) & 0x7FFFF;
+            int w10 = s[m + 10];
+            d[o + 16] = (w9 >>> 16 | w10 << 16) & 0x7FFFF;
+            d[o + 17] = (w10 >>> 3) & 0x7FFFF;
+            int w11 = s[m + 11];
+            d[o + 18] = (w10 >>> 22 | w11 << 10) & 0x7FFFF;
+            d[o + 19] = (w11 >>> 9) & 0x7FFFF;
+            int w12 = s[m + 12];
+            d[o + 20] = (w11 >>> 28 | w12 << 4) & 0x7FFFF;
+            int w13 = s[m + 13];
+            d[o + 21] = (w12 >>> 15 | w13 << 17) & 0x7FFFF;
+            d[o + 22] = (w13 >>> 2) & 0x7FFFF;
+            int w14 = s[m + 14];
+            d[o + 23] = (w13 >>> 21 | w14 << 11) & 0x7FFFF;
+            d[o + 24] = (w14 >>> 8) & 0x7FFFF;
+            int w15 = s[m + 15];
+            d[o + 25] = (w14 >>> 27 | w15 << 5) & 0x7FFFF;
+            int w16 = s[m + 16];
+            d[o + 26] = (w15 >>> 14 | w16 << 18) & 0x7FFFF;
+            d[o + 27] = (w16 >>> 1) & 0x7FFFF;
+            int w17 = s[m + 17];
+            d[o + 28] = (w16 >>> 20 | w17 << 12) & 0x7FFFF;
+            d[o + 29] = (w17 >>> 7) & 0x7FFFF;
+            int w18 = s[m + 18];
+            d[o + 30] = (w17 >>> 26 | w18 << 6) & 0x7FFFF;
+            d[o + 31] = w18 >>> 13;
+        }
+    }
+
+    private static void k20(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 20, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0xFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 20 | w1 << 12) & 0xFFFFF;
+            d[o + 2] = (w1 >>> 8) & 0xFFFFF;
+            int w2 = s[m + 2];
+            d[o + 3] = (w1 >>> 28 | w2 << 4) & 0xFFFFF;
+            int w3 = s[m + 3];
+            d[o + 4] = (w2 >>> 16 | w3 << 16) & 0xFFFFF;
+            d[o + 5] = (w3 >>> 4) & 0xFFFFF;
+            int w4 = s[m + 4];
+            d[o + 6] = (w3 >>> 24 | w4 << 8) & 0xFFFFF;
+            d[o + 7] = w4 >>> 12;
+            int w5 = s[m + 5];
+            d[o + 8] = w5 & 0xFFFFF;
+            int w6 = s[m + 6];
+            d[o + 9] = (w5 >>> 20 | w6 << 12) & 0xFFFFF;
+            d[o + 10] = (w6 >>> 8) & 0xFFFFF;
+            int w7 = s[m + 7];
+            d[o + 11] = (w6 >>> 28 | w7 << 4) & 0xFFFFF;
+            int w8 = s[m + 8];
+            d[o + 12] = (w7 >>> 16 | w8 << 16) & 0xFFFFF;
+            d[o + 13] = (w8 >>> 4) & 0xFFFFF;
+            int w9 = s[m + 9];
+            d[o + 14] = (w8 >>> 24 | w9 << 8) & 0xFFFFF;
+            d[o + 15] = w9 >>> 12;
+            int w10 = s[m + 10];
+            d[o + 16] = w10 & 0xFFFFF;
+            int w11 = s[m + 11];
+            d[o + 17] = (w10 >>> 20 | w11 << 12) & 0xFFFFF;
+            d[o + 18] = (w11 >>> 8) & 0xFFFFF;
+            int w12 = s[m + 12];
+            d[o + 19] = (w11 >>> 28 | w12 << 4) & 0xFFFFF;
+            int w13 = s[m + 13];
+            d[o + 20] = (w12 >>> 16 | w13 << 16) & 0xFFFFF;
+            d[o + 21] = (w13 >>> 4) & 0xFFFFF;
+            int w14 = s[m + 14];
+            d[o + 22] = (w13 >>> 24 | w14 << 8) & 0xFFFFF;
+            d[o + 23] = w14 >>> 12;
+            int w15 = s[m + 15];
+            d[o + 24] = w15 & 0xFFFFF;
+            int w16 = s[m + 16];
+            d[o + 25] = (w15 >>> 20 | w16 << 12) & 0xFFFFF;
+            d[o + 26] = (w16 >>> 8) & 0xFFFFF;
+            int w17 = s[m + 17];
+            d[o + 27] = (w16 >>> 28 | w17 << 4) & 0xFFFFF;
+            int w18 = s[m + 18];
+            d[o + 28] = (w17 >>> 16 | w18 << 16) & 0xFFFFF;
+            d[o + 29] = (w18 >>> 4) & 0xFFFFF;
+            int w19 = s[m + 19];
+            d[o + 30] = (w18 >>> 24 | w19 << 8) & 0xFFFFF;
+            d[o + 31] = w19 >>> 12;
+        }
+    }
+
+    private static void k21(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 21, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1FFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 21 | w1 << 11) & 0x1FFFFF;
+            d[o + 2] = (w1 >>> 10) & 0x1FFFFF;
+            int w2 = s[m + 2];
+            d[o + 3] = (w1 >>> 31 | w2 << 1) & 0x1FFFFF;
+            int w3 = s[m + 3];
+            d[o + 4] = (w2 >>> 20 | w3 << 12) & 0x1FFFFF;
+            d[o + 5] = (w3 >>> 9) & 0x1FFFFF;
+            int w4 = s[m + 4];
+            d[o + 6] = (w3 >>> 30 | w4 << 2) & 0x1FFFFF;
+            int w5 = s[m + 5];
+            d[o + 7] = (w4 >>> 19 | w5 << 13) & 0x1FFFFF;
+            d[o + 8] = (w5 >>> 8) & 0x1FFFFF;
+            int w6 = s[m + 6];
+            d[o + 9] = (w5 >>> 29 | w6 << 3) & 0x1FFFFF;
+            int w7 = s[m + 7];
+            d[o + 10] = (w6 >>> 18 | w7 << 14) & 0x1FFFFF;
+            d[o + 11] = (w7 >>> 7) & 0x1FFFFF;
+            int w8 = s[m + 8];
+            d[o + 12] = (w7 >>> 28 | w8 << 4) & 0x1FFFFF;
+            int w9 = s[m + 9];
+            d[o + 13] = (w8 >>> 17 | w9 << 15) & 0x1FFFFF;
+            d[o + 14] = (w9 >>> 6) & 0x1FFFFF;
+            int w10 = s[m + 10];
+            d[o + 15] = (w9 >>> 27 | w10 << 5) & 0x1FFFFF;
+            int w11 = s[m + 11];
+            d[o + 16] = (w10 >>> 16 | w11 << 16) & 0x1FFFFF;
+            d[o + 17] = (w11 >>> 5) & 0x1FFFFF;
+            int w12 = s[m + 12];
+            d[o + 18] = (w11 >>> 26 | w12 << 6) & 0x1FFFFF;
+            int w13 = s[m + 13];
+            d[o + 19] = (w12 >>> 15 | w13 << 17) & 0x1FFFFF;
+            d[o + 20] = (w13 >>> 4) & 0x1FFFFF;
+            int w14 = s[m + 14];
+            d[o + 21] = (w13 >>> 25 | w14 << 7) & 0x1FFFFF;
+            int w15 = s[m + 15];
+            d[o + 22] = (w14 >>> 14 | w15 << 18) & 0x1FFFFF;
+            d[o + 23] = (w15 >>> 3) & 0x1FFFFF;
+            int w16 = s[m + 16];
+            d[o + 24] = (w15 >>> 24 | w16 << 8) & 0x1FFFFF;
+            int w17 = s[m + 17];
+            d[o + 25] = (w16 >>> 13 | w17 << 19) & 0x1FFFFF;
+            d[o + 26] = (w17 >>> 2) & 0x1FFFFF;
+            int w18 = s[m + 18];
+            d[o + 27] = (w17 >>> 23 | w18 << 9) & 0x1FFFFF;
+            int w19 = s[m + 19];
+            d[o + 28] = (w18 >>> 12 | w19 << 20) & 0x1FFFFF;
+            d[o + 29] = (w19 >>> 1) & 0x1FFFFF;
+            int w20 = s[m + 20];
+            d[o + 30] = (w19 >>> 22 | w20 << 10) & 0x1FFFFF;
+            d[o + 31] = w20 >>> 11;
+        }
+    }
+
+    private static void k22(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 22, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3FFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 22 | w1 << 10) & 0x3FFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 12 | w2 << 20) & 0x3FFFFF;
+            d[o + 3] = (w2 >>> 2) & 0x3FFFFF;
+            int w3 = s[m + 3];
+            d[o + 4] = (w2 >>> 24 | w3 << 8) & 0x3FFFFF;
+            int w4 = s[m + 4];
+            d[o + 5] = (w3 >>> 14 | w4 << 18) & 0x3FFFFF;
+            d[o + 6] = (w4 >>> 4) & 0x3FFFFF;
+            int w5 = s[m + 5];
+            d[o + 7] = (w4 >>> 26 | w5 << 6) & 0x3FFFFF;
+            int w6 = s[m + 6];
+            d[o + 8] = (w5 >>> 16 | w6 << 16) & 0x3FFFFF;
+            d[o + 9] = (w6 >>> 6) & 0x3FFFFF;
+            int w7 = s[m + 7];
+            d[o + 10] = (w6 >>> 28 | w7 << 4) & 0x3FFFFF;
+            int w8 = s[m + 8];
+            d[o + 11] = (w7 >>> 18 | w8 << 14) & 0x3FFFFF;
+            d[o + 12] = (w8 >>> 8) & 0x3FFFFF;
+            int w9 = s[m + 9];
+            d[o + 13] = (w8 >>> 30 | w9 << 2) & 0x3FFFFF;
+            int w10 = s[m + 10];
+            d[o + 14] = (w9 >>> 20 | w10 << 12) & 0x3FFFFF;
+            d[o + 15] = w10 >>> 10;
+            int w11 = s[m + 11];
+            d[o + 16] = w11 & 0x3FFFFF;
+            int w12 = s[m + 12];
+            d[o + 17] = (w11 >>> 22 | w12 << 10) & 0x3FFFFF;
+            int w13 = s[m + 13];
+            d[o + 18] = (w12 >>> 12 | w13 << 20) & 0x3FFFFF;
+            d[o + 19] = (w13 >>> 2) & 0x3FFFFF;
+            int w14 = s[m + 14];
+            d[o + 20] = (w13 >>> 24 | w14 << 8) & 0x3FFFFF;
+            int w15 = s[m + 15];
+            d[o + 21] = (w14 >>> 14 | w15 << 18) & 0x3FFFFF;
+            d[o + 22] = (w15 >>> 4) & 0x3FFFFF;
+            int w16 = s[m + 16];
+            d[o + 23] = (w15 >>> 26 | w16 << 6) & 0x3FFFFF;
+            int w17 = s[m + 17];
+            d[o + 24] = (w16 >>> 16 | w17 << 16) & 0x3FFFFF;
+            d[o + 25] = (w17 >>> 6) & 0x3FFFFF;
+            int w18 = s[m + 18];
+            d[o + 26] = (w17 >>> 28 | w18 << 4) & 0x3FFFFF;
+            int w19 = s[m + 19];
+            d[o + 27] = (w18 >>> 18 | w19 << 14) & 0x3FFFFF;
+            d[o + 28] = (w19 >>> 8) & 0x3FFFFF;
+            int w20 = s[m + 20];
+            d[o + 29] = (w19 >>> 30 | w20 << 2) & 0x3FFFFF;
+            int w21 = s[m + 21];
+            d[o + 30] = (w20 >>> 20 | w21 << 12) & 0x3FFFFF;
+            d[o + 31] = w21 >>> 10;
+        }
+    }
+
+    private static void k23(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 23, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7FFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 23 | w1 << 9) & 0x7FFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 14 | w2 << 18) & 0x7FFFFF;
+            d[o + 3] = (w2 >>> 5) & 0x7FFFFF;
+            int w3 = s[m + 3];
+            d[o + 4] = (w2 >>> 28 | w3 << 4) & 0x7FFFFF;
+            int w4 = s[m + 4];
+            d[o + 5] = (w3 >>> 19 | w4 << 13) & 0x7FFFFF;
+            int w5 = s[m + 5];
+            d[o + 6] = (w4 >>> 10 | w5 << 22) & 0x7FFFFF;
+            d[o + 7] = (w5 >>> 1) & 0x7FFFFF;
+            int w6 = s[m + 6];
+            d[o + 8] = (w5 >>> 24 | w6 << 8) & 0x7FFFFF;
+            int w7 = s[m + 7];
+            d[o + 9] = (w6 >>> 15 | w7 << 17) & 0x7FFFFF;
+            d[o + 10] = (w7 >>> 6) & 0x7FFFFF;
+            int w8 = s[m + 8];
+            d[o + 11] = (w7 >>> 29 | w8 << 3) & 0x7FFFFF;
+            int w9 = s[m + 9];
+            d[o + 12] = (w8 >>> 20 | w9 << 12) & 0x7FFFFF;
+            int w10 = s[m + 10];
+            d[o + 13] = (w9 >>> 11 | w10 << 21) & 0x7FFFFF;
+            d[o + 14] = (w10 >>> 2) & 0x7FFFFF;
+            int w11 = s[m + 11];
+            d[o + 15] = (w10 >>> 25 | w11 << 7) & 0x7FFFFF;
+            int w12 = s[m + 12];
+            d[o + 16] = (w11 >>> 16 | w12 << 16) & 0x7FFFFF;
+            d[o + 17] = (w12 >>> 7) & 0x7FFFFF;
+            int w13 = s[m + 13];
+            d[o + 18] = (w12 >>> 30 | w13 << 2) & 0x7FFFFF;
+            int w14 = s[m + 14];
+            d[o + 19] = (w13 >>> 21 | w14 << 11) & 0x7FFFFF;
+            int w15 = s[m + 15];
+            d[o + 20] = (w14 >>> 12 | w15 << 20) & 0x7FFFFF;
+            d[o + 21] = (w15 >>> 3) & 0x7FFFFF;
+            int w16 = s[m + 16];
+            d[o + 22] = (w15 >>> 26 | w16 << 6) & 0x7FFFFF;
+            int w17 = s[m + 17];
+            d[o + 23] = (w16 >>> 17 | w17 << 15) & 0x7FFFFF;
+            d[o + 24] = (w17 >>> 8) & 0x7FFFFF;
+            int w18 = s[m + 18];
+            d[o + 25] = (w17 >>> 31 | w18 << 1) & 0x7FFFFF;
+            int w19 = s[m + 19];
+            d[o + 26] = (w18 >>> 22 | w19 << 10) & 0x7FFFFF;
+            int w20 = s[m + 20];
+            d[o + 27] = (w19 >>> 13 | w20 << 19) & 0x7FFFFF;
+            d[o + 28] = (w20 >>> 4) & 0x7FFFFF;
+            int w21 = s[m + 21];
+            d[o + 29] = (w20 >>> 27 | w21 << 5) & 0x7FFFFF;
+            int w22 = s[m + 22];
+            d[o + 30] = (w21 >>> 18 | w22 << 14) & 0x7FFFFF;
+            d[o + 31] = w22 >>> 9;
+        }
+    }
+
+    private static void k24(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 24, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0xFFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 24 | w1 << 8) & 0xFFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 16 | w2 << 16) & 0xFFFFFF;
+            d[o + 3] = w2 >>> 8;
+            int w3 = s[m + 3];
+            d[o + 4] = w3 & 0xFFFFFF;
+            int w4 = s[m + 4];
+            d[o + 5] = (w3 >>> 24 | w4 << 8) & 0xFFFFFF;
+            int w5 = s[m + 5];
+            d[o + 6] = (w4 >>> 16 | w5 << 16) & 0xFFFFFF;
+            d[o + 7] = w5 >>> 8;
+            int w6 = s[m + 6];
+            d[o + 8] = w6 & 0xFFFFFF;
+            int w7 = s[m + 7];
+            d[o + 9] = (w6 >>> 24 | w7 << 8) & 0xFFFFFF;
+            int w8 = s[m + 8];
+            d[o + 10] = (w7 >>> 16 | w8 << 16) & 0xFFFFFF;
+            d[o + 11] = w8 >>> 8;
+            int w9 = s[m + 9];
+            d[o + 12] = w9 & 0xFFFFFF;
+            int w10 = s[m + 10];
+            d[o + 13] = (w9 >>> 24 | w10 << 8) & 0xFFFFFF;
+            int w11 = s[m + 11];
+            d[o + 14] = (w10 >>> 16 | w11 << 16) & 0xFFFFFF;
+            d[o + 15] = w11 >>> 8;
+            int w12 = s[m + 12];
+            d[o + 16] = w12 & 0xFFFFFF;
+            int w13 = s[m + 13];
+            d[o + 17] = (w12 >>> 24 | w13 << 8) & 0xFFFFFF;
+            int w14 = s[m + 14];
+            d[o + 18] = (w13 >>> 16 | w14 << 16) & 0xFFFFFF;
+            d[o + 19] = w14 >>> 8;
+            int w15 = s[m + 15];
+            d[o + 20] = w15 & 0xFFFFFF;
+            int w16 = s[m + 16];
+            d[o + 21] = (w15 >>> 24 | w16 << 8) & 0xFFFFFF;
+            int w17 = s[m + 17];
+            d[o + 22] = (w16 >>> 16 | w17 << 16) & 0xFFFFFF;
+            d[o + 23] = w17 >>> 8;
+            int w18 = s[m + 18];
+            d[o + 24] = w18 & 0xFFFFFF;
+            int w19 = s[m + 19];
+            d[o + 25] = (w18 >>> 24 | w19 << 8) & 0xFFFFFF;
+            int w20 = s[m + 20];
+            d[o + 26] = (w19 >>> 16 | w20 << 16) & 0xFFFFFF;
+            d[o + 27] = w20 >>> 8;
+            int w21 = s[m + 21];
+            d[o + 28] = w21 & 0xFFFFFF;
+            int w22 = s[m + 22];
+            d[o + 29] = (w21 >>> 24 | w22 << 8) & 0xFFFFFF;
+            int w23 = s[m + 23];
+            d[o + 30] = (w22 >>> 16 | w23 << 16) & 0xFFFFFF;
+            d[o + 31] = w23 >>> 8;
+        }
+    }
+
+    private static void k25(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 25, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1FFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 25 | w1 << 7) & 0x1FFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 18 | w2 << 14) & 0x1FFFFFF;
+            int w3 = s[m + 3];
+            d[o + 3] = (w2 >>> 11 | w3 << 21) & 0x1FFFFFF;
+            d[o + 4] = (w3 >>> 4) & 0x1FFFFFF;
+            int w4 = s[m + 4];
+            d[o + 5] = (w3 >>> 29 | w4 << 3) & 0x1FFFFFF;
+            int w5 = s[m + 5];
+            d[o + 6] = (w4 >>> 22 | w5 << 10) & 0x1FFFFFF;
+            int w6 = s[m + 6];
+            d[o + 7] = (w5 >>> 15 | w6 << 17) & 0x1FFFFFF;
+            int w7 = s[m + 7];
+            d[o + 8] = (w6 >>> 8 | w7 << 24) & 0x1FFFFFF;
+            d[o + 9] = (w7 >>> 1) & 0x1FFFFFF;
+            int w8 = s[m + 8];
+            d[o + 10] = (w7 >>> 26 | w8 << 6) & 0x1FFFFFF;
+            int w9 = s[m + 9];
+            d[o + 11] = (w8 >>> 19 | w9 << 13) & 0x1FFFFFF;
+            int w10 = s[m + 10];
+            d[o + 12] = (w9 >>> 12 | w10 << 20) & 0x1FFFFFF;
+            d[o + 13] = (w10 >>> 5) & 0x1FFFFFF;
+            int w11 = s[m + 11];
+            d[o + 14] = (w10 >>> 30 | w11 << 2) & 0x1FFFFFF;
+            int w12 = s[m + 12];
+            d[o + 15] = (w11 >>> 23 | w12 << 9) & 0x1FFFFFF;
+            int w13 = s[m + 13];
+            d[o + 16] = (w12 >>> 16 | w13 << 16) & 0x1FFFFFF;
+            int w14 = s[m + 14];
+            d[o + 17] = (w13 >>> 9 | w14 << 23) & 0x1FFFFFF;
+            d[o + 18] = (w14 >>> 2) & 0x1FFFFFF;
+            int w15 = s[m + 15];
+            d[o + 19] = (w14 >>> 27 | w15 << 5) & 0x1FFFFFF;
+            int w16 = s[m + 16];
+            d[o + 20] = (w15 >>> 20 | w16 << 12) & 0x1FFFFFF;
+            int w17 = s[m + 17];
+            d[o + 21] = (w16 >>> 13 | w17 << 19) & 0x1FFFFFF;
+            d[o + 22] = (w17 >>> 6) & 0x1FFFFFF;
+            int w18 = s[m + 18];
+            d[o + 23] = (w17 >>> 31 | w18 << 1) & 0x1FFFFFF;
+            int w19 = s[m + 19];
+            d[o + 24] = (w18 >>> 24 | w19 << 8) & 0x1FFFFFF;
+            int w20 = s[m + 20];
+            d[o + 25] = (w19 >>> 17 | w20 << 15) & 0x1FFFFFF;
+            int w21 = s[m + 21];
+            d[o + 26] = (w20 >>> 10 | w21 << 22) & 0x1FFFFFF;
+            d[o + 27] = (w21 >>> 3) & 0x1FFFFFF;
+            int w22 = s[m + 22];
+            d[o + 28] = (w21 >>> 28 | w22 << 4) & 0x1FFFFFF;
+            int w23 = s[m + 23];
+            d[o + 29] = (w22 >>> 21 | w23 << 11) & 0x1FFFFFF;
+            int w24 = s[m + 24];
+            d[o + 30] = (w23 >>> 14 | w24 << 18) & 0x1FFFFFF;
+            d[o + 31] = w24 >>> 7;
+        }
+    }
+
+    private static void k26(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 26, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3FFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 26 | w1 << 6) & 0x3FFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 20 | w2 << 12) & 0x3FFFFFF;
+            int w3 = s[m + 3];
+            d[o + 3] = (w2 >>> 14 | w3 << 18) & 0x3FFFFFF;
+            int w4 = s[m + 4];
+            d[o + 4] = (w3 >>> 8 | w4 << 24) & 0x3FFFFFF;
+            d[o + 5] = (w4 >>> 2) & 0x3FFFFFF;
+            int w5 = s[m + 5];
+            d[o + 6] = (w4 >>> 28 | w5 << 4) & 0x3FFFFFF;
+            int w6 = s[m + 6];
+            d[o + 7] = (w5 >>> 22 | w6 << 10) & 0x3FFFFFF;
+            int w7 = s[m + 7];
+            d[o + 8] = (w6 >>> 16 | w7 << 16) & 0x3FFFFFF;
+            int w8 = s[m + 8];
+            d[o + 9] = (w7 >>> 10 | w8 << 22) & 0x3FFFFFF;
+            d[o + 10] = (w8 >>> 4) & 0x3FFFFFF;
+            int w9 = s[m + 9];
+            d[o + 11] = (w8 >>> 30 | w9 << 2) & 0x3FFFFFF;
+            int w10 = s[m + 10];
+            d[o + 12] = (w9 >>> 24 | w10 << 8) & 0x3FFFFFF;
+            int w11 = s[m + 11];
+            d[o + 13] = (w10 >>> 18 | w11 << 14) & 0x3FFFFFF;
+            int w12 = s[m + 12];
+            d[o + 14] = (w11 >>> 12 | w12 << 20) & 0x3FFFFFF;
+            d[o + 15] = w12 >>> 6;
+            int w13 = s[m + 13];
+            d[o + 16] = w13 & 0x3FFFFFF;
+            int w14 = s[m + 14];
+            d[o + 17] = (w13 >>> 26 | w14 << 6) & 0x3FFFFFF;
+            int w15 = s[m + 15];
+            d[o + 18] = (w14 >>> 20 | w15 << 12) & 0x3FFFFFF;
+            int w16 = s[m + 16];
+            d[o + 19] = (w15 >>> 14 | w16 << 18) & 0x3FFFFFF;
+            int w17 = s[m + 17];
+            d[o + 20] = (w16 >>> 8 | w17 << 24) & 0x3FFFFFF;
+            d[o + 21] = (w17 >>> 2) & 0x3FFFFFF;
+            int w18 = s[m + 18];
+            d[o + 22] = (w17 >>> 28 | w18 << 4) & 0x3FFFFFF;
+            int w19 = s[m + 19];
+            d[o + 23] = (w18 >>> 22 | w19 << 10) & 0x3FFFFFF;
+            int w20 = s[m + 20];
+            d[o + 24] = (w19 >>> 16 | w20 << 16) & 0x3FFFFFF;
+            int w21 = s[m + 21];
+            d[o + 25] = (w20 >>> 10 | w21 << 22) & 0x3FFFFFF;
+            d[o + 26] = (w21 >>> 4) & 0x3FFFFFF;
+            int w22 = s[m + 22];
+            d[o + 27] = (w21 >>> 30 | w22 << 2) & 0x3FFFFFF;
+            int w23 = s[m + 23];
+            d[o + 28] = (w22 >>> 24 | w23 << 8) & 0x3FFFFFF;
+            int w24 = s[m + 24];
+            d[o + 29] = (w23 >>> 18 | w24 << 14) & 0x3FFFFFF;
+            int w25 = s[m + 25];
+            d[o + 30] = (w24 >>> 12 | w25 << 20) & 0x3FFFFFF;
+            d[o + 31] = w25 >>> 6;
+        }
+    }
+
+    private static void k27(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 27, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7FFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 27 | w1 << 5) & 0x7FFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 22 | w2 << 10) & 0x7FFFFFF;
+            int w3 = s[m + 3];
+            d[o + 3] = (w2 >>> 17 | w3 << 15) & 0x7FFFFFF;
+            int w4 = s[m + 4];
+            d[o + 4] = (w3 >>> 12 | w4 << 20) & 0x7FFFFFF;
+            int w5 = s[m + 5];
+            d[o + 5] = (w4 >>> 7 | w5 << 25) & 0x7FFFFFF;
+            d[o + 6] = (w5 >>> 2) & 0x7FFFFFF;
+            int w6 = s[m + 6];
+            d[o + 7] = (w5 >>> 29 | w6 << 3) & 0x7FFFFFF;
+            int w7 = s[m + 7];
+            d[o + 8] = (w6 >>> 24 | w7 << 8) & 0x7FFFFFF;
+            int w8 = s[m + 8];
+            d[o + 9] = (w7 >>> 19 | w8 << 13) & 0x7FFFFFF;
+            int w9 = s[m + 9];
+            d[o + 10] = (w8 >>> 14 | w9 << 18) & 0x7FFFFFF;
+            int w10 = s[m + 10];
+            d[o + 11] = (w9 >>> 9 | w10 << 23) & 0x7FFFFFF;
+            d[o + 12] = (w10 >>> 4) & 0x7FFFFFF;
+            int w11 = s[m + 11];
+            d[o + 13] = (w10 >>> 31 | w11 << 1) & 0x7FFFFFF;
+            int w12 = s[m + 12];
+            d[o + 14] = (w11 >>> 26 | w12 << 6) & 0x7FFFFFF;
+            int w13 = s[m + 13];
+            d[o + 15] = (w12 >>> 21 | w13 << 11) & 0x7FFFFFF;
+            int w14 = s[m + 14];
+            d[o + 16] = (w13 >>> 16 | w14 << 16) & 0x7FFFFFF;
+            int w15 = s[m + 15];
+            d[o + 17] = (w14 >>> 11 | w15 << 21) & 0x7FFFFFF;
+            int w16 = s[m + 16];
+            d[o + 18] = (w15 >>> 6 | w16 << 26) & 0x7FFFFFF;
+            d[o + 19] = (w16 >>> 1) & 0x7FFFFFF;
+            int w17 = s[m + 17];
+            d[o + 20] = (w16 >>> 28 | w17 << 4) & 0x7FFFFFF;
+            int w18 = s[m + 18];
+            d[o + 21] = (w17 >>> 23 | w18 << 9) & 0x7FFFFFF;
+            int w19 = s[m + 19];
+            d[o + 22] = (w18 >>> 18 | w19 << 14) & 0x7FFFFFF;
+            int w20 = s[m + 20];
+            d[o + 23] = (w19 >>> 13 | w20 << 19) & 0x7FFFFFF;
+            int w21 = s[m + 21];
+            d[o + 24] = (w20 >>> 8 | w21 << 24) & 0x7FFFFFF;
+            d[o + 25] = (w21 >>> 3) & 0x7FFFFFF;
+            int w22 = s[m + 22];
+            d[o + 26] = (w21 >>> 30 | w22 << 2) & 0x7FFFFFF;
+            int w23 = s[m + 23];
+            d[o + 27] = (w22 >>> 25 | w23 << 7) & 0x7FFFFFF;
+            int w24 = s[m + 24];
+            d[o + 28] = (w23 >>> 20 | w24 << 12) & 0x7FFFFFF;
+            int w25 = s[m + 25];
+            d[o + 29] = (w24 >>> 15 | w25 << 17) & 0x7FFFFFF;
+            int w26 = s[m + 26];
+            d[o + 30] = (w25 >>> 10 | w26 << 22) & 0x7FFFFFF;
+            d[o + 31] = w26 >>> 5;
+        }
+    }
+
+    private static void k28(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 28, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0xFFFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 28 | w1 << 4) & 0xFFFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 24 | w2 << 8) & 0xFFFFFFF;
+            int w3 = s[m + 3];
+            d[o + 3] = (w2 >>> 20 | w3 << 12) & 0xFFFFFFF;
+            int w4 = s[m + 4];
+            d[o + 4] = (w3 >>> 16 | w4 << 16) & 0xFFFFFFF;
+            int w5 = s[m + 5];
+            d[o + 5] = (w4 >>> 12 | w5 << 20) & 0xFFFFFFF;
+            int w6 = s[m + 6];
+            d[o + 6] = (w5 >>> 8 | w6 << 24) & 0xFFFFFFF;
+            d[o + 7] = w6 >>> 4;
+            int w7 = s[m + 7];
+            d[o + 8] = w7 & 0xFFFFFFF;
+            int w8 = s[m + 8];
+            d[o + 9] = (w7 >>> 28 | w8 << 4) & 0xFFFFFFF;
+            int w9 = s[m + 9];
+            d[o + 10] = (w8 >>> 24 | w9 << 8) & 0xFFFFFFF;
+            int w10 = s[m + 10];
+            d[o + 11] = (w9 >>> 20 | w10 << 12) & 0xFFFFFFF;
+            int w11 = s[m + 11];
+            d[o + 12] = (w10 >>> 16 | w11 << 16) & 0xFFFFFFF;
+            int w12 = s[m + 12];
+            d[o + 13] = (w11 >>> 12 | w12 << 20) & 0xFFFFFFF;
+            int w13 = s[m + 13];
+            d[o + 14] = (w12 >>> 8 | w13 << 24) & 0xFFFFFFF;
+            d[o + 15] = w13 >>> 4;
+            int w14 = s[m + 14];
+            d[o + 16] = w14 & 0xFFFFFFF;
+            int w15 = s[m + 15];
+            d[o + 17] = (w14 >>> 28 | w15 << 4) & 0xFFFFFFF;
+            int w16 = s[m + 16];
+            d[o + 18] = (w15 >>> 24 | w16 << 8) & 0xFFFFFFF;
+            int w17 = s[m + 17];
+            d[o + 19] = (w16 >>> 20 | w17 << 12) & 0xFFFFFFF;
+            int w18 = s[m + 18];
+            d[o + 20] = (w17 >>> 16 | w18 << 16) & 0xFFFFFFF;
+            int w19 = s[m + 19];
+            d[o + 21] = (w18 >>> 12 | w19 << 20) & 0xFFFFFFF;
+            int w20 = s[m + 20];
+            d[o + 22] = (w19 >>> 8 | w20 << 24) & 0xFFFFFFF;
+            d[o + 23] = w20 >>> 4;
+            int w21 = s[m + 21];
+            d[o + 24] = w21 & 0xFFFFFFF;
+            int w22 = s[m + 22];
+            d[o + 25] = (w21 >>> 28 | w22 << 4) & 0xFFFFFFF;
+            int w23 = s[m + 23];
+            d[o + 26] = (w22 >>> 24 | w23 << 8) & 0xFFFFFFF;
+            int w24 = s[m + 24];
+            d[o + 27] = (w23 >>> 20 | w24 << 12) & 0xFFFFFFF;
+            int w25 = s[m + 25];
+            d[o + 28] = (w24 >>> 16 | w25 << 16) & 0xFFFFFFF;
+            int w26 = s[m + 26];
+            d[o + 29] = (w25 >>> 12 | w26 << 20) & 0xFFFFFFF;
+            int w27 = s[m + 27];
+            d[o + 30] = (w26 >>> 8 | w27 << 24) & 0xFFFFFFF;
+            d[o + 31] = w27 >>> 4;
+        }
+    }
+
+    private static void k29(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 29, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x1FFFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 29 | w1 << 3) & 0x1FFFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 26 | w2 << 6) & 0x1FFFFFFF;
+            int w3 = s[m + 3];
+            d[o + 3] = (w2 >>> 23 | w3 << 9) & 0x1FFFFFFF;
+            int w4 = s[m + 4];
+            d[o + 4] = (w3 >>> 20 | w4 << 12) & 0x1FFFFFFF;
+            int w5 = s[m + 5];
+            d[o + 5] = (w4 >>> 17 | w5 << 15) & 0x1FFFFFFF;
+            int w6 = s[m + 6];
+            d[o + 6] = (w5 >>> 14 | w6 << 18) & 0x1FFFFFFF;
+            int w7 = s[m + 7];
+            d[o + 7] = (w6 >>> 11 | w7 << 21) & 0x1FFFFFFF;
+            int w8 = s[m + 8];
+            d[o + 8] = (w7 >>> 8 | w8 << 24) & 0x1FFFFFFF;
+            int w9 = s[m + 9];
+            d[o + 9] = (w8 >>> 5 | w9 << 27) & 0x1FFFFFFF;
+            d[o + 10] = (w9 >>> 2) & 0x1FFFFFFF;
+            int w10 = s[m + 10];
+            d[o + 11] = (w9 >>> 31 | w10 << 1) & 0x1FFFFFFF;
+            int w11 = s[m + 11];
+            d[o + 12] = (w10 >>> 28 | w11 << 4) & 0x1FFFFFFF;
+            int w12 = s[m + 12];
+            d[o + 13] = (w11 >>> 25 | w12 << 7) & 0x1FFFFFFF;
+            int w13 = s[m + 13];
+            d[o + 14] = (w12 >>> 22 | w13 << 10) & 0x1FFFFFFF;
+            int w14 = s[m + 14];
+            d[o + 15] = (w13 >>> 19 | w14 << 13) & 0x1FFFFFFF;
+            int w15 = s[m + 15];
+            d[o + 16] = (w14 >>> 16 | w15 << 16) & 0x1FFFFFFF;
+            int w16 = s[m + 16];
+            d[o + 17] = (w15 >>> 13 | w16 << 19) & 0x1FFFFFFF;
+            int w17 = s[m + 17];
+            d[o + 18] = (w16 >>> 10 | w17 << 22) & 0x1FFFFFFF;
+            int w18 = s[m + 18];
+            d[o + 19] = (w17 >>> 7 | w18 << 25) & 0x1FFFFFFF;
+            int w19 = s[m + 19];
+            d[o + 20] = (w18 >>> 4 | w19 << 28) & 0x1FFFFFFF;
+            d[o + 21] = (w19 >>> 1) & 0x1FFFFFFF;
+            int w20 = s[m + 20];
+            d[o + 22] = (w19 >>> 30 | w20 << 2) & 0x1FFFFFFF;
+            int w21 = s[m + 21];
+            d[o + 23] = (w20 >>> 27 | w21 << 5) & 0x1FFFFFFF;
+            int w22 = s[m + 22];
+            d[o + 24] = (w21 >>> 24 | w22 << 8) & 0x1FFFFFFF;
+            int w23 = s[m + 23];
+            d[o + 25] = (w22 >>> 21 | w23 << 11) & 0x1FFFFFFF;
+            int w24 = s[m + 24];
+            d[o + 26] = (w23 >>> 18 | w24 << 14) & 0x1FFFFFFF;
+            int w25 = s[m + 25];
+            d[o + 27] = (w24 >>> 15 | w25 << 17) & 0x1FFFFFFF;
+            int w26 = s[m + 26];
+            d[o + 28] = (w25 >>> 12 | w26 << 20) & 0x1FFFFFFF;
+            int w27 = s[m + 27];
+            d[o + 29] = (w26 >>> 9 | w27 << 23) & 0x1FFFFFFF;
+            int w28 = s[m + 28];
+            d[o + 30] = (w27 >>> 6 | w28 << 26) & 0x1FFFFFFF;
+            d[o + 31] = w28 >>> 3;
+        }
+    }
+
+    private static void k30(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 30, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x3FFFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 30 | w1 << 2) & 0x3FFFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 28 | w2 << 4) & 0x3FFFFFFF;
+            int w3 = s[m + 3];
+            d[o + 3] = (w2 >>> 26 | w3 << 6) & 0x3FFFFFFF;
+            int w4 = s[m + 4];
+            d[o + 4] = (w3 >>> 24 | w4 << 8) & 0x3FFFFFFF;
+            int w5 = s[m + 5];
+            d[o + 5] = (w4 >>> 22 | w5 << 10) & 0x3FFFFFFF;
+            int w6 = s[m + 6];
+            d[o + 6] = (w5 >>> 20 | w6 << 12) & 0x3FFFFFFF;
+            int w7 = s[m + 7];
+            d[o + 7] = (w6 >>> 18 | w7 << 14) & 0x3FFFFFFF;
+            int w8 = s[m + 8];
+            d[o + 8] = (w7 >>> 16 | w8 << 16) & 0x3FFFFFFF;
+            int w9 = s[m + 9];
+            d[o + 9] = (w8 >>> 14 | w9 << 18) & 0x3FFFFFFF;
+            int w10 = s[m + 10];
+            d[o + 10] = (w9 >>> 12 | w10 << 20) & 0x3FFFFFFF;
+            int w11 = s[m + 11];
+            d[o + 11] = (w10 >>> 10 | w11 << 22) & 0x3FFFFFFF;
+            int w12 = s[m + 12];
+            d[o + 12] = (w11 >>> 8 | w12 << 24) & 0x3FFFFFFF;
+            int w13 = s[m + 13];
+            d[o + 13] = (w12 >>> 6 | w13 << 26) & 0x3FFFFFFF;
+            int w14 = s[m + 14];
+            d[o + 14] = (w13 >>> 4 | w14 << 28) & 0x3FFFFFFF;
+            d[o + 15] = w14 >>> 2;
+            int w15 = s[m + 15];
+            d[o + 16] = w15 & 0x3FFFFFFF;
+            int w16 = s[m + 16];
+            d[o + 17] = (w15 >>> 30 | w16 << 2) & 0x3FFFFFFF;
+            int w17 = s[m + 17];
+            d[o + 18] = (w16 >>> 28 | w17 << 4) & 0x3FFFFFFF;
+            int w18 = s[m + 18];
+            d[o + 19] = (w17 >>> 26 | w18 << 6) & 0x3FFFFFFF;
+            int w19 = s[m + 19];
+            d[o + 20] = (w18 >>> 24 | w19 << 8) & 0x3FFFFFFF;
+            int w20 = s[m + 20];
+            d[o + 21] = (w19 >>> 22 | w20 << 10) & 0x3FFFFFFF;
+            int w21 = s[m + 21];
+            d[o + 22] = (w20 >>> 20 | w21 << 12) & 0x3FFFFFFF;
+            int w22 = s[m + 22];
+            d[o + 23] = (w21 >>> 18 | w22 << 14) & 0x3FFFFFFF;
+            int w23 = s[m + 23];
+            d[o + 24] = (w22 >>> 16 | w23 << 16) & 0x3FFFFFFF;
+            int w24 = s[m + 24];
+            d[o + 25] = (w23 >>> 14 | w24 << 18) & 0x3FFFFFFF;
+            int w25 = s[m + 25];
+            d[o + 26] = (w24 >>> 12 | w25 << 20) & 0x3FFFFFFF;
+            int w26 = s[m + 26];
+            d[o + 27] = (w25 >>> 10 | w26 << 22) & 0x3FFFFFFF;
+            int w27 = s[m + 27];
+            d[o + 28] = (w26 >>> 8 | w27 << 24) & 0x3FFFFFFF;
+            int w28 = s[m + 28];
+            d[o + 29] = (w27 >>> 6 | w28 << 26) & 0x3FFFFFFF;
+            int w29 = s[m + 29];
+            d[o + 30] = (w28 >>> 4 | w29 << 28) & 0x3FFFFFFF;
+            d[o + 31] = w29 >>> 2;
+        }
+    }
+
+    private static void k31(int[] s, int m, int[] d, int o, int nb) {
+        for (int g = 0; g < nb; g++, m += 31, o += 32) {
+            int w0 = s[m];
+            d[o] = w0 & 0x7FFFFFFF;
+            int w1 = s[m + 1];
+            d[o + 1] = (w0 >>> 31 | w1 << 1) & 0x7FFFFFFF;
+            int w2 = s[m + 2];
+            d[o + 2] = (w1 >>> 30 | w2 << 2) & 0x7FFFFFFF;
+            int w3 = s[m + 3];
+            d[o + 3] = (w2 >>> 29 | w3 << 3) & 0x7FFFFFFF;
+            int w4 = s[m + 4];
+            d[o + 4] = (w3 >>> 28 | w4 << 4) & 0x7FFFFFFF;
+            int w5 = s[m + 5];
+            d[o + 5] = (w4 >>> 27 | w5 << 5) & 0x7FFFFFFF;
+            int w6 = s[m + 6];
+            d[o + 6] = (w5 >>> 26 | w6 << 6) & 0x7FFFFFFF;
+            int w7 = s[m + 7];
+            d[o + 7] = (w6 >>> 25 | w7 << 7) & 0x7FFFFFFF;
+            int w8 = s[m + 8];
+            d[o + 8] = (w7 >>> 24 | w8 << 8) & 0x7FFFFFFF;
+            int w9 = s[m + 9];
+            d[o + 9] = (w8 >>> 23 | w9 << 9) & 0x7FFFFFFF;
+            int w10 = s[m + 10];
+            d[o + 10] = (w9 >>> 22 | w10 << 10) & 0x7FFFFFFF;
+            int w11 = s[m + 11];
+            d[o + 11] = (w10 >>> 21 | w11 << 11) & 0x7FFFFFFF;
+            int w12 = s[m + 12];
+            d[o + 12] = (w11 >>> 20 | w12 << 12) & 0x7FFFFFFF;
+            int w13 = s[m + 13];
+            d[o + 13] = (w12 >>> 19 | w13 << 13) & 0x7FFFFFFF;
+            int w14 = s[m + 14];
+            d[o + 14] = (w13 >>> 18 | w14 << 14) & 0x7FFFFFFF;
+            int w15 = s[m + 15];
+            d[o + 15] = (w14 >>> 17 | w15 << 15) & 0x7FFFFFFF;
+            int w16 = s[m + 16];
+            d[o + 16] = (w15 >>> 16 | w16 << 16) & 0x7FFFFFFF;
+            int w17 = s[m + 17];
+            d[o + 17] = (w16 >>> 15 | w17 << 17) & 0x7FFFFFFF;
+            int w18 = s[m + 18];
+            d[o + 18] = (w17 >>> 14 | w18 << 18) & 0x7FFFFFFF;
+            int w19 = s[m + 19];
+            d[o + 19] = (w18 >>> 13 | w19 << 19) & 0x7FFFFFFF;
+            int w20 = s[m + 20];
+            d[o + 20] = (w19 >>> 12 | w20 << 20) & 0x7FFFFFFF;
+            int w21 = s[m + 21];
+            d[o + 21] = (w20 >>> 11 | w21 << 21) & 0x7FFFFFFF;
+            int w22 = s[m + 22];
+            d[o + 22] = (w21 >>> 10 | w22 << 22) & 0x7FFFFFFF;
+            int w23 = s[m + 23];
+            d[o + 23] = (w22 >>> 9 | w23 << 23) & 0x7FFFFFFF;
+            int w24 = s[m + 24];
+            d[o + 24] = (w23 >>> 8 | w24 << 24) & 0x7FFFFFFF;
+            int w25 = s[m + 25];
+            d[o + 25] = (w24 >>> 7 | w25 << 25) & 0x7FFFFFFF;
+            int w26 = s[m + 26];
+            d[o + 26] = (w25 >>> 6 | w26 << 26) & 0x7FFFFFFF;
+            int w27 = s[m + 27];
+            d[o + 27] = (w26 >>> 5 | w27 << 27) & 0x7FFFFFFF;
+            int w28 = s[m + 28];
+            d[o + 28] = (w27 >>> 4 | w28 << 28) & 0x7FFFFFFF;
+            int w29 = s[m + 29];
+            d[o + 29] = (w28 >>> 3 | w29 << 29) & 0x7FFFFFFF;
+            int w30 = s[m + 30];
+            d[o + 30] = (w29 >>> 2 | w30 << 30) & 0x7FFFFFFF;
+            d[o + 31] = w30 >>> 1;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Noyaux SIMD pour la disposition entrelacée de BitPacking.InterleavedBitPacker.
+// Compilation et exécution : --add-modules jdk.incubator.vector
+// Sans ce module, ou sur un processeur sans vecteurs entiers de 256 bits (SSE seul, NEON),
+// BitPackerFactory.create(Type.VECTOR) renvoie la version scalaire (même format).
+public class VectorBitPacker extends BitPacking.InterleavedBitPacker {
+    // une voie par int d'un vecteur de 256 bits (AVX2), le format ne dépend donc pas de la machine
+    private static final VectorSpecies<Integer> ESPECE = IntVector.SPECIES_256;
+
+    static {
+        if (ESPECE.length() != LANES) throw new IllegalStateException("LANES doit valoir " + ESPECE.length());
+        // plus étroit que 256 bits, l'API émule les vecteurs en Java : la classe refuse alors de se charger
+        if (IntVector.SPECIES_PREFERRED.vectorBitSize() < ESPECE.vectorBitSize()) {
+            throw new UnsupportedOperationException("vecteurs de " + IntVector.SPECIES_PREFERRED.vectorBitSize() + " bits");
+        }
+    }
+
+    @Override
+    protected int scanOu(int[] input, int len) {
+        IntVector acc = IntVector.zero(ESPECE);
+        int i = 0;
+        int borne = ESPECE.loopBound(len);
+        for (; i < borne; i += LANES) {
+            acc = acc.or(IntVector.fromArray(ESPECE, input, i));
+        }
+        int ou = acc.reduceLanes(VectorOperators.OR);
+        for (; i < len; i++) ou |= input[i];
+        return ou;
+    }
+
+    // chaque ligne de LANES valeurs est décalée à sa position puis accumulée,
+    // un vecteur est écrit dès qu'un mot de chaque voie est plein
+    @Override
+    protected void packBloc(int[] input, int debut, int[] dst, int base, int k) {
+        IntVector acc = IntVector.zero(ESPECE);
+        int decalage = 0;
+        int mot = 0;
+        for (int ligne = 0; ligne < 32; ligne++) {
+            IntVector v = IntVector.fromArray(ESPECE, input, debut + ligne * LANES);
+            acc = acc.or(v.lanewise(VectorOperators.LSHL, decalage));
+            decalage += k;
+            if (decalage >= 32) {
+                acc.intoArray(dst, base + mot * LANES);
+                mot++;
+                decalage -= 32;
+                // bits de poids fort qui n'ont pas tenu dans le mot précédent
+                acc = decalage > 0 ? v.lanewise(VectorOperators.LSHR, k - decalage) : IntVector.zero(ESPECE);
+            }
+        }
+    }
+
+    @Override
+    protected void unpackBloc(int[] src, int base, int k, int[] out, int debut) {
+        IntVector masque = IntVector.broadcast(ESPECE, BitPacking.maskLow(k));
+        IntVector courant = IntVector.fromArray(ESPECE, src, base);
+        int decalage = 0;
+        int mot = 0;
+        for (int ligne = 0; ligne < 32; ligne++) {
+            IntVector v = courant.lanewise(VectorOperators.LSHR, decalage);
+            if (decalage + k > 32) {
+                // divisé sur deux mots de chaque voie
+                mot++;
+                courant = IntVector.fromArray(ESPECE, src, base + mot * LANES);
+                v = v.or(courant.lanewise(VectorOperators.LSHL, 32 - decalage));
+            } else if (decalage + k == 32 && ligne < 31) {
+                mot++;
+                courant = IntVector.fromArray(ESPECE, src, base + mot * LANES);
+            }
+            v.and(masque).intoArray(out, debut + ligne * LANES);
+            decalage = (decalage + k) & 31;
+        }
+    }
+}